@@ -0,0 +1,73 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of moving the roster in and out of the off-heap and disk tiers. Reading is what a restarted api pays to warm
+ * its cache from disk, instead of a full roster load from the rate limited mock service. Writing is paid on every
+ * roster update while the tiers are enabled. Add {@code -prof gc} to compare allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CachedRosterSerializerBenchmark {
+
+    private static final String[] TITLES = {
+            "Software Developer", "Senior Software Developer", "Engineering Manager", "Product Manager", "Designer"
+    };
+
+    @Param({"100000", "1000000"})
+    private int employees;
+
+    private final CachedRosterSerializer serializer = new CachedRosterSerializer(getClass().getClassLoader());
+
+    private CachedRoster roster;
+
+    private ByteBuffer serialized;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<EmployeeResponse> list = new ArrayList<>(employees);
+        for(int i = 0; i < employees; i++){
+            list.add(EmployeeResponse.builder()
+                    .id(new UUID(random.nextLong(), random.nextLong()).toString())
+                    .employeeName("Employee " + random.nextInt(employees))
+                    .employeeSalary(random.nextInt(30000, 500000))
+                    .employeeAge(random.nextInt(18, 70))
+                    .employeeTitle(TITLES[random.nextInt(TITLES.length)])
+                    .employeeEmail("employee" + i + "@company.com")
+                    .build());
+        }
+        roster = new CachedRoster(list, Instant.now(), "\"e-1\"", 1);
+        serialized = serializer.serialize(roster);
+        System.out.printf("%n%d employees, serialized bytes: %d%n", employees, serialized.remaining());
+    }
+
+    @Benchmark
+    public ByteBuffer serialize() {
+        return serializer.serialize(roster);
+    }
+
+    @Benchmark
+    public CachedRoster read() {
+        return serializer.read(serialized);
+    }
+}
@@ -0,0 +1,139 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.cache.index.SalaryIndex;
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the list of employee objects EHCacheManager caches by default with ColumnarEmployeeList.
+ * Setup prints the retained size of each layout measured with JOL, for the roster alone and along with a salary index,
+ * which like every index holds row numbers rather than employees. The benchmarks scan salaries and ages
+ * through the getters, and for the columnar layout straight from its columns as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RosterLayoutBenchmark {
+
+    private static final String[] FIRST_NAMES = {
+            "Sanket", "Shubham", "Dnyanesh", "Amit", "Rahul", "Neha", "Pooja", "Kunal", "Rohit", "Anjali",
+            "Vikas", "Sneha", "Arjun", "Nikhil", "Priya", "Tiger", "Bill", "Jill", "Maria", "John"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Nixon", "Bob", "Jenkins", "Sharma", "Patil", "Kulkarni", "Smith", "Johnson", "Garcia", "Miller",
+            "Davis", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Martin", "Lee", "Clark", "Lewis"
+    };
+
+    private static final String[] TITLES = {
+            "Software Developer", "Senior Software Developer", "Engineering Manager", "Product Manager", "Designer",
+            "Data Analyst", "Quality Engineer", "Site Reliability Engineer", "Technical Writer", "Architect"
+    };
+
+    @Param({"100000", "1000000"})
+    private int employees;
+
+    private List<EmployeeResponse> objects;
+
+    private ColumnarEmployeeList columnar;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        objects = new ArrayList<>(employees);
+        for(int i = 0; i < employees; i++){
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            // names and titles built per employee, as they are when deserialized from the mock service response
+            objects.add(EmployeeResponse.builder()
+                    .id(new UUID(random.nextLong(), random.nextLong()).toString())
+                    .employeeName(firstName + " " + lastName)
+                    .employeeSalary(random.nextInt(30000, 500000))
+                    .employeeAge(random.nextInt(18, 70))
+                    .employeeTitle(new String(TITLES[random.nextInt(TITLES.length)].toCharArray()))
+                    .employeeEmail(firstName.toLowerCase() + "." + lastName.toLowerCase() + i + "@company.com")
+                    .build());
+        }
+        columnar = ColumnarEmployeeList.of(objects);
+
+        SalaryIndex objectsIndex = SalaryIndex.of(objects);
+        SalaryIndex columnarIndex = SalaryIndex.of(columnar);
+        System.out.printf("%n%d employees, retained bytes: objects %d, columnar %d, objects with salary index %d,"
+                        + " columnar with salary index %d%n",
+                employees,
+                GraphLayout.parseInstance(objects).totalSize(),
+                GraphLayout.parseInstance(columnar).totalSize(),
+                GraphLayout.parseInstance(objects, objectsIndex).totalSize(),
+                GraphLayout.parseInstance(columnar, columnarIndex).totalSize());
+    }
+
+    @Benchmark
+    public long objectsSumSalaries() {
+        long sum = 0;
+        for(EmployeeResponse employee : objects){
+            sum += employee.getEmployeeSalary();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long columnarSumSalaries() {
+        long sum = 0;
+        for(EmployeeResponse employee : columnar){
+            sum += employee.getEmployeeSalary();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long columnarSumSalaryColumn() {
+        long sum = 0;
+        for(int i = 0; i < columnar.size(); i++){
+            sum += columnar.salaryAt(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int objectsCountAgeRange() {
+        int count = 0;
+        for(EmployeeResponse employee : objects){
+            if(employee.getEmployeeAge() >= 30 && employee.getEmployeeAge() < 40){
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int columnarCountAgeColumnRange() {
+        int count = 0;
+        for(int i = 0; i < columnar.size(); i++){
+            int age = columnar.ageAt(i);
+            if(age >= 30 && age < 40){
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public ColumnarEmployeeList columnarBuild() {
+        return ColumnarEmployeeList.of(objects);
+    }
+}
@@ -0,0 +1,75 @@
+package com.reliaquest.api.cache.index;
+
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares name search through NameSearchIndex with the stream filter EmployeeServiceImpl used to run per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NameSearchBenchmark {
+
+    private static final String[] FIRST_NAMES = {
+            "Sanket", "Shubham", "Dnyanesh", "Amit", "Rahul", "Neha", "Pooja", "Kunal", "Rohit", "Anjali",
+            "Vikas", "Sneha", "Arjun", "Nikhil", "Priya", "Tiger", "Bill", "Jill", "Maria", "John"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Nixon", "Bob", "Jenkins", "Sharma", "Patil", "Kulkarni", "Smith", "Johnson", "Garcia", "Miller",
+            "Davis", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Martin", "Lee", "Clark", "Lewis"
+    };
+
+    @Param({"10000", "100000", "1000000"})
+    private int employees;
+
+    /**
+     * Rare full name, common last name fragment and a two letter fragment that has to scan every name
+     */
+    @Param({"tiger nixon", "kulk", "an"})
+    private String searchString;
+
+    private List<EmployeeResponse> roster;
+
+    private NameSearchIndex nameSearchIndex;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        roster = new ArrayList<>(employees);
+        for(int i = 0; i < employees; i++){
+            roster.add(EmployeeResponse.builder()
+                    .id(Integer.toString(i))
+                    .employeeName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                            + LAST_NAMES[random.nextInt(LAST_NAMES.length)] + i)
+                    .employeeSalary(random.nextInt(30000, 500000))
+                    .build());
+        }
+        nameSearchIndex = NameSearchIndex.of(roster);
+    }
+
+    @Benchmark
+    public List<EmployeeResponse> streamFilter() {
+        String searchStringLowerCase = searchString.toLowerCase();
+        return roster.stream().filter(employee -> employee.getEmployeeName().toLowerCase().contains(searchStringLowerCase)).toList();
+    }
+
+    @Benchmark
+    public List<EmployeeResponse> nameSearchIndex() {
+        return nameSearchIndex.search(searchString);
+    }
+}
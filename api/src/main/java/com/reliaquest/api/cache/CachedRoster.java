@@ -0,0 +1,26 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.dto.response.EmployeeResponse;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Cached employee roster along with the time it was loaded from the external service.
+ * Incremental updates keep the original load time, so they do not extend the roster's TTL.
+ *
+ * @param employees cached employees
+ * @param loadedAt time of the last full load, or of the last check that the external roster is unchanged
+ * @param etag ETag of the external roster this was loaded from, null if the external service sent none
+ * @param revision changes whenever the cached employees change, but not when the roster is only renewed
+ */
+public record CachedRoster(List<EmployeeResponse> employees, Instant loadedAt, String etag, long revision) {
+
+    public CachedRoster withEmployees(List<EmployeeResponse> updatedEmployees, long updatedRevision) {
+        return new CachedRoster(updatedEmployees, loadedAt, etag, updatedRevision);
+    }
+
+    public CachedRoster withLoadedAt(Instant renewedAt) {
+        return new CachedRoster(employees, renewedAt, etag, revision);
+    }
+}
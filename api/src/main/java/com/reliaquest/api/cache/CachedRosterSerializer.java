@@ -0,0 +1,75 @@
+package com.reliaquest.api.cache;
+
+import org.ehcache.spi.serialization.Serializer;
+import org.ehcache.spi.serialization.SerializerException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Instant;
+
+/**
+ * Ehcache serializer for the off-heap and disk tiers of the employees cache.
+ * Employees are written column by column as {@link ColumnarEmployeeList} keeps them, each distinct name, title and
+ * email once, and are read back as a ColumnarEmployeeList whatever list they were cached as.
+ * <pre>
+ * byte    format version
+ * long    loaded at epoch seconds, int nanos
+ * string  etag
+ * long    revision
+ * columns employees, see {@link ColumnarEmployeeList#write}
+ * </pre>
+ */
+public class CachedRosterSerializer implements Serializer<CachedRoster> {
+
+    private static final byte FORMAT_VERSION = 1;
+
+    /**
+     * Constructor Ehcache calls when the serializer is configured by class
+     */
+    public CachedRosterSerializer(ClassLoader classLoader) {
+    }
+
+    @Override
+    public ByteBuffer serialize(CachedRoster roster) throws SerializerException {
+        ColumnarEmployeeList employees = ColumnarEmployeeList.of(roster.employees());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + employees.size() * 64);
+        try(DataOutputStream out = new DataOutputStream(bytes)){
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(roster.loadedAt().getEpochSecond());
+            out.writeInt(roster.loadedAt().getNano());
+            ColumnarEmployeeList.writeString(out, roster.etag());
+            out.writeLong(roster.revision());
+            employees.write(out);
+        } catch (IOException ex){
+            throw new SerializerException("Could not serialize employees", ex);
+        }
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    @Override
+    public CachedRoster read(ByteBuffer binary) throws SerializerException {
+        // written big endian by DataOutputStream, whatever order the buffer handed in has
+        ByteBuffer in = binary.duplicate().order(ByteOrder.BIG_ENDIAN);
+        try {
+            byte formatVersion = in.get();
+            if(formatVersion != FORMAT_VERSION){
+                throw new SerializerException("Unsupported employees cache format " + formatVersion);
+            }
+            Instant loadedAt = Instant.ofEpochSecond(in.getLong(), in.getInt());
+            String etag = ColumnarEmployeeList.readString(in);
+            long revision = in.getLong();
+            return new CachedRoster(ColumnarEmployeeList.read(in), loadedAt, etag, revision);
+        } catch (BufferUnderflowException ex){
+            throw new SerializerException("Truncated employees cache entry", ex);
+        }
+    }
+
+    @Override
+    public boolean equals(CachedRoster roster, ByteBuffer binary) throws SerializerException {
+        return roster.equals(read(binary));
+    }
+}
@@ -0,0 +1,380 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.dto.response.EmployeeResponse;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable roster stored column by column. Salaries and ages are kept in int arrays, names, titles and emails as
+ * numbers into a pool holding every distinct string once, so the roster holds no boxed integers and no duplicate strings.
+ * Employees are handed out as read only views reading the columns on demand. Every get creates a new view, equal to
+ * but not the same object as the views handed out before.
+ * <p>
+ * Columns are indexed by row, see {@link EmployeeRowList}. An appended employee copies the columns and adds its
+ * strings to the end of the pool, they are pooled with the others again once the list is compacted.
+ */
+public final class ColumnarEmployeeList extends EmployeeRowList {
+
+    /**
+     * Stands for a null salary or age
+     */
+    public static final int NO_VALUE = Integer.MIN_VALUE;
+
+    private static final int NO_STRING = -1;
+
+    private static final ColumnarEmployeeList EMPTY = new ColumnarEmployeeList(new String[0], new int[0], new int[0],
+            new int[0], new int[0], new int[0], new String[0], null);
+
+    private final String[] ids;
+
+    private final int[] salaries;
+
+    private final int[] ages;
+
+    private final int[] names;
+
+    private final int[] titles;
+
+    private final int[] emails;
+
+    /**
+     * Distinct names, titles and emails, numbered in order of first use
+     */
+    private final String[] strings;
+
+    private ColumnarEmployeeList(String[] ids, int[] salaries, int[] ages, int[] names, int[] titles, int[] emails,
+                                 String[] strings, int[] order) {
+        super(order, ids.length);
+        this.ids = ids;
+        this.salaries = salaries;
+        this.ages = ages;
+        this.names = names;
+        this.titles = titles;
+        this.emails = emails;
+        this.strings = strings;
+    }
+
+    /**
+     * @return columns holding the employees in the same order, or the list itself compacted if it already is columnar
+     */
+    public static ColumnarEmployeeList of(List<EmployeeResponse> employees) {
+        if(employees instanceof ColumnarEmployeeList columnar){
+            return columnar.compacted();
+        }
+        if(employees == null || employees.isEmpty()){
+            return EMPTY;
+        }
+
+        int size = employees.size();
+        String[] ids = new String[size];
+        int[] salaries = new int[size];
+        int[] ages = new int[size];
+        int[] names = new int[size];
+        int[] titles = new int[size];
+        int[] emails = new int[size];
+        Map<String, Integer> stringNumbers = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        int i = 0;
+        for(EmployeeResponse employee : employees){
+            ids[i] = employee.getId();
+            salaries[i] = employee.getEmployeeSalary() == null ? NO_VALUE : employee.getEmployeeSalary();
+            ages[i] = employee.getEmployeeAge() == null ? NO_VALUE : employee.getEmployeeAge();
+            names[i] = stringNumber(employee.getEmployeeName(), stringNumbers, strings);
+            titles[i] = stringNumber(employee.getEmployeeTitle(), stringNumbers, strings);
+            emails[i] = stringNumber(employee.getEmployeeEmail(), stringNumbers, strings);
+            i++;
+        }
+        return new ColumnarEmployeeList(ids, salaries, ages, names, titles, emails, strings.toArray(new String[0]), null);
+    }
+
+    /**
+     * @return salary of the employee at the index, without boxing it, or {@link #NO_VALUE}
+     */
+    public int salaryAt(int index) {
+        return salaries[rowAt(index)];
+    }
+
+    /**
+     * @return age of the employee at the index, without boxing it, or {@link #NO_VALUE}
+     */
+    public int ageAt(int index) {
+        return ages[rowAt(index)];
+    }
+
+    /**
+     * @return number of names, titles and emails held in the string pool
+     */
+    public int distinctStrings() {
+        return strings.length;
+    }
+
+    @Override
+    public int rowCount() {
+        return ids.length;
+    }
+
+    @Override
+    public String idOfRow(int row) {
+        return ids[row];
+    }
+
+    @Override
+    public String nameOfRow(int row) {
+        return string(names[row]);
+    }
+
+    @Override
+    public int salaryOfRow(int row) {
+        return salaries[row] == NO_VALUE ? 0 : salaries[row];
+    }
+
+    @Override
+    public EmployeeResponse employeeOfRow(int row) {
+        Objects.checkIndex(row, ids.length);
+        return new EmployeeView(this, row);
+    }
+
+    @Override
+    public ColumnarEmployeeList withAppended(EmployeeResponse employee) {
+        int row = ids.length;
+        String[] updatedIds = Arrays.copyOf(ids, row + 1);
+        int[] updatedSalaries = Arrays.copyOf(salaries, row + 1);
+        int[] updatedAges = Arrays.copyOf(ages, row + 1);
+        int[] updatedNames = Arrays.copyOf(names, row + 1);
+        int[] updatedTitles = Arrays.copyOf(titles, row + 1);
+        int[] updatedEmails = Arrays.copyOf(emails, row + 1);
+        List<String> added = new ArrayList<>(3);
+        updatedIds[row] = employee.getId();
+        updatedSalaries[row] = employee.getEmployeeSalary() == null ? NO_VALUE : employee.getEmployeeSalary();
+        updatedAges[row] = employee.getEmployeeAge() == null ? NO_VALUE : employee.getEmployeeAge();
+        updatedNames[row] = appendedString(employee.getEmployeeName(), added);
+        updatedTitles[row] = appendedString(employee.getEmployeeTitle(), added);
+        updatedEmails[row] = appendedString(employee.getEmployeeEmail(), added);
+
+        String[] updatedStrings = Arrays.copyOf(strings, strings.length + added.size());
+        for(int i = 0; i < added.size(); i++){
+            updatedStrings[strings.length + i] = added.get(i);
+        }
+        return new ColumnarEmployeeList(updatedIds, updatedSalaries, updatedAges, updatedNames, updatedTitles,
+                updatedEmails, updatedStrings, orderWith(row));
+    }
+
+    @Override
+    public ColumnarEmployeeList compacted() {
+        if(isCompact()){
+            return this;
+        }
+        int size = size();
+        String[] compactIds = new String[size];
+        int[] compactSalaries = new int[size];
+        int[] compactAges = new int[size];
+        int[] compactNames = new int[size];
+        int[] compactTitles = new int[size];
+        int[] compactEmails = new int[size];
+        Map<String, Integer> stringNumbers = new HashMap<>();
+        List<String> compactStrings = new ArrayList<>();
+        for(int i = 0; i < size; i++){
+            int row = rowAt(i);
+            compactIds[i] = ids[row];
+            compactSalaries[i] = salaries[row];
+            compactAges[i] = ages[row];
+            compactNames[i] = stringNumber(string(names[row]), stringNumbers, compactStrings);
+            compactTitles[i] = stringNumber(string(titles[row]), stringNumbers, compactStrings);
+            compactEmails[i] = stringNumber(string(emails[row]), stringNumbers, compactStrings);
+        }
+        return new ColumnarEmployeeList(compactIds, compactSalaries, compactAges, compactNames, compactTitles,
+                compactEmails, compactStrings.toArray(new String[0]), null);
+    }
+
+    @Override
+    ColumnarEmployeeList withOrder(int[] order) {
+        return new ColumnarEmployeeList(ids, salaries, ages, names, titles, emails, strings, order);
+    }
+
+    /**
+     * Writes the columns of the compacted list, to be read back by {@link #read(ByteBuffer)}.
+     * <pre>
+     * int     employee count, string count
+     * string  every pooled string, then the id of every employee
+     * int[]   salaries, ages, then the name, title and email string numbers
+     * string: int length in bytes, or -1 for null, followed by the UTF-8 bytes
+     * </pre>
+     */
+    void write(DataOutput out) throws IOException {
+        if(!isCompact()){
+            compacted().write(out);
+            return;
+        }
+        out.writeInt(ids.length);
+        out.writeInt(strings.length);
+        for(String string : strings){
+            writeString(out, string);
+        }
+        for(String id : ids){
+            writeString(out, id);
+        }
+        for(int[] column : new int[][]{salaries, ages, names, titles, emails}){
+            for(int value : column){
+                out.writeInt(value);
+            }
+        }
+    }
+
+    static ColumnarEmployeeList read(ByteBuffer in) {
+        int size = in.getInt();
+        String[] strings = new String[in.getInt()];
+        for(int i = 0; i < strings.length; i++){
+            strings[i] = readString(in);
+        }
+        if(size == 0){
+            return EMPTY;
+        }
+        String[] ids = new String[size];
+        for(int i = 0; i < size; i++){
+            ids[i] = readString(in);
+        }
+        int[][] columns = new int[5][size];
+        for(int[] column : columns){
+            in.asIntBuffer().get(column);
+            in.position(in.position() + size * Integer.BYTES);
+        }
+        return new ColumnarEmployeeList(ids, columns[0], columns[1], columns[2], columns[3], columns[4], strings, null);
+    }
+
+    static void writeString(DataOutput out, String string) throws IOException {
+        if(string == null){
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if(length < 0){
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int stringNumber(String string, Map<String, Integer> stringNumbers, List<String> strings) {
+        if(string == null){
+            return NO_STRING;
+        }
+        return stringNumbers.computeIfAbsent(string, ignored -> {
+            strings.add(string);
+            return strings.size() - 1;
+        });
+    }
+
+    /**
+     * @return number of the string once the strings added are appended to the pool
+     */
+    private int appendedString(String string, List<String> added) {
+        if(string == null){
+            return NO_STRING;
+        }
+        added.add(string);
+        return strings.length + added.size() - 1;
+    }
+
+    private String string(int number) {
+        return number == NO_STRING ? null : strings[number];
+    }
+
+    private static Integer value(int value) {
+        return value == NO_VALUE ? null : value;
+    }
+
+    /**
+     * Employee read from the columns. The roster is shared by every reader, so it cannot be changed through a view.
+     */
+    private static final class EmployeeView extends EmployeeResponse {
+
+        private final ColumnarEmployeeList columns;
+
+        private final int row;
+
+        private EmployeeView(ColumnarEmployeeList columns, int row) {
+            this.columns = columns;
+            this.row = row;
+        }
+
+        @Override
+        public String getId() {
+            return columns.ids[row];
+        }
+
+        @Override
+        public String getEmployeeName() {
+            return columns.string(columns.names[row]);
+        }
+
+        @Override
+        public Integer getEmployeeSalary() {
+            return value(columns.salaries[row]);
+        }
+
+        @Override
+        public Integer getEmployeeAge() {
+            return value(columns.ages[row]);
+        }
+
+        @Override
+        public String getEmployeeTitle() {
+            return columns.string(columns.titles[row]);
+        }
+
+        @Override
+        public String getEmployeeEmail() {
+            return columns.string(columns.emails[row]);
+        }
+
+        @Override
+        public void setId(String id) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setEmployeeName(String employeeName) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setEmployeeSalary(Integer employeeSalary) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setEmployeeAge(Integer employeeAge) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setEmployeeTitle(String employeeTitle) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setEmployeeEmail(String employeeEmail) {
+            throw readOnly();
+        }
+
+        private static UnsupportedOperationException readOnly() {
+            return new UnsupportedOperationException("Cached employees are read only");
+        }
+    }
+}
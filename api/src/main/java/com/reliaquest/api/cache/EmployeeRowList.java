@@ -0,0 +1,115 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.cache.index.EmployeeRows;
+import com.reliaquest.api.dto.response.EmployeeResponse;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Immutable roster whose employees keep their row while employees are added and removed, so the indexes can be
+ * patched with the row of the employee written instead of being rebuilt.
+ * An added employee takes the next row. A removed employee only leaves the roster order, its row stays behind until
+ * the list is compacted. Updates return a new list, readers of the previous one are not affected.
+ */
+public abstract class EmployeeRowList extends AbstractList<EmployeeResponse> implements EmployeeRows, RandomAccess {
+
+    /**
+     * Rows in roster order, null when the roster is every row in order
+     */
+    private final int[] order;
+
+    private final int size;
+
+    EmployeeRowList(int[] order, int rowCount) {
+        this.order = order;
+        this.size = order == null ? rowCount : order.length;
+    }
+
+    @Override
+    public EmployeeResponse get(int index) {
+        return employeeOfRow(rowAt(index));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int rowAt(int position) {
+        Objects.checkIndex(position, size);
+        return order == null ? position : order[position];
+    }
+
+    /**
+     * @return roster position of the row, -1 if its employee was removed. Rows ascend in roster order.
+     */
+    public int positionOf(int row) {
+        if(order == null){
+            return row >= 0 && row < size ? row : -1;
+        }
+        int position = Arrays.binarySearch(order, row);
+        return position < 0 ? -1 : position;
+    }
+
+    /**
+     * @return number of rows, those of removed employees included
+     */
+    public abstract int rowCount();
+
+    /**
+     * @return number of rows left behind by removed employees
+     */
+    public int removedRows() {
+        return rowCount() - size;
+    }
+
+    /**
+     * @return new list with the employee added last, in row {@link #rowCount()}
+     */
+    public abstract EmployeeRowList withAppended(EmployeeResponse employee);
+
+    /**
+     * @return new list without the employee at the roster position, every other employee keeps its row
+     */
+    public EmployeeRowList without(int position) {
+        Objects.checkIndex(position, size);
+        int[] updated = new int[size - 1];
+        for(int i = 0; i < position; i++){
+            updated[i] = rowAt(i);
+        }
+        for(int i = position + 1; i < size; i++){
+            updated[i - 1] = rowAt(i);
+        }
+        return withOrder(updated);
+    }
+
+    /**
+     * @return list of the same employees numbered from row 0 without gaps, or this list if no row was left behind
+     */
+    public abstract EmployeeRowList compacted();
+
+    /**
+     * @return list sharing the rows of this one, in the given roster order
+     */
+    abstract EmployeeRowList withOrder(int[] order);
+
+    /**
+     * @return roster order with the row added last, for a list with that row appended
+     */
+    int[] orderWith(int row) {
+        if(order == null){
+            return null;
+        }
+        int[] updated = Arrays.copyOf(order, order.length + 1);
+        updated[order.length] = row;
+        return updated;
+    }
+
+    boolean isCompact() {
+        return order == null;
+    }
+}
@@ -1,5 +1,7 @@
 package com.reliaquest.api.cache;
 
+import com.reliaquest.api.cache.index.NameSearchIndex;
+import com.reliaquest.api.cache.index.SalaryIndex;
 import com.reliaquest.api.dto.response.EmployeeResponse;
 
 import java.util.List;
@@ -10,9 +12,140 @@ import java.util.List;
  */
 public interface ICacheManager {
 
+    /**
+     * @return cached roster, or null if nothing is cached or the roster is older than the TTL
+     */
     List<EmployeeResponse> getEmployees();
 
     void setEmployees(List<EmployeeResponse> employees);
 
+    /**
+     * Caches the roster along with the ETag the external service sent for it
+     *
+     * @param employees full roster
+     * @param etag ETag of the roster, null if none was sent
+     */
+    void setEmployees(List<EmployeeResponse> employees, String etag);
+
+    /**
+     * Caches the roster like setEmployees, unless the cached employees changed after the roster was requested.
+     * A roster fetched before a create or delete was applied to the cache would otherwise undo it.
+     *
+     * @param employees full roster
+     * @param etag ETag of the roster, null if none was sent
+     * @param expectedRevision revision read before the roster was requested
+     * @return false if the revision moved on, nothing was cached
+     */
+    boolean setEmployees(List<EmployeeResponse> employees, String etag, long expectedRevision);
+
+    /**
+     * @return ETag of the last cached roster, even past the TTL, or null if there is none
+     */
+    String getEtag();
+
+    /**
+     * Restarts the TTL of the last cached roster without reloading it, after the external service confirmed it is unchanged.
+     *
+     * @param etag ETag the external service confirmed
+     * @return renewed roster, or null if the cached roster no longer has that ETag
+     */
+    List<EmployeeResponse> renewEmployees(String etag);
+
+    /**
+     * Version of the cached roster, changes whenever the cached employees change, including incremental updates.
+     *
+     * @return version, or null if the roster is not cached
+     */
+    String getVersion();
+
+    /**
+     * @return revision of the last roster stored, moves on with every change of the cached employees
+     */
+    long getRevision();
+
+    /**
+     * Last roster that was cached, even past the TTL. Only meant as a fallback while the external service is down.
+     *
+     * @return last cached roster, or null if nothing is cached or it was invalidated
+     */
+    List<EmployeeResponse> getEmployeesSnapshot();
+
+    /**
+     * @return true if the cached roster is older than the soft TTL and should be refreshed in the background
+     */
+    boolean isStale();
+
+    /**
+     * Looks up a single employee from the cached roster.
+     *
+     * @param id employee id
+     * @return cached employee, or null if the roster is not cached or does not contain the id
+     */
+    EmployeeResponse getEmployeeById(String id);
+
+    /**
+     * Looks up a single employee from the last cached roster, even past the TTL, through the id index.
+     * Only meant as a fallback while the external service is down.
+     *
+     * @param id employee id
+     * @return employee of the last cached roster, or null if nothing is cached or it does not contain the id
+     */
+    EmployeeResponse getSnapshotEmployeeById(String id);
+
+    /**
+     * @return salary ordered view of the cached roster, or null if the roster is not cached
+     */
+    SalaryIndex getSalaryIndex();
+
+    /**
+     * @return name search index of the cached roster, or null if the roster is not cached
+     */
+    NameSearchIndex getNameSearchIndex();
+
+    /**
+     * Appends a single employee to the cached roster and its derived indexes, without reloading the roster.
+     * Nothing is cached if the roster itself is not cached, the next read loads it in full anyway.
+     *
+     * @param employee newly created employee
+     */
+    void addEmployee(EmployeeResponse employee);
+
+    /**
+     * Appends employees to the cached roster in a single update, the derived indexes are rebuilt once.
+     *
+     * @param employees newly created employees
+     */
+    void addEmployees(List<EmployeeResponse> employees);
+
+    /**
+     * Removes a single employee from the cached roster without dropping the rest of it.
+     * Mirrors the downstream delete semantics: the first employee whose name matches ignoring case is removed.
+     *
+     * @param name employee name
+     * @return removed employee, or null if the roster is not cached or has no such employee
+     */
+    EmployeeResponse removeEmployeeByName(String name);
+
+    /**
+     * Removes employees from the cached roster in a single update, the derived indexes are rebuilt once.
+     * Each name removes the first remaining employee whose name matches ignoring case, like removeEmployeeByName.
+     *
+     * @param names employee names, a name given twice removes two employees
+     */
+    void removeEmployeesByName(List<String> names);
+
+    /**
+     * Applies changes from the external service change feed, in order, and restarts the TTL since the roster is now current.
+     * Creates of employees already cached and deletes of employees no longer cached are skipped, they were already applied
+     * locally when this service made them. The indexes are patched per change, so a sync costs in proportion to the
+     * changes rather than to the roster.
+     *
+     * @param fromEtag ETag the changes were requested since
+     * @param changes changes made since fromEtag, oldest first
+     * @param toEtag ETag after the changes
+     * @return false if the cached roster no longer has fromEtag, nothing was applied and it has to be reloaded
+     */
+    boolean applyChanges(String fromEtag, List<RosterChange> changes, String toEtag);
+
     void invalidateCache();
 }
@@ -0,0 +1,77 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.dto.response.EmployeeResponse;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Roster holding the employee objects it was given, one per row.
+ */
+public final class ObjectEmployeeList extends EmployeeRowList {
+
+    private static final ObjectEmployeeList EMPTY = new ObjectEmployeeList(new EmployeeResponse[0], null);
+
+    private final EmployeeResponse[] employees;
+
+    private ObjectEmployeeList(EmployeeResponse[] employees, int[] order) {
+        super(order, employees.length);
+        this.employees = employees;
+    }
+
+    /**
+     * @return rows holding the employees in the same order, or the list itself compacted if it already is one
+     */
+    public static ObjectEmployeeList of(List<EmployeeResponse> employees) {
+        if(employees instanceof ObjectEmployeeList objects){
+            return objects.compacted();
+        }
+        if(employees == null || employees.isEmpty()){
+            return EMPTY;
+        }
+        return new ObjectEmployeeList(employees.toArray(new EmployeeResponse[0]), null);
+    }
+
+    @Override
+    public int rowCount() {
+        return employees.length;
+    }
+
+    @Override
+    public String idOfRow(int row) {
+        return employees[row].getId();
+    }
+
+    @Override
+    public String nameOfRow(int row) {
+        return employees[row].getEmployeeName();
+    }
+
+    @Override
+    public int salaryOfRow(int row) {
+        Integer salary = employees[row].getEmployeeSalary();
+        return salary == null ? 0 : salary;
+    }
+
+    @Override
+    public EmployeeResponse employeeOfRow(int row) {
+        return employees[row];
+    }
+
+    @Override
+    public ObjectEmployeeList withAppended(EmployeeResponse employee) {
+        EmployeeResponse[] updated = Arrays.copyOf(employees, employees.length + 1);
+        updated[employees.length] = employee;
+        return new ObjectEmployeeList(updated, orderWith(employees.length));
+    }
+
+    @Override
+    public ObjectEmployeeList compacted() {
+        return isCompact() ? this : new ObjectEmployeeList(toArray(new EmployeeResponse[0]), null);
+    }
+
+    @Override
+    ObjectEmployeeList withOrder(int[] order) {
+        return new ObjectEmployeeList(employees, order);
+    }
+}
@@ -0,0 +1,20 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.dto.response.EmployeeResponse;
+
+/**
+ * Create or delete made on the external service, applied to the cached roster without reloading it.
+ *
+ * @param deleted true if the employee was deleted, false if it was created
+ * @param employee created or deleted employee, deletes are matched by id
+ */
+public record RosterChange(boolean deleted, EmployeeResponse employee) {
+
+    public static RosterChange created(EmployeeResponse employee) {
+        return new RosterChange(false, employee);
+    }
+
+    public static RosterChange deleted(EmployeeResponse employee) {
+        return new RosterChange(true, employee);
+    }
+}
@@ -1,46 +1,549 @@
 package com.reliaquest.api.cache.impl;
 
+import com.reliaquest.api.cache.CachedRoster;
+import com.reliaquest.api.cache.ColumnarEmployeeList;
+import com.reliaquest.api.cache.EmployeeRowList;
+import com.reliaquest.api.cache.ObjectEmployeeList;
+import com.reliaquest.api.cache.RosterChange;
+import com.reliaquest.api.cache.index.IdIndex;
+import com.reliaquest.api.cache.index.NameSearchIndex;
+import com.reliaquest.api.cache.index.SalaryIndex;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.ehcache.Cache;
 import org.ehcache.CacheManager;
 import com.reliaquest.api.cache.ICacheManager;
 import com.reliaquest.api.dto.response.EmployeeResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @Slf4j
 public class EHCacheManager implements ICacheManager {
 
-    private final Cache<String, List<EmployeeResponse>> cache;
+    private final Cache<String, CachedRoster> cache;
 
     private static final String EMPLOYEES = "employees";
 
     private static final String EMPLOYEES_CACHE = "employees_cache";
 
-    public EHCacheManager(CacheManager cacheManager) {
-        log.debug("Cache Manager using EHCache initialized");
-        this.cache = cacheManager.getCache(
-                EMPLOYEES_CACHE,
-                String.class,
-                (Class<List<EmployeeResponse>>) (Class<?>) List.class
-        );
+    private static final String PERSISTED_CACHE = "employees_persisted";
+
+    private static final String OBJECTS_LAYOUT = "objects";
+
+    private static final String COLUMNAR_LAYOUT = "columnar";
+
+    /**
+     * Past this many creates and deletes in one sync the indexes are rebuilt once instead of patched per change,
+     * as every patch copies arrays the size of the roster.
+     */
+    private static final int MAX_PATCHED_CHANGES = 256;
+
+    /**
+     * Roster older than this is not served at all.
+     */
+    private final Duration ttl;
+
+    /**
+     * Roster older than this is still served, but reported as stale so it gets refreshed.
+     */
+    private final Duration softTtl;
+
+    /**
+     * Roster is kept as a {@link ColumnarEmployeeList} instead of an {@link ObjectEmployeeList} of the employees given.
+     */
+    private final boolean columnar;
+
+    /**
+     * Off-heap and disk tiers the roster is written to in the background, null when none are configured.
+     * Writing serializes the whole roster, so it is kept off the write path and done at most once per persist delay.
+     */
+    private final Cache<String, CachedRoster> persistedCache;
+
+    /**
+     * Single thread writing the roster to persistedCache, null when there is none
+     */
+    private final ScheduledThreadPoolExecutor persister;
+
+    private final Duration persistDelay;
+
+    /**
+     * A write of the roster to persistedCache is scheduled, guarded by this
+     */
+    private boolean persistScheduled;
+
+    /**
+     * Roster last written to or read from persistedCache, only used by the persister thread and on shutdown
+     */
+    private CachedRoster persisted;
+
+    /**
+     * Roster the indexes are built over, guarded by this. Creates and deletes patch this one.
+     */
+    private EmployeeRowList employeeRows = ObjectEmployeeList.of(List.of());
+
+    /**
+     * id -> employee index derived from the cached roster, kept in step with every roster update.
+     */
+    private volatile IdIndex idIndex = IdIndex.of(List.of());
+
+    /**
+     * Salary ordered view derived from the cached roster, kept in step with every roster update.
+     */
+    private volatile SalaryIndex salaryIndex = SalaryIndex.of(List.of());
+
+    /**
+     * Name search index derived from the cached roster, kept in step with every roster update.
+     */
+    private volatile NameSearchIndex nameSearchIndex = NameSearchIndex.of(List.of());
+
+    /**
+     * Part of every version, so versions handed out before a restart never match the roster cached after it.
+     */
+    private final String instanceId = Long.toHexString(new SecureRandom().nextLong());
+
+    /**
+     * Revision of the last roster stored, guarded by this
+     */
+    private long revision;
+
+    public EHCacheManager(CacheManager cacheManager,
+                          @Value("${cache.employees.ttl:10m}") Duration ttl,
+                          @Value("${cache.employees.soft-ttl:1m}") Duration softTtl,
+                          @Value("${cache.employees.layout:objects}") String layout,
+                          @Value("${cache.employees.persist-delay:30s}") Duration persistDelay) {
+        if(!OBJECTS_LAYOUT.equalsIgnoreCase(layout) && !COLUMNAR_LAYOUT.equalsIgnoreCase(layout)){
+            throw new IllegalArgumentException("cache.employees.layout should be objects or columnar, was " + layout);
+        }
+        log.debug("Cache Manager using EHCache initialized | ttl={} | softTtl={} | layout={}", ttl, softTtl, layout);
+        this.cache = cacheManager.getCache(EMPLOYEES_CACHE, String.class, CachedRoster.class);
+        this.ttl = ttl;
+        this.softTtl = softTtl;
+        this.columnar = COLUMNAR_LAYOUT.equalsIgnoreCase(layout);
+        this.persistDelay = persistDelay;
+        this.persistedCache = cacheManager.getCache(PERSISTED_CACHE, String.class, CachedRoster.class);
+        if(persistedCache == null){
+            this.persister = null;
+            return;
+        }
+
+        this.persister = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "employees-cache-persister");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // a write still waiting on shutdown is done by close right away
+        persister.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+
+        // a roster kept by the disk tier across a restart comes without the indexes derived from it
+        CachedRoster restored = persistedCache.get(EMPLOYEES);
+        if(restored != null){
+            persisted = restored;
+            revision = restored.revision();
+            store(restored);
+            log.info("Employees cache restored | employees={} | loadedAt={}", restored.employees().size(), restored.loadedAt());
+        }
     }
 
 
     @Override
     public List<EmployeeResponse> getEmployees() {
-        return cache.get(EMPLOYEES);
+        CachedRoster roster = getRoster();
+        return roster == null ? null : roster.employees();
     }
 
     @Override
     public void setEmployees(List<EmployeeResponse> employees) {
-        cache.put(EMPLOYEES, employees);
+        setEmployees(employees, null);
+    }
+
+    @Override
+    public synchronized void setEmployees(List<EmployeeResponse> employees, String etag) {
+        store(new CachedRoster(employees, Instant.now(), etag, ++revision));
+    }
+
+    @Override
+    public synchronized boolean setEmployees(List<EmployeeResponse> employees, String etag, long expectedRevision) {
+        if(revision != expectedRevision){
+            return false;
+        }
+        setEmployees(employees, etag);
+        return true;
+    }
+
+    @Override
+    public synchronized long getRevision() {
+        return revision;
+    }
+
+    @Override
+    public String getEtag() {
+        CachedRoster roster = cache.get(EMPLOYEES);
+        return roster == null ? null : roster.etag();
+    }
+
+    @Override
+    public synchronized List<EmployeeResponse> renewEmployees(String etag) {
+        CachedRoster roster = cache.get(EMPLOYEES);
+        if(roster == null || etag == null || !etag.equals(roster.etag())){
+            return null;
+        }
+        // same employees, so the indexes and the version stay as they are
+        put(roster.withLoadedAt(Instant.now()));
+        return roster.employees();
+    }
+
+    @Override
+    public String getVersion() {
+        CachedRoster roster = getRoster();
+        return roster == null ? null : instanceId + "-" + roster.revision();
+    }
+
+    @Override
+    public List<EmployeeResponse> getEmployeesSnapshot() {
+        CachedRoster roster = cache.get(EMPLOYEES);
+        return roster == null ? null : roster.employees();
+    }
+
+    @Override
+    public boolean isStale() {
+        CachedRoster roster = getRoster();
+        return roster != null && !Instant.now().isBefore(roster.loadedAt().plus(softTtl));
+    }
+
+    @Override
+    public EmployeeResponse getEmployeeById(String id) {
+        // index is only valid while the roster it was built from is still cached
+        if(id == null || getRoster() == null){
+            return null;
+        }
+        return idIndex.get(id);
+    }
+
+    @Override
+    public EmployeeResponse getSnapshotEmployeeById(String id) {
+        if(id == null || cache.get(EMPLOYEES) == null){
+            return null;
+        }
+        return idIndex.get(id);
+    }
+
+    @Override
+    public SalaryIndex getSalaryIndex() {
+        return getRoster() == null ? null : salaryIndex;
     }
 
     @Override
-    public void invalidateCache() {
+    public NameSearchIndex getNameSearchIndex() {
+        return getRoster() == null ? null : nameSearchIndex;
+    }
+
+    @Override
+    public synchronized void addEmployee(EmployeeResponse employee) {
+        CachedRoster roster = getRoster();
+        if(roster == null || employee == null || idIndex.contains(employee.getId())){
+            return;
+        }
+
+        append(employee);
+        storePatched(roster.withEmployees(employeeRows, ++revision));
+    }
+
+    @Override
+    public synchronized void addEmployees(List<EmployeeResponse> employees) {
+        CachedRoster roster = getRoster();
+        if(roster == null || employees == null || employees.isEmpty()){
+            return;
+        }
+
+        // copy-on-write so readers iterating the previous roster are not affected
+        List<EmployeeResponse> updated = new ArrayList<>(roster.employees().size() + employees.size());
+        updated.addAll(roster.employees());
+        Set<String> ids = new HashSet<>();
+        for(EmployeeResponse employee : employees){
+            if(employee != null && !idIndex.contains(employee.getId()) && ids.add(employee.getId())){
+                updated.add(employee);
+            }
+        }
+        store(roster.withEmployees(updated, ++revision));
+    }
+
+    @Override
+    public synchronized EmployeeResponse removeEmployeeByName(String name) {
+        CachedRoster roster = getRoster();
+        if(roster == null || name == null){
+            return null;
+        }
+        EmployeeRowList employees = employeeRows;
+
+        for(int i = 0; i < employees.size(); i++){
+            int row = employees.rowAt(i);
+            if(name.equalsIgnoreCase(employees.nameOfRow(row))){
+                EmployeeResponse employee = employees.employeeOfRow(row);
+                remove(i);
+                storePatched(roster.withEmployees(employeeRows, ++revision));
+                return employee;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public synchronized void removeEmployeesByName(List<String> names) {
+        CachedRoster roster = getRoster();
+        if(roster == null || names == null || names.isEmpty()){
+            return;
+        }
+
+        // how many employees to remove per name, each removes the first remaining match in roster order
+        Map<String, Integer> pendingRemovals = new HashMap<>();
+        for(String name : names){
+            if(name != null){
+                pendingRemovals.merge(name.toLowerCase(Locale.ROOT), 1, Integer::sum);
+            }
+        }
+
+        List<EmployeeResponse> employees = roster.employees();
+        List<EmployeeResponse> updated = new ArrayList<>(employees.size());
+        for(EmployeeResponse employee : employees){
+            String name = employee.getEmployeeName() == null ? null : employee.getEmployeeName().toLowerCase(Locale.ROOT);
+            Integer pending = name == null ? null : pendingRemovals.get(name);
+            if(pending != null){
+                if(pending == 1){
+                    pendingRemovals.remove(name);
+                } else {
+                    pendingRemovals.put(name, pending - 1);
+                }
+                continue;
+            }
+            updated.add(employee);
+        }
+
+        if(updated.size() != employees.size()){
+            store(roster.withEmployees(updated, ++revision));
+        }
+    }
+
+    @Override
+    public synchronized boolean applyChanges(String fromEtag, List<RosterChange> changes, String toEtag) {
+        CachedRoster roster = cache.get(EMPLOYEES);
+        if(roster == null || fromEtag == null || !fromEtag.equals(roster.etag())){
+            return false;
+        }
+
+        Map<String, EmployeeResponse> created = new LinkedHashMap<>();
+        Set<String> deletedIds = new HashSet<>();
+        for(RosterChange change : changes){
+            EmployeeResponse employee = change.employee();
+            if(employee == null || employee.getId() == null){
+                continue;
+            }
+            String id = employee.getId();
+            if(change.deleted()){
+                if(created.remove(id) == null && idIndex.contains(id)){
+                    deletedIds.add(id);
+                }
+            } else if(!idIndex.contains(id) || deletedIds.contains(id)){
+                created.put(id, employee);
+            }
+        }
+        int changed = created.size() + deletedIds.size();
+
+        if(changed == 0){
+            put(new CachedRoster(roster.employees(), Instant.now(), toEtag, roster.revision()));
+            return true;
+        }
+
+        if(changed > MAX_PATCHED_CHANGES){
+            // copy-on-write so readers iterating the previous roster are not affected
+            List<EmployeeResponse> updated = new ArrayList<>(employeeRows.size() + created.size());
+            for(EmployeeResponse employee : employeeRows){
+                if(!deletedIds.contains(employee.getId())){
+                    updated.add(employee);
+                }
+            }
+            updated.addAll(created.values());
+            store(new CachedRoster(updated, Instant.now(), toEtag, ++revision));
+            return true;
+        }
+
+        // sync cost follows the number of changes rather than the roster size
+        for(String id : deletedIds){
+            remove(employeeRows.positionOf(idIndex.rowOf(id)));
+        }
+        created.values().forEach(this::append);
+        storePatched(new CachedRoster(employeeRows, Instant.now(), toEtag, ++revision));
+        return true;
+    }
+
+    @Override
+    public synchronized void invalidateCache() {
         cache.remove(EMPLOYEES);
+        schedulePersist();
+        employeeRows = ObjectEmployeeList.of(List.of());
+        idIndex = IdIndex.of(List.of());
+        salaryIndex = SalaryIndex.of(List.of());
+        nameSearchIndex = NameSearchIndex.of(List.of());
+    }
+
+    /**
+     * Appends the employee to the roster rows and patches every index with its row.
+     * Copy-on-write, so readers of the previous roster and indexes are not affected.
+     * @param employee
+     */
+    private void append(EmployeeResponse employee) {
+        EmployeeRowList updated = employeeRows.withAppended(employee);
+        int row = updated.rowAt(updated.size() - 1);
+
+        employeeRows = updated;
+        idIndex = idIndex.with(updated, row);
+        salaryIndex = salaryIndex.with(updated, row);
+        nameSearchIndex = nameSearchIndex.with(updated, row);
+    }
+
+    /**
+     * Removes the employee at the roster position from the roster rows and patches every index, copy-on-write as well
+     * @param position
+     */
+    private void remove(int position) {
+        int row = employeeRows.rowAt(position);
+        EmployeeRowList updated = employeeRows.without(position);
+
+        employeeRows = updated;
+        idIndex = idIndex.without(updated, row);
+        salaryIndex = salaryIndex.without(updated, row);
+        nameSearchIndex = nameSearchIndex.without(updated, row);
+    }
+
+    /**
+     * Caches the roster holding the patched rows. Once rows left behind outnumber the employees, the rows are compacted
+     * and the indexes rebuilt over them instead.
+     * @param roster
+     */
+    private void storePatched(CachedRoster roster) {
+        if(employeeRows.removedRows() > employeeRows.size()){
+            store(roster);
+            return;
+        }
+        put(roster);
+    }
+
+    /**
+     * Caches the roster and rebuilds every index derived from it
+     * @param roster
+     */
+    private void store(CachedRoster roster) {
+        EmployeeRowList employees = rows(roster.employees());
+        employeeRows = employees;
+        idIndex = IdIndex.of(employees);
+        salaryIndex = SalaryIndex.of(employees);
+        nameSearchIndex = NameSearchIndex.of(employees);
+        put(roster.withEmployees(employees, roster.revision()));
+    }
+
+    /**
+     * Caches the roster on heap, and schedules writing it to the tiers if there are any
+     * @param roster
+     */
+    private void put(CachedRoster roster) {
+        cache.put(EMPLOYEES, roster);
+        schedulePersist();
+    }
+
+    private void schedulePersist() {
+        if(persister == null || persistScheduled || persister.isShutdown()){
+            return;
+        }
+        persistScheduled = true;
+        persister.schedule(this::persist, persistDelay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes the roster cached on heap to the tiers, unless only its load time changed since the last write.
+     * A restored roster that looks older only gets its ETag checked with the mock service once more.
+     */
+    private void persist() {
+        CachedRoster roster;
+        synchronized(this){
+            persistScheduled = false;
+            roster = cache.get(EMPLOYEES);
+        }
+        if(sameEmployeesAndEtag(roster, persisted)){
+            return;
+        }
+
+        try {
+            if(roster == null){
+                persistedCache.remove(EMPLOYEES);
+            } else {
+                persistedCache.put(EMPLOYEES, roster);
+            }
+            persisted = roster;
+            log.debug("Employees cache persisted | employees={}", roster == null ? 0 : roster.employees().size());
+        } catch (RuntimeException ex){
+            log.warn("Employees cache could not be persisted | message={}", ex.getMessage());
+        }
+    }
+
+    private static boolean sameEmployeesAndEtag(CachedRoster roster, CachedRoster other) {
+        if(roster == null || other == null){
+            return roster == other;
+        }
+        return roster.revision() == other.revision() && Objects.equals(roster.etag(), other.etag());
+    }
+
+    /**
+     * Writes a roster still waiting for the persist delay before the cache manager closes the tiers
+     */
+    @PreDestroy
+    public void close() throws InterruptedException {
+        if(persister == null){
+            return;
+        }
+        persister.shutdown();
+        if(!persister.awaitTermination(10, TimeUnit.SECONDS)){
+            log.warn("Employees cache persister did not finish in time");
+            return;
+        }
+        persist();
+    }
+
+    /**
+     * Returns the employees numbered from row 0, in the configured layout unless they already are in one
+     * @param employees
+     * @return EmployeeRowList
+     */
+    private EmployeeRowList rows(List<EmployeeResponse> employees) {
+        if(employees instanceof EmployeeRowList rows){
+            return rows.compacted();
+        }
+        return columnar ? ColumnarEmployeeList.of(employees) : ObjectEmployeeList.of(employees);
+    }
+
+    /**
+     * Returns the cached roster unless it is older than the hard TTL
+     * @return CachedRoster
+     */
+    private CachedRoster getRoster() {
+        CachedRoster roster = cache.get(EMPLOYEES);
+        if(roster == null || !Instant.now().isBefore(roster.loadedAt().plus(ttl))){
+            return null;
+        }
+        return roster;
     }
 }
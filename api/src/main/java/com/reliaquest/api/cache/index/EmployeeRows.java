@@ -0,0 +1,44 @@
+package com.reliaquest.api.cache.index;
+
+import com.reliaquest.api.dto.response.EmployeeResponse;
+
+import java.util.List;
+
+/**
+ * Roster whose employees are numbered by row, the numbers the indexes hold instead of the employees themselves.
+ * A row keeps its number for as long as its employee is in the roster, and rows ascend in roster order.
+ * Employees and their fields are looked up by row only when a query needs them.
+ */
+public interface EmployeeRows {
+
+    /**
+     * @return number of employees in the roster
+     */
+    int size();
+
+    /**
+     * @return row of the employee at the roster position
+     */
+    int rowAt(int position);
+
+    String idOfRow(int row);
+
+    String nameOfRow(int row);
+
+    /**
+     * @return salary of the row, 0 when it has none
+     */
+    int salaryOfRow(int row);
+
+    EmployeeResponse employeeOfRow(int row);
+
+    /**
+     * @return the list itself if it is numbered by row already, otherwise the list with rows numbered by position
+     */
+    static EmployeeRows of(List<EmployeeResponse> employees) {
+        if(employees instanceof EmployeeRows rows){
+            return rows;
+        }
+        return new ListRows(employees == null ? List.of() : employees);
+    }
+}
@@ -0,0 +1,173 @@
+package com.reliaquest.api.cache.index;
+
+import com.reliaquest.api.dto.response.EmployeeResponse;
+
+import java.util.List;
+
+/**
+ * Immutable id lookup over the rows of the cached roster.
+ * Rows sit in an open addressing table of ints, so the index holds no object per employee, updates return a new index.
+ * Employees without an id are not indexed. When ids repeat, the last row with the id is found.
+ */
+public final class IdIndex {
+
+    private static final int FREE = 0;
+
+    private static final IdIndex EMPTY = new IdIndex(EmployeeRows.of(List.of()), new int[2], 0);
+
+    private final EmployeeRows rows;
+
+    /**
+     * Row + 1 per slot, FREE for an empty slot. Linear probing, never more than half full.
+     */
+    private final int[] slots;
+
+    private final int size;
+
+    private IdIndex(EmployeeRows rows, int[] slots, int size) {
+        this.rows = rows;
+        this.slots = slots;
+        this.size = size;
+    }
+
+    /**
+     * @param employees roster, indexed by row if it is numbered by row, otherwise by position
+     */
+    public static IdIndex of(List<EmployeeResponse> employees) {
+        EmployeeRows rows = EmployeeRows.of(employees);
+        if(rows.size() == 0){
+            return EMPTY;
+        }
+        int[] slots = new int[capacity(rows.size())];
+        int size = 0;
+        for(int i = 0; i < rows.size(); i++){
+            if(put(rows, slots, rows.rowAt(i))){
+                size++;
+            }
+        }
+        return new IdIndex(rows, slots, size);
+    }
+
+    /**
+     * @return employee with the id, null if there is none
+     */
+    public EmployeeResponse get(String id) {
+        int row = rowOf(id);
+        return row < 0 ? null : rows.employeeOfRow(row);
+    }
+
+    /**
+     * @return row of the employee with the id, -1 if there is none
+     */
+    public int rowOf(String id) {
+        int slot = slot(id);
+        return slot < 0 ? -1 : slots[slot] - 1;
+    }
+
+    public boolean contains(String id) {
+        return slot(id) >= 0;
+    }
+
+    /**
+     * @param updated roster holding the row
+     * @return new index containing the row as well
+     */
+    public IdIndex with(EmployeeRows updated, int row) {
+        if(updated.idOfRow(row) == null){
+            return new IdIndex(updated, slots, size);
+        }
+        int[] updatedSlots = capacity(size + 1) > slots.length ? grown(updated) : slots.clone();
+        return new IdIndex(updated, updatedSlots, put(updated, updatedSlots, row) ? size + 1 : size);
+    }
+
+    /**
+     * @param updated roster the row was removed from, still able to look the row up
+     * @return new index without the row, or an index over the updated roster if the row is not indexed
+     */
+    public IdIndex without(EmployeeRows updated, int row) {
+        int slot = slot(updated.idOfRow(row));
+        if(slot < 0 || slots[slot] - 1 != row){
+            return new IdIndex(updated, slots, size);
+        }
+
+        // backward shift deletion, moves back every entry that would no longer be reachable past the freed slot
+        int[] updatedSlots = slots.clone();
+        int mask = updatedSlots.length - 1;
+        int free = slot;
+        updatedSlots[free] = FREE;
+        for(int next = (free + 1) & mask; updatedSlots[next] != FREE; next = (next + 1) & mask){
+            int home = home(updated.idOfRow(updatedSlots[next] - 1), mask);
+            // the entry stays if its home lies cyclically in (free, next]
+            boolean reachable = free <= next ? free < home && home <= next : free < home || home <= next;
+            if(!reachable){
+                updatedSlots[free] = updatedSlots[next];
+                updatedSlots[next] = FREE;
+                free = next;
+            }
+        }
+        return new IdIndex(updated, updatedSlots, size - 1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return slot holding the id, -1 if there is none
+     */
+    private int slot(String id) {
+        if(id == null){
+            return -1;
+        }
+        int mask = slots.length - 1;
+        for(int slot = home(id, mask); slots[slot] != FREE; slot = (slot + 1) & mask){
+            if(id.equals(rows.idOfRow(slots[slot] - 1))){
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private int[] grown(EmployeeRows updated) {
+        int[] grown = new int[slots.length * 2];
+        for(int entry : slots){
+            if(entry != FREE){
+                put(updated, grown, entry - 1);
+            }
+        }
+        return grown;
+    }
+
+    /**
+     * @return true if the id was not in the table yet, false if its row was replaced or it has no id
+     */
+    private static boolean put(EmployeeRows rows, int[] slots, int row) {
+        String id = rows.idOfRow(row);
+        if(id == null){
+            return false;
+        }
+        int mask = slots.length - 1;
+        int slot = home(id, mask);
+        while(slots[slot] != FREE){
+            if(id.equals(rows.idOfRow(slots[slot] - 1))){
+                slots[slot] = row + 1;
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = row + 1;
+        return true;
+    }
+
+    private static int home(String id, int mask) {
+        int hash = id.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * @return power of two at least twice the number of ids
+     */
+    private static int capacity(int ids) {
+        return Math.max(2, Integer.highestOneBit(Math.max(1, ids * 2 - 1)) << 1);
+    }
+}
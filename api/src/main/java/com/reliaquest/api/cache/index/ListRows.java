@@ -0,0 +1,42 @@
+package com.reliaquest.api.cache.index;
+
+import com.reliaquest.api.dto.response.EmployeeResponse;
+
+import java.util.List;
+
+/**
+ * Plain list of employees read as rows, numbered by position. Only valid for as long as the list is not changed.
+ */
+record ListRows(List<EmployeeResponse> employees) implements EmployeeRows {
+
+    @Override
+    public int size() {
+        return employees.size();
+    }
+
+    @Override
+    public int rowAt(int position) {
+        return position;
+    }
+
+    @Override
+    public String idOfRow(int row) {
+        return employees.get(row).getId();
+    }
+
+    @Override
+    public String nameOfRow(int row) {
+        return employees.get(row).getEmployeeName();
+    }
+
+    @Override
+    public int salaryOfRow(int row) {
+        Integer salary = employees.get(row).getEmployeeSalary();
+        return salary == null ? 0 : salary;
+    }
+
+    @Override
+    public EmployeeResponse employeeOfRow(int row) {
+        return employees.get(row);
+    }
+}
@@ -0,0 +1,193 @@
+package com.reliaquest.api.cache.index;
+
+import com.reliaquest.api.dto.response.EmployeeResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable substring search index over employee names of the cached roster.
+ * Every trigram of a lower cased name points to the rows of the employees containing it, see {@link EmployeeRows},
+ * so a search only verifies the employees sharing the rarest trigram of the search string instead of the whole roster.
+ * Results keep roster order, updates return a new index sharing the untouched posting lists and the trie nodes holding
+ * them, see {@link PostingTrie}, so adding or removing an employee costs in proportion to the trigrams of its name.
+ */
+public final class NameSearchIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private static final int[] NO_ROWS = new int[0];
+
+    private static final NameSearchIndex EMPTY = new NameSearchIndex(EmployeeRows.of(List.of()), PostingTrie.EMPTY);
+
+    private final EmployeeRows rows;
+
+    /**
+     * trigram -> rows whose name contains it, ascending, which is roster order
+     */
+    private final PostingTrie postings;
+
+    private NameSearchIndex(EmployeeRows rows, PostingTrie postings) {
+        this.rows = rows;
+        this.postings = postings;
+    }
+
+    /**
+     * @param employees roster, indexed by row if it is numbered by row, otherwise by position
+     */
+    public static NameSearchIndex of(List<EmployeeResponse> employees) {
+        EmployeeRows rows = EmployeeRows.of(employees);
+        if(rows.size() == 0){
+            return EMPTY;
+        }
+
+        Map<Long, Posting> postingLists = new HashMap<>();
+        for(int i = 0; i < rows.size(); i++){
+            int row = rows.rowAt(i);
+            String name = normalizedName(rows, row);
+            for(int start = 0; start + GRAM_LENGTH <= name.length(); start++){
+                postingLists.computeIfAbsent(gram(name, start), ignored -> new Posting()).add(row);
+            }
+        }
+
+        PostingTrie postings = PostingTrie.EMPTY;
+        for(Map.Entry<Long, Posting> posting : postingLists.entrySet()){
+            postings = postings.with(posting.getKey(), Arrays.copyOf(posting.getValue().rows, posting.getValue().size));
+        }
+        return new NameSearchIndex(rows, postings);
+    }
+
+    /**
+     * @param updated roster holding the row, added after every row already indexed
+     * @return new index containing the row as well
+     */
+    public NameSearchIndex with(EmployeeRows updated, int row) {
+        PostingTrie updatedPostings = postings;
+        String name = normalizedName(updated, row);
+        for(int start = 0; start + GRAM_LENGTH <= name.length(); start++){
+            long gram = gram(name, start);
+            int[] posting = updatedPostings.get(gram);
+            if(posting == null){
+                posting = NO_ROWS;
+            }
+            // a name repeating a trigram is listed only once
+            if(posting.length > 0 && posting[posting.length - 1] == row){
+                continue;
+            }
+            int[] updatedPosting = Arrays.copyOf(posting, posting.length + 1);
+            updatedPosting[posting.length] = row;
+            updatedPostings = updatedPostings.with(gram, updatedPosting);
+        }
+        return new NameSearchIndex(updated, updatedPostings);
+    }
+
+    /**
+     * @param updated roster the row was removed from, still able to look the row up
+     * @return new index without the row
+     */
+    public NameSearchIndex without(EmployeeRows updated, int row) {
+        PostingTrie updatedPostings = postings;
+        String name = normalizedName(updated, row);
+        for(int start = 0; start + GRAM_LENGTH <= name.length(); start++){
+            long gram = gram(name, start);
+            int[] posting = updatedPostings.get(gram);
+            int index = posting == null ? -1 : Arrays.binarySearch(posting, row);
+            if(index < 0){
+                continue;
+            }
+            if(posting.length == 1){
+                updatedPostings = updatedPostings.without(gram);
+                continue;
+            }
+            int[] updatedPosting = new int[posting.length - 1];
+            System.arraycopy(posting, 0, updatedPosting, 0, index);
+            System.arraycopy(posting, index + 1, updatedPosting, index, posting.length - index - 1);
+            updatedPostings = updatedPostings.with(gram, updatedPosting);
+        }
+        return new NameSearchIndex(updated, updatedPostings);
+    }
+
+    /**
+     * @param searchString name fragment, matched ignoring case
+     * @return employees whose name contains the search string, in roster order
+     */
+    public List<EmployeeResponse> search(String searchString) {
+        String query = searchString.toLowerCase(Locale.ROOT);
+
+        int[] candidates = null;
+        if(query.length() >= GRAM_LENGTH){
+            for(int start = 0; start + GRAM_LENGTH <= query.length(); start++){
+                int[] posting = postings.get(gram(query, start));
+                if(posting == null){
+                    return List.of();
+                }
+                if(candidates == null || posting.length < candidates.length){
+                    candidates = posting;
+                }
+            }
+        }
+
+        List<EmployeeResponse> matches = new ArrayList<>();
+        int count = candidates == null ? rows.size() : candidates.length;
+        for(int i = 0; i < count; i++){
+            int row = candidates == null ? rows.rowAt(i) : candidates[i];
+            if(containsIgnoreCase(rows.nameOfRow(row), query)){
+                matches.add(rows.employeeOfRow(row));
+            }
+        }
+        return matches;
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    private static String normalizedName(EmployeeRows rows, int row) {
+        String name = rows.nameOfRow(row);
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Verifies a candidate without lower casing its name, the names are not kept lower cased
+     */
+    private static boolean containsIgnoreCase(String name, String query) {
+        if(name == null){
+            return query.isEmpty();
+        }
+        for(int start = 0; start + query.length() <= name.length(); start++){
+            if(name.regionMatches(true, start, query, 0, query.length())){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long gram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+
+    /**
+     * Rows of one trigram while the index is built
+     */
+    private static final class Posting {
+
+        private int[] rows = new int[4];
+
+        private int size;
+
+        private void add(int row) {
+            // a name repeating a trigram is listed only once
+            if(size > 0 && rows[size - 1] == row){
+                return;
+            }
+            if(size == rows.length){
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+    }
+}
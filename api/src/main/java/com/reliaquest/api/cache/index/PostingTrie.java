@@ -0,0 +1,163 @@
+package com.reliaquest.api.cache.index;
+
+/**
+ * Persistent map from trigram to posting list, a hash array mapped trie of 32-way nodes.
+ * An update copies only the nodes on the path to its trigram, every other node is shared with the map it was made from,
+ * so a write costs a few small array copies instead of a copy of the whole map.
+ * Trigrams are spread by a bijective mix, distinct trigrams never share a full hash and need no collision lists.
+ */
+final class PostingTrie {
+
+    private static final int BITS = 5;
+
+    private static final int MASK = (1 << BITS) - 1;
+
+    static final PostingTrie EMPTY = new PostingTrie(Node.EMPTY, 0);
+
+    private final Node root;
+
+    private final int size;
+
+    private PostingTrie(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * @return rows of the trigram, null if no name contains it
+     */
+    int[] get(long gram) {
+        long hash = hash(gram);
+        Node node = root;
+        for(int shift = 0; ; shift += BITS){
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if((node.bitmap & bit) == 0){
+                return null;
+            }
+            Object entry = node.entries[node.index(bit)];
+            if(entry instanceof Leaf leaf){
+                return leaf.gram == gram ? leaf.rows : null;
+            }
+            node = (Node) entry;
+        }
+    }
+
+    /**
+     * @return new map with the trigram set to the rows
+     */
+    PostingTrie with(long gram, int[] rows) {
+        int updatedSize = get(gram) == null ? size + 1 : size;
+        return new PostingTrie(root.with(new Leaf(gram, rows), hash(gram), 0), updatedSize);
+    }
+
+    /**
+     * @return new map without the trigram, or this map if it does not hold the trigram
+     */
+    PostingTrie without(long gram) {
+        if(get(gram) == null){
+            return this;
+        }
+        Node updated = root.without(gram, hash(gram), 0);
+        return new PostingTrie(updated == null ? Node.EMPTY : updated, size - 1);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /*
+     * SplitMix64 finalizer, a bijection, so distinct trigrams keep distinct hashes.
+     */
+    private static long hash(long gram) {
+        long z = (gram ^ (gram >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private record Leaf(long gram, int[] rows) {}
+
+    /**
+     * Entries present for the set bits of the bitmap, in bit order. An entry is either a Leaf or a Node one level down.
+     */
+    private static final class Node {
+
+        private static final Node EMPTY = new Node(0, new Object[0]);
+
+        private final int bitmap;
+
+        private final Object[] entries;
+
+        private Node(int bitmap, Object[] entries) {
+            this.bitmap = bitmap;
+            this.entries = entries;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        private Node with(Leaf leaf, long hash, int shift) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            int index = index(bit);
+            if((bitmap & bit) == 0){
+                Object[] updated = new Object[entries.length + 1];
+                System.arraycopy(entries, 0, updated, 0, index);
+                updated[index] = leaf;
+                System.arraycopy(entries, index, updated, index + 1, entries.length - index);
+                return new Node(bitmap | bit, updated);
+            }
+
+            Object entry = entries[index];
+            Object replacement;
+            if(entry instanceof Node child){
+                replacement = child.with(leaf, hash, shift + BITS);
+            } else if(((Leaf) entry).gram == leaf.gram){
+                replacement = leaf;
+            } else {
+                replacement = pair((Leaf) entry, hash(((Leaf) entry).gram), leaf, hash, shift + BITS);
+            }
+            Object[] updated = entries.clone();
+            updated[index] = replacement;
+            return new Node(bitmap, updated);
+        }
+
+        /**
+         * @return node without the trigram, null if it held nothing else
+         */
+        private Node without(long gram, long hash, int shift) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            int index = index(bit);
+            Object entry = entries[index];
+            if(entry instanceof Node child){
+                Node updatedChild = child.without(gram, hash, shift + BITS);
+                if(updatedChild != null){
+                    Object[] updated = entries.clone();
+                    updated[index] = updatedChild;
+                    return new Node(bitmap, updated);
+                }
+            }
+            if(entries.length == 1){
+                return null;
+            }
+            Object[] updated = new Object[entries.length - 1];
+            System.arraycopy(entries, 0, updated, 0, index);
+            System.arraycopy(entries, index + 1, updated, index, entries.length - index - 1);
+            return new Node(bitmap & ~bit, updated);
+        }
+
+        /**
+         * @return node holding both leaves, nested until their hashes part
+         */
+        private static Node pair(Leaf first, long firstHash, Leaf second, long secondHash, int shift) {
+            int firstBit = 1 << ((firstHash >>> shift) & MASK);
+            int secondBit = 1 << ((secondHash >>> shift) & MASK);
+            if(firstBit == secondBit){
+                return new Node(firstBit, new Object[]{pair(first, firstHash, second, secondHash, shift + BITS)});
+            }
+            Object[] entries = Integer.compareUnsigned(firstBit, secondBit) < 0
+                    ? new Object[]{first, second}
+                    : new Object[]{second, first};
+            return new Node(firstBit | secondBit, entries);
+        }
+    }
+}
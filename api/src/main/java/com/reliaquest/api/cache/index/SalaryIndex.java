@@ -0,0 +1,195 @@
+package com.reliaquest.api.cache.index;
+
+import com.reliaquest.api.dto.response.EmployeeResponse;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Immutable salary ordered view of the cached roster.
+ * Highest salary and top N names are answered without scanning the roster, updates return a new index.
+ * The index holds rows of the roster rather than employees, see {@link EmployeeRows}, and looks employees and names
+ * up only when they are read.
+ */
+public final class SalaryIndex {
+
+    private static final SalaryIndex EMPTY = new SalaryIndex(EmployeeRows.of(List.of()), new int[0]);
+
+    private final EmployeeRows rows;
+
+    /**
+     * Rows ordered by salary, highest first. Ties keep roster order.
+     */
+    private final int[] rowsBySalary;
+
+    private final List<EmployeeResponse> employeesBySalary = new EmployeesBySalary();
+
+    private final List<String> namesBySalary = new NamesBySalary();
+
+    private SalaryIndex(EmployeeRows rows, int[] rowsBySalary) {
+        this.rows = rows;
+        this.rowsBySalary = rowsBySalary;
+    }
+
+    /**
+     * @param employees roster, indexed by row if it is numbered by row, otherwise by position
+     */
+    public static SalaryIndex of(List<EmployeeResponse> employees) {
+        EmployeeRows rows = EmployeeRows.of(employees);
+        if(rows.size() == 0){
+            return EMPTY;
+        }
+        // salary inverted in the high half so ascending keys run from the highest salary, ties ordered by row
+        long[] keys = new long[rows.size()];
+        for(int i = 0; i < keys.length; i++){
+            int row = rows.rowAt(i);
+            keys[i] = ((long) ~rows.salaryOfRow(row) << 32) | row;
+        }
+        Arrays.sort(keys);
+        int[] sorted = new int[keys.length];
+        for(int i = 0; i < keys.length; i++){
+            sorted[i] = (int) keys[i];
+        }
+        return new SalaryIndex(rows, sorted);
+    }
+
+    /**
+     * @param updated roster holding the row, added after every row already indexed
+     * @return new index containing the row as well
+     */
+    public SalaryIndex with(EmployeeRows updated, int row) {
+        // insert after all employees earning the same or more, so ties keep roster order
+        int position = upperBound(updated.salaryOfRow(row));
+        int[] sorted = new int[rowsBySalary.length + 1];
+        System.arraycopy(rowsBySalary, 0, sorted, 0, position);
+        sorted[position] = row;
+        System.arraycopy(rowsBySalary, position, sorted, position + 1, rowsBySalary.length - position);
+        return new SalaryIndex(updated, sorted);
+    }
+
+    /**
+     * @param updated roster the row was removed from, still able to look the row up
+     * @return new index without the row, or an index over the updated roster if the row is not indexed
+     */
+    public SalaryIndex without(EmployeeRows updated, int row) {
+        int salary = updated.salaryOfRow(row);
+        for(int i = lowerBound(salary); i < rowsBySalary.length && salaryAt(i) == salary; i++){
+            if(rowsBySalary[i] == row){
+                int[] sorted = new int[rowsBySalary.length - 1];
+                System.arraycopy(rowsBySalary, 0, sorted, 0, i);
+                System.arraycopy(rowsBySalary, i + 1, sorted, i, rowsBySalary.length - i - 1);
+                return new SalaryIndex(updated, sorted);
+            }
+        }
+        return new SalaryIndex(updated, rowsBySalary);
+    }
+
+    /**
+     * @return highest salary, 0 when there are no employees
+     */
+    public int getHighestSalary() {
+        return rowsBySalary.length == 0 ? 0 : salaryAt(0);
+    }
+
+    /**
+     * @return employees ordered by salary, highest first, as a read only view
+     */
+    public List<EmployeeResponse> getEmployeesBySalary() {
+        return employeesBySalary;
+    }
+
+    /**
+     * @param size number of names
+     * @return names of the top earners, highest first, as a read only view
+     */
+    public List<String> getTopEarningEmployeeNames(int size) {
+        return namesBySalary.subList(0, Math.max(0, Math.min(size, namesBySalary.size())));
+    }
+
+    /**
+     * Nearest rank percentile of salaries
+     *
+     * @param percentile between 0 and 100
+     * @return salary at the percentile, 0 when there are no employees
+     */
+    public int getSalaryPercentile(double percentile) {
+        if(percentile < 0 || percentile > 100){
+            throw new IllegalArgumentException("Percentile should be between 0 and 100");
+        }
+        if(rowsBySalary.length == 0){
+            return 0;
+        }
+        int rank = Math.max(1, (int) Math.ceil(percentile / 100 * rowsBySalary.length));
+        return salaryAt(rowsBySalary.length - rank);
+    }
+
+    public int size() {
+        return rowsBySalary.length;
+    }
+
+    /**
+     * @return first position holding a salary lower than or equal to the given salary
+     */
+    private int lowerBound(int salary) {
+        int low = 0;
+        int high = rowsBySalary.length;
+        while(low < high){
+            int mid = (low + high) >>> 1;
+            if(salaryAt(mid) > salary){
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return first position holding a salary lower than the given salary
+     */
+    private int upperBound(int salary) {
+        int low = 0;
+        int high = rowsBySalary.length;
+        while(low < high){
+            int mid = (low + high) >>> 1;
+            if(salaryAt(mid) >= salary){
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int salaryAt(int position) {
+        return rows.salaryOfRow(rowsBySalary[position]);
+    }
+
+    private final class EmployeesBySalary extends AbstractList<EmployeeResponse> implements RandomAccess {
+
+        @Override
+        public EmployeeResponse get(int index) {
+            return rows.employeeOfRow(rowsBySalary[index]);
+        }
+
+        @Override
+        public int size() {
+            return rowsBySalary.length;
+        }
+    }
+
+    private final class NamesBySalary extends AbstractList<String> implements RandomAccess {
+
+        @Override
+        public String get(int index) {
+            return rows.nameOfRow(rowsBySalary[index]);
+        }
+
+        @Override
+        public int size() {
+            return rowsBySalary.length;
+        }
+    }
+}
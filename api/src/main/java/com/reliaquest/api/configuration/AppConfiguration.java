@@ -1,36 +1,178 @@
 package com.reliaquest.api.configuration;
 
+import com.reliaquest.api.cache.CachedRoster;
+import com.reliaquest.api.cache.CachedRosterSerializer;
+import com.reliaquest.api.external.ratelimit.AdaptiveRateLimiter;
+import com.reliaquest.api.external.ratelimit.RateLimitInterceptor;
+import com.reliaquest.api.external.resilience.CircuitBreaker;
+import com.reliaquest.api.external.resilience.RetryPolicy;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.ehcache.CacheManager;
 import org.ehcache.config.builders.CacheConfigurationBuilder;
 import org.ehcache.config.builders.CacheManagerBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
 import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.config.units.MemoryUnit;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.List;
+import java.io.File;
+import java.time.Clock;
+import java.time.Duration;
 
 @Configuration
 public class AppConfiguration {
 
+    /**
+     * Connection pool to the mock service, connections are kept alive and reused across requests.
+     */
     @Bean
-    public RestTemplate restTemplate(){
-        return new RestTemplate();
+    public PoolingHttpClientConnectionManager externalConnectionManager(
+            @Value("${mock.external.http.max-connections:50}") int maxConnections,
+            @Value("${mock.external.http.max-connections-per-route:20}") int maxConnectionsPerRoute,
+            @Value("${mock.external.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${mock.external.http.socket-timeout:10s}") Duration socketTimeout,
+            @Value("${mock.external.http.connection-time-to-live:5m}") Duration connectionTimeToLive) {
+
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(socketTimeout))
+                        .setTimeToLive(TimeValue.of(connectionTimeToLive))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(5))
+                        .build())
+                .build();
     }
 
+    /**
+     * HTTP client to the mock service. Responses are transparently decompressed, gzip is requested by default.
+     */
     @Bean
-    public CacheManager ehCacheManager() {
+    public CloseableHttpClient externalHttpClient(
+            PoolingHttpClientConnectionManager externalConnectionManager,
+            @Value("${mock.external.http.connection-request-timeout:1s}") Duration connectionRequestTimeout,
+            @Value("${mock.external.http.response-timeout:10s}") Duration responseTimeout,
+            @Value("${mock.external.http.keep-alive:30s}") Duration keepAlive) {
+
+        return HttpClients.custom()
+                .setConnectionManager(externalConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                        .setResponseTimeout(Timeout.of(responseTimeout))
+                        .setConnectionKeepAlive(TimeValue.of(keepAlive))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(keepAlive))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(CloseableHttpClient externalHttpClient, AdaptiveRateLimiter externalRateLimiter){
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(externalHttpClient));
+        restTemplate.getInterceptors().add(new RateLimitInterceptor(externalRateLimiter));
+        return restTemplate;
+    }
+
+    /**
+     * Outbound rate limit shared by every client of the mock service, starts from the lowest limit the mock service may use.
+     */
+    @Bean
+    public AdaptiveRateLimiter externalRateLimiter(
+            @Value("${mock.external.rate-limit.initial-limit:5}") int initialLimit,
+            @Value("${mock.external.rate-limit.max-limit:10}") int maxLimit,
+            @Value("${mock.external.rate-limit.initial-backoff:30s}") Duration initialBackoff,
+            @Value("${mock.external.rate-limit.max-backoff:120s}") Duration maxBackoff,
+            @Value("${mock.external.rate-limit.max-wait:0s}") Duration maxWait,
+            @Value("${mock.external.rate-limit.background-max-wait:2s}") Duration backgroundMaxWait,
+            @Value("${mock.external.rate-limit.reserved-permits:1}") int reservedPermits) {
+
+        return new AdaptiveRateLimiter(initialLimit, maxLimit, initialBackoff, maxBackoff, maxWait, backgroundMaxWait, reservedPermits,
+                Clock.systemUTC());
+    }
+
+    /**
+     * Retries for reads from the mock service. Writes are not retried, as create and delete by name are not idempotent.
+     */
+    @Bean
+    public RetryPolicy externalReadRetryPolicy(
+            @Value("${mock.external.retry.max-attempts:3}") int maxAttempts,
+            @Value("${mock.external.retry.initial-backoff:100ms}") Duration initialBackoff,
+            @Value("${mock.external.retry.max-backoff:2s}") Duration maxBackoff) {
+
+        return new RetryPolicy(maxAttempts, initialBackoff, maxBackoff);
+    }
+
+    @Bean
+    public CircuitBreaker externalCircuitBreaker(
+            @Value("${mock.external.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${mock.external.circuit-breaker.open-duration:30s}") Duration openDuration) {
+
+        return new CircuitBreaker("mock-external", failureThreshold, openDuration, Clock.systemUTC());
+    }
+
+    /**
+     * Exposes leased, pending and available connections of the mock service connection pool
+     */
+    @Bean
+    public MeterBinder externalConnectionPoolMetrics(PoolingHttpClientConnectionManager externalConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(externalConnectionManager, "mock-external");
+    }
+
+    /**
+     * Roster entries expire once they are max-stale past the hard TTL, freshness within the TTL is tracked by EHCacheManager.
+     * Past the TTL the roster is only served as a snapshot while the mock service is unavailable.
+     * employees_cache keeps the roster on heap only, so creates, deletes and renewals never serialize it.
+     * Given a size of at least 1 MB, off-heap and disk tiers are added in employees_persisted, which EHCacheManager
+     * writes the roster to in the background, serialized by CachedRosterSerializer. The disk tier outlives the process,
+     * as long as the cache manager is closed on shutdown.
+     */
+    @Bean
+    public CacheManager ehCacheManager(@Value("${cache.employees.ttl:10m}") Duration ttl,
+                                       @Value("${cache.employees.max-stale:1h}") Duration maxStale,
+                                       @Value("${cache.employees.off-heap:0MB}") DataSize offHeap,
+                                       @Value("${cache.employees.disk:0MB}") DataSize disk,
+                                       @Value("${cache.employees.disk-path:data/employees-cache}") String diskPath) {
+
+        CacheManagerBuilder<? extends CacheManager> cacheManager = CacheManagerBuilder.newCacheManagerBuilder();
+        if(disk.toMegabytes() > 0){
+            cacheManager = CacheManagerBuilder.newCacheManagerBuilder()
+                    .with(CacheManagerBuilder.persistence(new File(diskPath)));
+        }
+
+        cacheManager = cacheManager.withCache("employees_cache", CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(String.class, CachedRoster.class, ResourcePoolsBuilder.heap(10))
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(ttl.plus(maxStale))));
 
-        return CacheManagerBuilder.newCacheManagerBuilder()
-                .withCache(
-                        "employees_cache",
-                        CacheConfigurationBuilder.newCacheConfigurationBuilder(
-                                String.class,
-                                (Class<List<?>>) (Class<?>) List.class,
-                                ResourcePoolsBuilder.heap(10)
-                        )
-                )
-                .build(true);
+        if(offHeap.toMegabytes() > 0 || disk.toMegabytes() > 0){
+            // the heap tier is required below other tiers, a single entry is enough for the roster
+            ResourcePoolsBuilder resourcePools = ResourcePoolsBuilder.heap(1);
+            if(offHeap.toMegabytes() > 0){
+                resourcePools = resourcePools.offheap(offHeap.toMegabytes(), MemoryUnit.MB);
+            }
+            if(disk.toMegabytes() > 0){
+                resourcePools = resourcePools.disk(disk.toMegabytes(), MemoryUnit.MB, true);
+            }
+            cacheManager = cacheManager.withCache("employees_persisted", CacheConfigurationBuilder
+                    .newCacheConfigurationBuilder(String.class, CachedRoster.class, resourcePools)
+                    .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(ttl.plus(maxStale)))
+                    .withValueSerializer(CachedRosterSerializer.class));
+        }
+        return cacheManager.build(true);
     }
 
 }
@@ -0,0 +1,28 @@
+package com.reliaquest.api.configuration;
+
+import com.reliaquest.api.external.IExternalService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Keeps the cached roster current from the mock service change feed, enabled with mock.external.delta-sync.enabled=true
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "mock.external.delta-sync.enabled", havingValue = "true")
+public class DeltaSyncConfiguration {
+
+    private final IExternalService externalService;
+
+    public DeltaSyncConfiguration(IExternalService externalService) {
+        this.externalService = externalService;
+    }
+
+    @Scheduled(initialDelayString = "${mock.external.delta-sync.interval:PT15S}",
+            fixedDelayString = "${mock.external.delta-sync.interval:PT15S}")
+    public void syncEmployees() {
+        externalService.syncEmployees();
+    }
+}
@@ -0,0 +1,97 @@
+package com.reliaquest.api.configuration;
+
+import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.external.ratelimit.AdaptiveRateLimiter;
+import com.reliaquest.api.external.ratelimit.RateLimitInterceptor;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Non-blocking client to the mock service, enabled with mock.external.client=reactive
+ */
+@Configuration
+@ConditionalOnProperty(name = "mock.external.client", havingValue = "reactive")
+public class ReactiveClientConfiguration {
+
+    /**
+     * Requests beyond max-connections wait in the pending queue instead of holding a thread.
+     */
+    @Bean
+    public ConnectionProvider externalConnectionProvider(
+            @Value("${mock.external.http.max-connections:50}") int maxConnections,
+            @Value("${mock.external.reactive.pending-acquire-max-count:10000}") int pendingAcquireMaxCount,
+            @Value("${mock.external.http.connection-request-timeout:1s}") Duration pendingAcquireTimeout,
+            @Value("${mock.external.http.keep-alive:30s}") Duration maxIdleTime) {
+
+        return ConnectionProvider.builder("mock-external")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient externalWebClient(
+            WebClient.Builder webClientBuilder,
+            ConnectionProvider externalConnectionProvider,
+            AdaptiveRateLimiter externalRateLimiter,
+            @Value("${mock.external.url}") String externalServiceBasePath,
+            @Value("${mock.external.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${mock.external.http.response-timeout:10s}") Duration responseTimeout) {
+
+        HttpClient httpClient = HttpClient.create(externalConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout)
+                .compress(true);
+
+        return webClientBuilder
+                .baseUrl(externalServiceBasePath)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(rateLimit(externalRateLimiter))
+                .build();
+    }
+
+    /**
+     * Same outbound rate limit as the RestTemplate, calls wait up to the max wait for the next window on a timer instead of a thread.
+     */
+    private ExchangeFilterFunction rateLimit(AdaptiveRateLimiter rateLimiter) {
+        return (request, next) -> acquire(rateLimiter, rateLimiter.getMaxWait())
+                .then(Mono.defer(() -> next.exchange(request)))
+                .doOnNext(response -> {
+                    if(response.statusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()){
+                        rateLimiter.onTooManyRequests(RateLimitInterceptor.retryAfter(response.headers().asHttpHeaders()));
+                    } else {
+                        rateLimiter.onSuccess();
+                    }
+                });
+    }
+
+    private Mono<Void> acquire(AdaptiveRateLimiter rateLimiter, Duration remainingWait) {
+        return Mono.defer(() -> {
+            if(rateLimiter.tryAcquire()){
+                return Mono.empty();
+            }
+            Duration wait = rateLimiter.timeUntilPermit();
+            if(wait.compareTo(remainingWait) > 0){
+                rateLimiter.onShed();
+                return Mono.error(new TooManyRequestsException("Too Many Requests. Please try again"));
+            }
+            Duration delay = wait.isZero() ? Duration.ofMillis(1) : wait;
+            return Mono.delay(delay).then(acquire(rateLimiter, remainingWait.minus(delay)));
+        });
+    }
+}
@@ -1,8 +1,19 @@
 package com.reliaquest.api.controller.impl;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.reliaquest.api.controller.IEmployeeController;
+import com.reliaquest.api.dto.request.EmployeeBatchDeleteRequest;
+import com.reliaquest.api.dto.request.EmployeeBatchRequest;
+import com.reliaquest.api.dto.request.EmployeePageRequest;
 import com.reliaquest.api.dto.request.EmployeeRequest;
+import com.reliaquest.api.dto.response.BatchResponse;
+import com.reliaquest.api.dto.response.EmployeeField;
 import com.reliaquest.api.dto.response.EmployeeResponse;
+import com.reliaquest.api.dto.response.PageResponse;
 import com.reliaquest.api.service.IEmployeeService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,8 +21,11 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping(value = "/reliaquest/api/v1/employee", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -19,19 +33,57 @@ public class EmployeeController implements IEmployeeController<EmployeeResponse,
 
     IEmployeeService employeeService;
 
+    ObjectMapper objectMapper;
+
     @Autowired
-    public EmployeeController(IEmployeeService employeeService){
+    public EmployeeController(IEmployeeService employeeService, ObjectMapper objectMapper){
         this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
     }
 
     /**
-     * This method returns all the employees, available from the downstream server
+     * This method returns all the employees, available from the downstream server.
+     * The roster version is sent as ETag, a request whose If-None-Match still matches it gets 304 without a body.
      * @return List<EmployeeResponse>
      */
     @Override
     @GetMapping
     public ResponseEntity<List<EmployeeResponse>> getAllEmployees() {
-        return ResponseEntity.status(HttpStatus.OK).body(employeeService.getAllEmployees());
+        String version = employeeService.getEmployeesVersion();
+        List<EmployeeResponse> employees = employeeService.getAllEmployees();
+
+        // no ETag unless the roster stayed the same while it was read, the ETag must never be newer than the body
+        if(version == null || !version.equals(employeeService.getEmployeesVersion())){
+            return ResponseEntity.status(HttpStatus.OK).body(employees);
+        }
+        // Spring answers 304 itself when the ETag matches If-None-Match
+        return ResponseEntity.status(HttpStatus.OK).eTag(version).body(employees);
+    }
+
+    /**
+     * This method streams all the employees as newline delimited JSON, one employee per line.
+     * Employees are written straight from the cached roster, so no response body is built in memory.
+     *
+     * @return StreamingResponseBody
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllEmployees() {
+        List<EmployeeResponse> employees = employeeService.getAllEmployees();
+        // the generator buffers and writes to the response as its buffer fills, flushed once when closed
+        ObjectWriter writer = objectMapper.writerFor(EmployeeResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(new SerializedString("\n"));
+                for(EmployeeResponse employee : employees){
+                    writer.writeValue(generator, employee);
+                }
+                generator.writeRaw('\n');
+            }
+        };
+        return ResponseEntity.status(HttpStatus.OK).contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     /**
@@ -47,6 +99,31 @@ public class EmployeeController implements IEmployeeController<EmployeeResponse,
     }
 
 
+    /**
+     * This method returns a single page of employees, sorted and projected as requested.
+     * Selected by the page query parameter, e.g. ?page=0&size=20&sort=employeeSalary,desc&fields=id,employeeName
+     *
+     * @param pageRequest
+     * @return PageResponse
+     */
+    @GetMapping(params = "page")
+    public ResponseEntity<PageResponse<?>> getEmployeesPage(@Valid EmployeePageRequest pageRequest) {
+        return ResponseEntity.status(HttpStatus.OK).body(project(employeeService.getEmployeesPage(null, pageRequest), pageRequest.getFields()));
+    }
+
+    /**
+     * This method returns a single page of employees whose name contains the searchString, sorted and projected as requested.
+     * Selected by the page query parameter.
+     *
+     * @param searchString
+     * @param pageRequest
+     * @return PageResponse
+     */
+    @GetMapping(value = "/search/{searchString}", params = "page")
+    public ResponseEntity<PageResponse<?>> getEmployeesPageByNameSearch(@PathVariable String searchString, @Valid EmployeePageRequest pageRequest) {
+        return ResponseEntity.status(HttpStatus.OK).body(project(employeeService.getEmployeesPage(searchString, pageRequest), pageRequest.getFields()));
+    }
+
     /**
      * This method returns the employee by employee id
      *
@@ -92,6 +169,30 @@ public class EmployeeController implements IEmployeeController<EmployeeResponse,
         return ResponseEntity.status(HttpStatus.CREATED).body(employeeService.createEmployee(employeeInput));
     }
 
+    /**
+     * This method creates many users by calling downstream mock server concurrently.
+     * Every employee gets its own result, a failed employee does not fail the rest of the batch.
+     *
+     * @param batchRequest
+     * @return BatchResponse<EmployeeResponse>
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResponse<EmployeeResponse>> createEmployees(@RequestBody @Valid EmployeeBatchRequest batchRequest) {
+        return ResponseEntity.status(HttpStatus.OK).body(employeeService.createEmployees(batchRequest.getEmployees()));
+    }
+
+    /**
+     * This method deletes many users from downstream service by employee id.
+     * Every id gets its own result holding the deleted name, a failed id does not fail the rest of the batch.
+     *
+     * @param batchRequest
+     * @return BatchResponse<String>
+     */
+    @DeleteMapping("/batch")
+    public ResponseEntity<BatchResponse<String>> deleteEmployees(@RequestBody @Valid EmployeeBatchDeleteRequest batchRequest) {
+        return ResponseEntity.status(HttpStatus.OK).body(employeeService.deleteEmployees(batchRequest.getIds()));
+    }
+
     /**
      * This method deletes the user from downstream service by employee id.
      *
@@ -103,4 +204,33 @@ public class EmployeeController implements IEmployeeController<EmployeeResponse,
     public ResponseEntity<String> deleteEmployeeById(@PathVariable String id) {
         return ResponseEntity.status(HttpStatus.OK).body(employeeService.deleteEmployee(id));
     }
+
+    /**
+     * Helper method to keep only the requested fields of each employee in the page
+     * @param page
+     * @param fields
+     * @return
+     */
+    private PageResponse<?> project(PageResponse<EmployeeResponse> page, List<String> fields) {
+        if(fields == null || fields.isEmpty()){
+            return page;
+        }
+
+        List<EmployeeField> employeeFields = fields.stream().map(String::trim).map(EmployeeField::fromFieldName).toList();
+        List<Map<String, Object>> content = page.getContent().stream().map(employee -> {
+            Map<String, Object> projected = new LinkedHashMap<>();
+            for(EmployeeField field : employeeFields){
+                projected.put(field.getFieldName(), field.getValue(employee));
+            }
+            return projected;
+        }).toList();
+
+        return PageResponse.<Map<String, Object>>builder()
+                .content(content)
+                .page(page.getPage())
+                .size(page.getSize())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .build();
+    }
 }
@@ -0,0 +1,104 @@
+package com.reliaquest.api.controller.impl;
+
+import com.reliaquest.api.dto.request.EmployeeRequest;
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import com.reliaquest.api.service.IReactiveEmployeeService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Same endpoints as EmployeeController, served without holding a request thread while the external service responds.
+ * Enabled with mock.external.client=reactive.
+ */
+@RestController
+@RequestMapping(value = "/reliaquest/api/v1/reactive/employee", produces = MediaType.APPLICATION_JSON_VALUE)
+@ConditionalOnProperty(name = "mock.external.client", havingValue = "reactive")
+public class ReactiveEmployeeController {
+
+    IReactiveEmployeeService employeeService;
+
+    @Autowired
+    public ReactiveEmployeeController(IReactiveEmployeeService employeeService){
+        this.employeeService = employeeService;
+    }
+
+    /**
+     * This method returns all the employees, available from the downstream server
+     * @return List<EmployeeResponse>
+     */
+    @GetMapping
+    public Mono<ResponseEntity<List<EmployeeResponse>>> getAllEmployees() {
+        return employeeService.getAllEmployees().map(ResponseEntity::ok);
+    }
+
+    /**
+     * This method returns all the employees, whose name contains the searchString
+     *
+     * @param searchString
+     * @return List<EmployeeResponse>
+     */
+    @GetMapping("/search/{searchString}")
+    public Mono<ResponseEntity<List<EmployeeResponse>>> getEmployeesByNameSearch(@PathVariable String searchString) {
+        return employeeService.getEmployeesByName(searchString).map(ResponseEntity::ok);
+    }
+
+    /**
+     * This method returns the employee by employee id
+     *
+     * @param id
+     * @return EmployeeResponse
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<EmployeeResponse>> getEmployeeById(@PathVariable String id) {
+        return employeeService.getEmployeeById(id).map(ResponseEntity::ok);
+    }
+
+    /**
+     * This method returns the highest salary from all employees
+     *
+     * @return Integer
+     */
+    @GetMapping("/highestSalary")
+    public Mono<ResponseEntity<Integer>> getHighestSalaryOfEmployees() {
+        return employeeService.getHighestSalary().map(ResponseEntity::ok);
+    }
+
+    /**
+     * This method returns the list of top 10 highest earning names of employees
+     * @return List<String>
+     */
+    @GetMapping("/topTenHighestEarningEmployeeNames")
+    public Mono<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
+        return employeeService.getTopHighestEarningEmployeesNames(10).map(ResponseEntity::ok);
+    }
+
+    /**
+     * This method creates a new user by calling downstream mock server.
+     *
+     * @param employeeInput
+     * @return EmployeeResponse
+     */
+    @PostMapping
+    public Mono<ResponseEntity<EmployeeResponse>> createEmployee(@RequestBody @Valid EmployeeRequest employeeInput) {
+        return employeeService.createEmployee(employeeInput).map(employee -> ResponseEntity.status(HttpStatus.CREATED).body(employee));
+    }
+
+    /**
+     * This method deletes the user from downstream service by employee id.
+     *
+     * @param id
+     * @return
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> deleteEmployeeById(@PathVariable String id) {
+        return employeeService.deleteEmployee(id).map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,20 @@
+package com.reliaquest.api.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeBatchDeleteRequest {
+
+    @NotEmpty(message = "Please enter at least one employee id")
+    @Size(max = 1000, message = "Maximum 1000 employee ids per batch")
+    private List<@NotBlank(message = "Please enter valid employee id") String> ids;
+}
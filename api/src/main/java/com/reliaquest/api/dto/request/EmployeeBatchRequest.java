@@ -0,0 +1,21 @@
+package com.reliaquest.api.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeBatchRequest {
+
+    @NotEmpty(message = "Please enter at least one employee")
+    @Size(max = 1000, message = "Maximum 1000 employees per batch")
+    @Valid
+    private List<EmployeeRequest> employees;
+}
@@ -0,0 +1,38 @@
+package com.reliaquest.api.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Query parameters of the paged employee endpoints, e.g. {@code ?page=0&size=20&sort=employeeSalary,desc&fields=id,employeeName}
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeePageRequest {
+
+    @NotNull(message = "Please enter valid page")
+    @Min(value = 0, message = "Page should be greater than or equal to 0")
+    private Integer page;
+
+    @NotNull(message = "Please enter valid size")
+    @Min(value = 1, message = "Size should be greater than 0")
+    @Max(value = 1000, message = "Maximum value of the size should be 1000")
+    private Integer size = 20;
+
+    /**
+     * Field to sort by, optionally followed by ",asc" or ",desc". Roster order when empty.
+     */
+    private String sort;
+
+    /**
+     * Fields to include for each employee. All fields when empty.
+     */
+    private List<String> fields;
+}
@@ -0,0 +1,23 @@
+package com.reliaquest.api.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Outcome of a single item of a batch request, in the same position as the item in the request.
+ */
+@Data
+@Builder
+public class BatchItemResult<T> {
+
+    private int index;
+
+    /**
+     * HTTP status the item would have had as a single request
+     */
+    private int status;
+
+    private T data;
+
+    private String errorMessage;
+}
@@ -0,0 +1,17 @@
+package com.reliaquest.api.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BatchResponse<T> {
+
+    private int succeeded;
+
+    private int failed;
+
+    private List<BatchItemResult<T>> results;
+}
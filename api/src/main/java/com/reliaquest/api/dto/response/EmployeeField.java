@@ -0,0 +1,55 @@
+package com.reliaquest.api.dto.response;
+
+import com.reliaquest.api.exception.InvalidPageRequestException;
+
+import java.util.Comparator;
+
+/**
+ * Fields of EmployeeResponse that can be used for sorting and projection
+ */
+public enum EmployeeField {
+
+    ID("id", Comparator.comparing(EmployeeResponse::getId, Comparator.nullsLast(Comparator.naturalOrder()))),
+    EMPLOYEE_NAME("employeeName", Comparator.comparing(EmployeeResponse::getEmployeeName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))),
+    EMPLOYEE_SALARY("employeeSalary", Comparator.comparing(EmployeeResponse::getEmployeeSalary, Comparator.nullsLast(Comparator.naturalOrder()))),
+    EMPLOYEE_AGE("employeeAge", Comparator.comparing(EmployeeResponse::getEmployeeAge, Comparator.nullsLast(Comparator.naturalOrder()))),
+    EMPLOYEE_TITLE("employeeTitle", Comparator.comparing(EmployeeResponse::getEmployeeTitle, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))),
+    EMPLOYEE_EMAIL("employeeEmail", Comparator.comparing(EmployeeResponse::getEmployeeEmail, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+
+    private final String fieldName;
+
+    private final Comparator<EmployeeResponse> comparator;
+
+    EmployeeField(String fieldName, Comparator<EmployeeResponse> comparator) {
+        this.fieldName = fieldName;
+        this.comparator = comparator;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    public Comparator<EmployeeResponse> getComparator() {
+        return comparator;
+    }
+
+    public Object getValue(EmployeeResponse employee) {
+        return switch (this) {
+            case ID -> employee.getId();
+            case EMPLOYEE_NAME -> employee.getEmployeeName();
+            case EMPLOYEE_SALARY -> employee.getEmployeeSalary();
+            case EMPLOYEE_AGE -> employee.getEmployeeAge();
+            case EMPLOYEE_TITLE -> employee.getEmployeeTitle();
+            case EMPLOYEE_EMAIL -> employee.getEmployeeEmail();
+        };
+    }
+
+    public static EmployeeField fromFieldName(String fieldName) {
+        for(EmployeeField field : values()){
+            if(field.fieldName.equals(fieldName)){
+                return field;
+            }
+        }
+        throw new InvalidPageRequestException("Unknown employee field : " + fieldName);
+    }
+}
@@ -0,0 +1,11 @@
+package com.reliaquest.api.exception;
+
+/**
+ * Unknown sort or projection field, or sort direction, on a paged employee request
+ */
+public class InvalidPageRequestException extends RuntimeException{
+
+    public InvalidPageRequestException(String message){
+        super(message);
+    }
+}
@@ -1,6 +1,7 @@
 package com.reliaquest.api.exception.handler;
 
 import com.reliaquest.api.dto.response.ErrorResponseDTO;
+import com.reliaquest.api.exception.InvalidPageRequestException;
 import com.reliaquest.api.exception.TooManyRequestsException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
@@ -43,6 +44,18 @@ public class GlobalExceptionHandler {
                 .build());
     }
 
+    @ExceptionHandler(InvalidPageRequestException.class)
+    public ResponseEntity<ErrorResponseDTO> handleInvalidPageRequestException(InvalidPageRequestException exception, HttpServletRequest request){
+
+        log.error("Invalid page request error | path={} | message={}", request.getRequestURI(), exception.getMessage());
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ErrorResponseDTO.builder()
+                .errorMessage(exception.getMessage())
+                .path(request.getRequestURI())
+                .timestamp(LocalDateTime.now())
+                .build());
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponseDTO> handleValidationExceptions(MethodArgumentNotValidException exception, HttpServletRequest request){
 
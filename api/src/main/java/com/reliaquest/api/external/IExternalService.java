@@ -1,7 +1,10 @@
 package com.reliaquest.api.external;
 
 import com.reliaquest.api.dto.request.EmployeeRequest;
+import com.reliaquest.api.dto.response.BatchItemResult;
 import com.reliaquest.api.dto.response.EmployeeResponse;
+import com.reliaquest.api.dto.response.PageResponse;
+import com.reliaquest.api.external.dto.ExternalEmployeeQuery;
 
 import java.util.List;
 
@@ -9,9 +12,29 @@ public interface IExternalService {
 
     public List<EmployeeResponse> getAllEmployees();
 
+    /**
+     * Brings the cached roster up to date with the creates and deletes made on the external service since it was loaded.
+     */
+    void syncEmployees();
+
+    /**
+     * Runs the query on the external service instead of loading the whole roster. The cache is neither read nor updated.
+     */
+    PageResponse<EmployeeResponse> findEmployees(ExternalEmployeeQuery query);
+
     EmployeeResponse getEmployeeById(String id);
 
     EmployeeResponse createEmployee(EmployeeRequest employeeInput);
 
+    /**
+     * Creates every employee, one result per input. The cache is updated once for the whole batch.
+     */
+    List<BatchItemResult<EmployeeResponse>> createEmployees(List<EmployeeRequest> employeeInputs);
+
     void deleteEmployee(String name);
+
+    /**
+     * Deletes every employee by name, one result per name. The cache is updated once for the whole batch.
+     */
+    List<BatchItemResult<String>> deleteEmployees(List<String> names);
 }
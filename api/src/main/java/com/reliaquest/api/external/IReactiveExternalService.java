@@ -0,0 +1,21 @@
+package com.reliaquest.api.external;
+
+import com.reliaquest.api.dto.request.EmployeeRequest;
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of IExternalService, no thread is held while waiting on the external service.
+ */
+public interface IReactiveExternalService {
+
+    Mono<List<EmployeeResponse>> getAllEmployees();
+
+    Mono<EmployeeResponse> getEmployeeById(String id);
+
+    Mono<EmployeeResponse> createEmployee(EmployeeRequest employeeInput);
+
+    Mono<Void> deleteEmployee(String name);
+}
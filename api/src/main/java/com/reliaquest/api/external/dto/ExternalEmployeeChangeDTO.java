@@ -0,0 +1,20 @@
+package com.reliaquest.api.external.dto;
+
+import lombok.Data;
+
+/**
+ * Single entry of the mock service change feed
+ */
+@Data
+public class ExternalEmployeeChangeDTO {
+
+    public static final String CREATED = "CREATED";
+
+    public static final String DELETED = "DELETED";
+
+    private long version;
+
+    private String type;
+
+    private ExternalEmployeeResponseDTO employee;
+}
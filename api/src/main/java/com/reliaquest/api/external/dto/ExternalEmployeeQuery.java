@@ -0,0 +1,27 @@
+package com.reliaquest.api.external.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Filters pushed down to the mock service GET, null fields are not sent.
+ */
+@Data
+@Builder
+public class ExternalEmployeeQuery {
+
+    private Integer page;
+
+    private Integer size;
+
+    private String nameContains;
+
+    private Integer minSalary;
+
+    private Integer maxSalary;
+
+    /**
+     * Highest earners only, highest first. Page and size are ignored.
+     */
+    private Integer top;
+}
@@ -1,88 +1,453 @@
 package com.reliaquest.api.external.impl;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.api.cache.ICacheManager;
+import com.reliaquest.api.cache.RosterChange;
 import com.reliaquest.api.dto.request.EmployeeRequest;
+import com.reliaquest.api.dto.response.BatchItemResult;
 import com.reliaquest.api.dto.response.EmployeeResponse;
+import com.reliaquest.api.dto.response.PageResponse;
 import com.reliaquest.api.exception.BadRequestException;
 import com.reliaquest.api.exception.NoDataFoundException;
 import com.reliaquest.api.exception.TooManyRequestsException;
 import com.reliaquest.api.external.IExternalService;
 import com.reliaquest.api.external.dto.ExternalDeleteEmployeeDTO;
+import com.reliaquest.api.external.dto.ExternalEmployeeChangeDTO;
+import com.reliaquest.api.external.dto.ExternalEmployeeQuery;
 import com.reliaquest.api.external.dto.ExternalEmployeeResponseDTO;
 import com.reliaquest.api.external.dto.ExternalResponseDTO;
+import com.reliaquest.api.external.ratelimit.AdaptiveRateLimiter;
+import com.reliaquest.api.external.resilience.CircuitBreaker;
+import com.reliaquest.api.external.resilience.CircuitBreakerOpenException;
+import com.reliaquest.api.external.resilience.RetryPolicy;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RequestCallback;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
 
 @Service
 @Slf4j
-public class MockExternalServiceImpl implements IExternalService {
+public class MockExternalServiceImpl implements IExternalService, MeterBinder {
+
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    private static final String CHANGES_PATH = "/changes";
 
     private final RestTemplate restTemplate;
 
     private final ICacheManager cacheManager;
 
+    private final TaskExecutor taskExecutor;
+
+    private final ObjectMapper objectMapper;
+
+    private final AdaptiveRateLimiter rateLimiter;
+
+    private final RetryPolicy readRetryPolicy;
+
+    private final CircuitBreaker circuitBreaker;
+
     @Value("${mock.external.url}")
     private String externalServiceBasePath;
 
-    public MockExternalServiceImpl(RestTemplate restTemplate, ICacheManager cacheManager){
+    /**
+     * Max calls in flight to the mock service for a single batch request
+     */
+    @Value("${mock.external.batch.parallelism:4}")
+    private int batchParallelism = 4;
+
+    /**
+     * Roster load currently in flight, shared by every caller that misses the cache while it runs.
+     */
+    private final AtomicReference<CompletableFuture<List<EmployeeResponse>>> inFlightLoad = new AtomicReference<>();
+
+    private final AtomicLong coalescedLoads = new AtomicLong();
+
+    public MockExternalServiceImpl(RestTemplate restTemplate, ICacheManager cacheManager,
+                                   @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor, ObjectMapper objectMapper,
+                                   AdaptiveRateLimiter rateLimiter, RetryPolicy readRetryPolicy, CircuitBreaker circuitBreaker){
         this.restTemplate = restTemplate;
         this.cacheManager = cacheManager;
+        this.taskExecutor = taskExecutor;
+        this.objectMapper = objectMapper;
+        this.rateLimiter = rateLimiter;
+        this.readRetryPolicy = readRetryPolicy;
+        this.circuitBreaker = circuitBreaker;
     }
 
     /**
      * This method returns all the employees by calling mock service.
      * If the data is found in cache, then no API call will be made.
+     * Stale data is still returned from cache while it is refreshed in the background, if the rate limit budget allows.
+     * Concurrent cache misses are coalesced, only the first caller calls the mock service and the rest wait for its result.
+     * While the circuit breaker is open, the last cached roster is returned even past its TTL.
      *
      * @return List<EmployeeResponse>
      */
     @Override
     public List<EmployeeResponse> getAllEmployees(){
-        if(cacheManager.getEmployees() != null && !cacheManager.getEmployees().isEmpty()){
+        List<EmployeeResponse> cachedEmployees = cacheManager.getEmployees();
+        if(cachedEmployees != null && !cachedEmployees.isEmpty()){
             log.info("Cache hit: returning employees from cache");
-            return cacheManager.getEmployees();
+            if(cacheManager.isStale()){
+                refreshInBackground();
+            }
+            return cachedEmployees;
+        }
+
+        if(circuitBreaker.isOpen()){
+            List<EmployeeResponse> snapshot = cacheManager.getEmployeesSnapshot();
+            if(snapshot != null && !snapshot.isEmpty()){
+                log.warn("External service unavailable: returning last cached employees");
+                return snapshot;
+            }
         }
 
-        List<EmployeeResponse> employeeResponseList = new ArrayList<>();
+        CompletableFuture<List<EmployeeResponse>> load = new CompletableFuture<>();
+        CompletableFuture<List<EmployeeResponse>> existingLoad = inFlightLoad.compareAndExchange(null, load);
+        if(existingLoad != null){
+            coalescedLoads.incrementAndGet();
+            log.info("Cache miss: waiting for in-flight fetch of employees from external service");
+            return awaitLoad(existingLoad);
+        }
+
+        // a previous load may have filled the cache between the cache check and claiming the load
+        return loadAllEmployees(load, true);
+    }
+
+    /**
+     * Starts a background reload of the stale roster, unless a load is already in flight.
+     * The reload is skipped while the rate limit budget is short or the circuit breaker is open, the stale roster is served instead.
+     * If the reload fails, the stale roster keeps being served until it reaches the hard TTL.
+     */
+    private void refreshInBackground(){
+        if(!rateLimiter.hasSpareCapacity() || circuitBreaker.isOpen()){
+            log.info("Stale cache: external service budget is short, skipping background refresh of employees");
+            return;
+        }
+
+        CompletableFuture<List<EmployeeResponse>> load = new CompletableFuture<>();
+        if(!inFlightLoad.compareAndSet(null, load)){
+            return;
+        }
+
+        log.info("Stale cache: refreshing employees from external service in background");
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    rateLimiter.waitingForPermit(() -> loadAllEmployees(load, false));
+                } catch (RuntimeException ex){
+                    log.warn("Background refresh of employees failed, serving stale cache | message={}", ex.getMessage());
+                }
+            });
+        } catch (RuntimeException ex){
+            log.warn("Background refresh of employees could not be scheduled | message={}", ex.getMessage());
+            load.completeExceptionally(ex);
+            inFlightLoad.compareAndSet(load, null);
+        }
+    }
+
+    /**
+     * Fetches the roster into cache on behalf of everyone waiting on the given in-flight load
+     *
+     * @param load in-flight load claimed by the caller
+     * @param reuseCached return the cached roster if it was filled in the meantime, instead of fetching
+     * @return List<EmployeeResponse>
+     */
+    private List<EmployeeResponse> loadAllEmployees(CompletableFuture<List<EmployeeResponse>> load, boolean reuseCached){
+        try {
+            List<EmployeeResponse> employees = reuseCached ? cacheManager.getEmployees() : null;
+            if(employees == null || employees.isEmpty()){
+                employees = fetchAllEmployees();
+            }
+            load.complete(employees);
+            return employees;
+        } catch (RuntimeException | Error ex){
+            load.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlightLoad.compareAndSet(load, null);
+        }
+    }
+
+    /**
+     * Calls mock service for the complete list of employees and caches it.
+     * If a roster was cached before, its ETag is sent as If-None-Match. When the mock service answers 304, the cached roster
+     * is renewed instead of being downloaded and indexed again.
+     * The response is parsed incrementally, each employee is mapped as soon as it is read from the data array.
+     * Transient failures are retried with backoff, persistent ones open the circuit breaker.
+     *
+     * @return List<EmployeeResponse>
+     */
+    private List<EmployeeResponse> fetchAllEmployees(){
         log.info("Cache miss: fetching employees from external service");
         try {
-            log.debug("Calling external GET {}", externalServiceBasePath);
+            // creates and deletes cached while the roster is fetched must not be undone by storing it
+            long revision = cacheManager.getRevision();
+            String etag = cacheManager.getEtag();
+            FetchedRoster fetched = fetchRoster(etag);
+            if(fetched.notModified()){
+                List<EmployeeResponse> renewed = cacheManager.renewEmployees(etag);
+                if(renewed != null){
+                    log.info("Employees unchanged on external service, cached roster renewed");
+                    return renewed;
+                }
+                // the cached roster was invalidated while the request was in flight
+                fetched = fetchRoster(null);
+            }
 
-            ResponseEntity<ExternalResponseDTO<List<ExternalEmployeeResponseDTO>>> response = restTemplate.exchange(externalServiceBasePath, HttpMethod.GET, null, new ParameterizedTypeReference<>() {});
-            if(response.getBody() == null){
+            if(fetched.employees() == null){
                 throw new NoDataFoundException("No Data Found.");
             }
-
-            for(ExternalEmployeeResponseDTO externalResponseDTO : response.getBody().getData()){
-                employeeResponseList.add(mapToEmployee(externalResponseDTO));
+            if(!cacheManager.setEmployees(fetched.employees(), fetched.etag(), revision)){
+                log.info("Employees changed in cache while the roster was fetched, fetched roster discarded");
+                List<EmployeeResponse> cached = cacheManager.getEmployees();
+                if(cached != null){
+                    return cached;
+                }
             }
+            return fetched.employees();
         } catch (HttpClientErrorException.TooManyRequests ex){
             throw new TooManyRequestsException("Too Many Requests. Please try again");
+        } catch (TooManyRequestsException ex){
+            throw ex;
+        } catch (CircuitBreakerOpenException ex){
+            log.warn("External service unavailable: {}", ex.getMessage());
+            throw new RuntimeException("Problem Connecting External System. Please try again.");
         } catch (Exception ex){
             log.error("Error while fetching employees from external service", ex);
             throw new RuntimeException("Problem Connecting External System. Please try again.");
         }
+    }
+
+    /**
+     * Roster as read from the mock service, employees is null when it answered 304
+     */
+    private record FetchedRoster(List<EmployeeResponse> employees, String etag, boolean notModified) {}
 
-        cacheManager.setEmployees(employeeResponseList);
+    private FetchedRoster fetchRoster(String etag){
+        log.debug("Calling external GET {} | etag={}", externalServiceBasePath, etag);
+        RequestCallback conditional = etag == null ? null : request -> request.getHeaders().setIfNoneMatch(etag);
+        return circuitBreaker.execute(() -> readRetryPolicy.execute(
+                () -> restTemplate.execute(externalServiceBasePath, HttpMethod.GET, conditional, this::readRoster)));
+    }
+
+    private FetchedRoster readRoster(ClientHttpResponse response) throws IOException {
+        if(response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)){
+            return new FetchedRoster(null, null, true);
+        }
+        return new FetchedRoster(readEmployees(response), response.getHeaders().getETag(), false);
+    }
+
+    /**
+     * Streams the data array of the mock service response into employees, without materializing the response DTO
+     *
+     * @param response
+     * @return List<EmployeeResponse>
+     * @throws IOException
+     */
+    private List<EmployeeResponse> readEmployees(ClientHttpResponse response) throws IOException {
+        List<EmployeeResponse> employeeResponseList = null;
+        try (JsonParser parser = objectMapper.getFactory().createParser(response.getBody())) {
+            if(parser.nextToken() != JsonToken.START_OBJECT){
+                throw new NoDataFoundException("No Data Found.");
+            }
+
+            while(parser.nextToken() == JsonToken.FIELD_NAME){
+                String fieldName = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if(!"data".equals(fieldName) || value != JsonToken.START_ARRAY){
+                    parser.skipChildren();
+                    continue;
+                }
+
+                employeeResponseList = new ArrayList<>();
+                while(parser.nextToken() == JsonToken.START_OBJECT){
+                    employeeResponseList.add(mapToEmployee(objectMapper.readValue(parser, ExternalEmployeeResponseDTO.class)));
+                }
+            }
+        }
         return employeeResponseList;
     }
 
     /**
-     * This method returns the employee by employee_id by calling mock service.
+     * Waits for a roster load started by another caller and rethrows its failure as is
+     *
+     * @param load
+     * @return List<EmployeeResponse>
+     */
+    private List<EmployeeResponse> awaitLoad(CompletableFuture<List<EmployeeResponse>> load){
+        try {
+            return load.join();
+        } catch (CompletionException ex){
+            if(ex.getCause() instanceof RuntimeException cause){
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * This method brings the cached roster up to date from the mock service change feed, so only the employees created or
+     * deleted since the last load or sync are transferred.
+     * The whole roster is reloaded when the mock service no longer has those changes, e.g. after it restarted.
+     * Nothing is done while no roster with an ETag is cached, the rate limit budget is short or the circuit breaker is open.
+     */
+    @Override
+    public void syncEmployees(){
+        String etag = cacheManager.getEtag();
+        if(etag == null || !rateLimiter.hasSpareCapacity() || circuitBreaker.isOpen()){
+            return;
+        }
+
+        URI uri = UriComponentsBuilder.fromHttpUrl(externalServiceBasePath)
+                .path(CHANGES_PATH)
+                .queryParam("since", etag)
+                .encode()
+                .build()
+                .toUri();
+        try {
+            ResponseEntity<ExternalResponseDTO<List<ExternalEmployeeChangeDTO>>> response = rateLimiter.waitingForPermit(() -> circuitBreaker.execute(
+                    () -> readRetryPolicy.execute(
+                            () -> restTemplate.exchange(uri, HttpMethod.GET, null, new ParameterizedTypeReference<ExternalResponseDTO<List<ExternalEmployeeChangeDTO>>>() {}))));
+
+            String nextEtag = response.getHeaders().getETag();
+            if(nextEtag == null || response.getBody() == null || response.getBody().getData() == null){
+                log.warn("Change feed response without ETag or data, skipping sync of employees");
+                return;
+            }
+            List<RosterChange> changes = response.getBody().getData().stream()
+                    .filter(change -> change.getEmployee() != null)
+                    .map(change -> ExternalEmployeeChangeDTO.DELETED.equals(change.getType())
+                            ? RosterChange.deleted(mapToEmployee(change.getEmployee()))
+                            : RosterChange.created(mapToEmployee(change.getEmployee())))
+                    .toList();
+            if(cacheManager.applyChanges(etag, changes, nextEtag)){
+                log.info("Synced employees from change feed | changes={}", changes.size());
+            } else {
+                log.info("Roster reloaded while syncing employees, change feed result discarded");
+            }
+        } catch (HttpClientErrorException.Gone ex){
+            log.info("Change feed no longer has the changes since the cached roster, reloading employees");
+            CompletableFuture<List<EmployeeResponse>> load = new CompletableFuture<>();
+            if(inFlightLoad.compareAndSet(null, load)){
+                try {
+                    rateLimiter.waitingForPermit(() -> loadAllEmployees(load, false));
+                } catch (RuntimeException reloadEx){
+                    log.warn("Reload of employees failed, keeping cached roster | message={}", reloadEx.getMessage());
+                }
+            }
+        } catch (RuntimeException ex){
+            log.warn("Sync of employees from change feed failed, keeping cached roster | message={}", ex.getMessage());
+        }
+    }
+
+    /**
+     * This method runs the query on mock service, only the matching employees are transferred.
+     * The total number of matches is read from the X-Total-Count header.
+     *
+     * @param query
+     * @return PageResponse<EmployeeResponse>
+     */
+    @Override
+    public PageResponse<EmployeeResponse> findEmployees(ExternalEmployeeQuery query){
+        URI uri = UriComponentsBuilder.fromHttpUrl(externalServiceBasePath)
+                .queryParamIfPresent("page", Optional.ofNullable(query.getPage()))
+                .queryParamIfPresent("size", Optional.ofNullable(query.getSize()))
+                .queryParamIfPresent("nameContains", Optional.ofNullable(query.getNameContains()))
+                .queryParamIfPresent("minSalary", Optional.ofNullable(query.getMinSalary()))
+                .queryParamIfPresent("maxSalary", Optional.ofNullable(query.getMaxSalary()))
+                .queryParamIfPresent("top", Optional.ofNullable(query.getTop()))
+                .encode()
+                .build()
+                .toUri();
+
+        log.info("Querying employees on external service | query={}", query);
+        try {
+            ResponseEntity<ExternalResponseDTO<List<ExternalEmployeeResponseDTO>>> response = circuitBreaker.execute(() -> readRetryPolicy.execute(
+                    () -> restTemplate.exchange(uri, HttpMethod.GET, null, new ParameterizedTypeReference<ExternalResponseDTO<List<ExternalEmployeeResponseDTO>>>() {})));
+
+            if(response.getBody() == null || response.getBody().getData() == null){
+                throw new NoDataFoundException("No Data Found.");
+            }
+            List<EmployeeResponse> employees = response.getBody().getData().stream().map(this::mapToEmployee).toList();
+
+            String totalCount = response.getHeaders().getFirst(TOTAL_COUNT_HEADER);
+            long total = totalCount == null ? employees.size() : Long.parseLong(totalCount);
+            int size = query.getSize() != null ? query.getSize() : Math.max(employees.size(), 1);
+            return PageResponse.<EmployeeResponse>builder()
+                    .content(employees)
+                    .page(query.getPage() != null ? query.getPage() : 0)
+                    .size(size)
+                    .totalElements(total)
+                    .totalPages((int) ((total + size - 1) / size))
+                    .build();
+        } catch (HttpClientErrorException.TooManyRequests ex){
+            throw new TooManyRequestsException("Too Many Requests. Please try again");
+        } catch (TooManyRequestsException ex){
+            throw ex;
+        } catch (CircuitBreakerOpenException ex){
+            log.warn("External service unavailable: {}", ex.getMessage());
+            throw new RuntimeException("Problem Connecting External System. Please try again.");
+        } catch (Exception ex){
+            log.error("Error while querying employees from external service", ex);
+            throw new RuntimeException("Problem Connecting External System. Please try again.");
+        }
+    }
+
+    /**
+     * This method returns the employee by employee_id.
+     * If the roster is cached, the employee is served from the cached id index and no API call will be made.
+     * While the circuit breaker is open, the employee is looked up in the last cached roster.
      *
      * @return EmployeeResponse
      */
     @Override
     public EmployeeResponse getEmployeeById(String id){
+        EmployeeResponse cachedEmployee = cacheManager.getEmployeeById(id);
+        if(cachedEmployee != null){
+            log.info("Cache hit: returning employee {} from cache", id);
+            return cachedEmployee;
+        }
+
+        if(circuitBreaker.isOpen()){
+            EmployeeResponse snapshotEmployee = cacheManager.getSnapshotEmployeeById(id);
+            if(snapshotEmployee != null){
+                log.warn("External service unavailable: returning employee {} from last cached employees", id);
+                return snapshotEmployee;
+            }
+        }
+
+        log.info("Cache miss: fetching employee {} from external service", id);
         try {
-            ResponseEntity<ExternalResponseDTO<ExternalEmployeeResponseDTO>> response = restTemplate.exchange(externalServiceBasePath + "/" + id, HttpMethod.GET, null, new ParameterizedTypeReference<>() {});
+            ResponseEntity<ExternalResponseDTO<ExternalEmployeeResponseDTO>> response = circuitBreaker.execute(() -> readRetryPolicy.execute(
+                    () -> restTemplate.exchange(externalServiceBasePath + "/" + id, HttpMethod.GET, null, new ParameterizedTypeReference<ExternalResponseDTO<ExternalEmployeeResponseDTO>>() {})));
 
             if(response.getBody() == null || response.getBody().getData() == null){
                 throw new NoDataFoundException("No Data Found for employee id :" + id);
@@ -90,6 +455,11 @@ public class MockExternalServiceImpl implements IExternalService {
             return mapToEmployee(response.getBody().getData());
         } catch (HttpClientErrorException.TooManyRequests ex){
             throw new TooManyRequestsException("Too Many Requests. Please try again");
+        } catch (TooManyRequestsException ex){
+            throw ex;
+        } catch (CircuitBreakerOpenException ex){
+            log.warn("External service unavailable: {}", ex.getMessage());
+            throw new RuntimeException("Problem Connecting External System. Please try again.");
         } catch (HttpClientErrorException.NotFound ex){
             throw new BadRequestException("No Data Found for employee id : " + id);
         } catch (Exception ex){
@@ -100,13 +470,43 @@ public class MockExternalServiceImpl implements IExternalService {
 
     /**
      * This method creates a new user based on input request
-     * Once user is created, in memory cache is invalidated
+     * Once user is created, it is appended to the in memory cache
      *
      * @param employeeInput
      * @return EmployeeResponse
      */
     @Override
     public EmployeeResponse createEmployee(EmployeeRequest employeeInput) {
+        EmployeeResponse employee = postEmployee(employeeInput);
+        cacheManager.addEmployee(employee);
+        return employee;
+    }
+
+    /**
+     * This method creates the employees concurrently, up to the configured batch parallelism.
+     * Every call still goes through the rate limiter, calls over budget fail with 429 in their own result.
+     * Created employees are appended to the in memory cache once, after all calls completed.
+     *
+     * @param employeeInputs
+     * @return results in the order of the inputs
+     */
+    @Override
+    public List<BatchItemResult<EmployeeResponse>> createEmployees(List<EmployeeRequest> employeeInputs) {
+        List<BatchItemResult<EmployeeResponse>> results = runBatch(employeeInputs, this::postEmployee, HttpStatus.CREATED);
+        cacheManager.addEmployees(results.stream()
+                .filter(result -> result.getData() != null)
+                .map(BatchItemResult::getData)
+                .toList());
+        return results;
+    }
+
+    /**
+     * Calls mock service to create a single employee, without touching the cache
+     *
+     * @param employeeInput
+     * @return EmployeeResponse
+     */
+    private EmployeeResponse postEmployee(EmployeeRequest employeeInput) {
         try{
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
@@ -114,16 +514,21 @@ public class MockExternalServiceImpl implements IExternalService {
             HttpEntity<EmployeeRequest> entity =
                     new HttpEntity<>(employeeInput, headers);
 
-            ResponseEntity<ExternalResponseDTO<ExternalEmployeeResponseDTO>> response = restTemplate.exchange(externalServiceBasePath, HttpMethod.POST, entity, new ParameterizedTypeReference<>() {});
+            // not retried, a create that timed out may still have been applied
+            ResponseEntity<ExternalResponseDTO<ExternalEmployeeResponseDTO>> response = circuitBreaker.execute(
+                    () -> restTemplate.exchange(externalServiceBasePath, HttpMethod.POST, entity, new ParameterizedTypeReference<ExternalResponseDTO<ExternalEmployeeResponseDTO>>() {}));
 
             if(response.getBody() == null || response.getBody().getData() == null){
                 throw new RuntimeException("Error Creating Entity");
             }
-            // invalidate cache
-            cacheManager.invalidateCache();
             return mapToEmployee(response.getBody().getData());
         } catch (HttpClientErrorException.TooManyRequests ex){
             throw new TooManyRequestsException("Too Many Requests. Please try again");
+        } catch (TooManyRequestsException ex){
+            throw ex;
+        } catch (CircuitBreakerOpenException ex){
+            log.warn("External service unavailable: {}", ex.getMessage());
+            throw new RuntimeException("Problem Connecting External System. Please try again.");
         } catch (Exception ex){
             log.error("Error creating employee from external service", ex);
             throw new BadRequestException(ex.getMessage());
@@ -132,10 +537,42 @@ public class MockExternalServiceImpl implements IExternalService {
 
     /**
      * This method deletes and employee by its name and returns the deleted employees name
+     * Once user is deleted, only that employee is removed from the in memory cache
      * @param name
      */
     @Override
     public void deleteEmployee(String name) {
+        deleteByName(name);
+        cacheManager.removeEmployeeByName(name);
+    }
+
+    /**
+     * This method deletes the employees by name concurrently, up to the configured batch parallelism.
+     * Every call still goes through the rate limiter, calls over budget fail with 429 in their own result.
+     * Deleted employees are removed from the in memory cache once, after all calls completed.
+     *
+     * @param names
+     * @return results in the order of the names, holding the deleted name
+     */
+    @Override
+    public List<BatchItemResult<String>> deleteEmployees(List<String> names) {
+        List<BatchItemResult<String>> results = runBatch(names, name -> {
+            deleteByName(name);
+            return name;
+        }, HttpStatus.OK);
+        cacheManager.removeEmployeesByName(results.stream()
+                .filter(result -> result.getData() != null)
+                .map(BatchItemResult::getData)
+                .toList());
+        return results;
+    }
+
+    /**
+     * Calls mock service to delete a single employee by name, without touching the cache
+     *
+     * @param name
+     */
+    private void deleteByName(String name) {
         try{
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
@@ -143,22 +580,81 @@ public class MockExternalServiceImpl implements IExternalService {
             HttpEntity<ExternalDeleteEmployeeDTO> entity =
                     new HttpEntity<>(new ExternalDeleteEmployeeDTO(name), headers);
 
-            ResponseEntity<ExternalResponseDTO<Boolean>> response = restTemplate.exchange(externalServiceBasePath, HttpMethod.DELETE, entity, new ParameterizedTypeReference<>() {});
+            // not retried, a repeated delete by name would remove the next employee with the same name
+            ResponseEntity<ExternalResponseDTO<Boolean>> response = circuitBreaker.execute(
+                    () -> restTemplate.exchange(externalServiceBasePath, HttpMethod.DELETE, entity, new ParameterizedTypeReference<ExternalResponseDTO<Boolean>>() {}));
 
             if(response.getBody() == null || response.getBody().getData() == false){
                 throw new RuntimeException("Error Creating Entity");
             }
-
-            // invalidate cache
-            cacheManager.invalidateCache();
         } catch (HttpClientErrorException.TooManyRequests ex){
             throw new TooManyRequestsException("Too Many Requests. Please try again");
+        } catch (TooManyRequestsException ex){
+            throw ex;
+        } catch (CircuitBreakerOpenException ex){
+            log.warn("External service unavailable: {}", ex.getMessage());
+            throw new RuntimeException("Problem Connecting External System. Please try again.");
         } catch (Exception ex){
             log.error("Error deleting employee from external service", ex);
             throw new BadRequestException("Invalid Data. Please use correct data.");
         }
     }
 
+    /**
+     * Runs the call for every item, with at most batch parallelism calls in flight.
+     * The calling thread works through the items along with the workers on the task executor.
+     *
+     * @param items
+     * @param call
+     * @param successStatus status of the items that succeeded
+     * @return results in the order of the items
+     */
+    private <I, R> List<BatchItemResult<R>> runBatch(List<I> items, Function<I, R> call, HttpStatus successStatus) {
+        AtomicReferenceArray<BatchItemResult<R>> results = new AtomicReferenceArray<>(items.size());
+        AtomicInteger nextItem = new AtomicInteger();
+        Runnable worker = () -> {
+            for(int i = nextItem.getAndIncrement(); i < items.size(); i = nextItem.getAndIncrement()){
+                results.set(i, runBatchItem(i, items.get(i), call, successStatus));
+            }
+        };
+
+        List<CompletableFuture<Void>> workers = new ArrayList<>();
+        try {
+            for(int i = 1; i < Math.min(batchParallelism, items.size()); i++){
+                workers.add(CompletableFuture.runAsync(worker, taskExecutor));
+            }
+        } catch (RuntimeException ex){
+            log.warn("Batch running with {} workers, no more could be scheduled | message={}", workers.size() + 1, ex.getMessage());
+        }
+        worker.run();
+        workers.forEach(CompletableFuture::join);
+
+        List<BatchItemResult<R>> resultList = new ArrayList<>(items.size());
+        for(int i = 0; i < items.size(); i++){
+            resultList.add(results.get(i));
+        }
+        return resultList;
+    }
+
+    private <I, R> BatchItemResult<R> runBatchItem(int index, I item, Function<I, R> call, HttpStatus successStatus) {
+        HttpStatus status;
+        String errorMessage;
+        try {
+            R data = rateLimiter.waitingForPermit(() -> call.apply(item));
+            return BatchItemResult.<R>builder().index(index).status(successStatus.value()).data(data).build();
+        } catch (TooManyRequestsException ex){
+            status = HttpStatus.TOO_MANY_REQUESTS;
+            errorMessage = ex.getMessage();
+        } catch (BadRequestException ex){
+            status = HttpStatus.BAD_REQUEST;
+            errorMessage = ex.getMessage();
+        } catch (RuntimeException ex){
+            status = HttpStatus.INTERNAL_SERVER_ERROR;
+            errorMessage = ex.getMessage();
+        }
+        return BatchItemResult.<R>builder().index(index).status(status.value()).errorMessage(errorMessage).build();
+    }
+
     /**
      * Helper method for DTO conversion
      * @param dto
@@ -174,5 +670,15 @@ public class MockExternalServiceImpl implements IExternalService {
                 .employeeTitle(dto.getEmployeeTitle())
                 .build();
     }
-}
 
+    /**
+     * Exposes the number of callers that joined an in-flight roster load instead of calling mock service themselves
+     * @param registry
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("employee.external.loads.coalesced", coalescedLoads, AtomicLong::get)
+                .description("Roster cache misses served by joining an in-flight external fetch")
+                .register(registry);
+    }
+}
@@ -0,0 +1,311 @@
+package com.reliaquest.api.external.impl;
+
+import com.reliaquest.api.cache.ICacheManager;
+import com.reliaquest.api.dto.request.EmployeeRequest;
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import com.reliaquest.api.exception.BadRequestException;
+import com.reliaquest.api.exception.NoDataFoundException;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.external.IReactiveExternalService;
+import com.reliaquest.api.external.dto.ExternalDeleteEmployeeDTO;
+import com.reliaquest.api.external.dto.ExternalEmployeeResponseDTO;
+import com.reliaquest.api.external.dto.ExternalResponseDTO;
+import com.reliaquest.api.external.ratelimit.AdaptiveRateLimiter;
+import com.reliaquest.api.external.resilience.RetryPolicy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * WebClient based external service, enabled with mock.external.client=reactive.
+ * Shares the roster cache with the blocking implementation, so both serve the same cached data and indexes.
+ * Reads are retried like the blocking ones, but are not guarded by the circuit breaker, which wraps blocking calls.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "mock.external.client", havingValue = "reactive")
+public class WebClientExternalServiceImpl implements IReactiveExternalService {
+
+    private static final ParameterizedTypeReference<ExternalResponseDTO<List<ExternalEmployeeResponseDTO>>> EMPLOYEES_TYPE = new ParameterizedTypeReference<>() {};
+
+    private static final ParameterizedTypeReference<ExternalResponseDTO<ExternalEmployeeResponseDTO>> EMPLOYEE_TYPE = new ParameterizedTypeReference<>() {};
+
+    private static final ParameterizedTypeReference<ExternalResponseDTO<Boolean>> DELETE_TYPE = new ParameterizedTypeReference<>() {};
+
+    private final WebClient webClient;
+
+    private final ICacheManager cacheManager;
+
+    private final AdaptiveRateLimiter rateLimiter;
+
+    private final Retry readRetry;
+
+    /**
+     * Roster load currently in flight, shared by every subscriber that misses the cache while it runs.
+     */
+    private final AtomicReference<CompletableFuture<List<EmployeeResponse>>> inFlightLoad = new AtomicReference<>();
+
+    public WebClientExternalServiceImpl(WebClient externalWebClient, ICacheManager cacheManager, AdaptiveRateLimiter rateLimiter,
+                                        RetryPolicy readRetryPolicy){
+        this.webClient = externalWebClient;
+        this.cacheManager = cacheManager;
+        this.rateLimiter = rateLimiter;
+        this.readRetry = readRetryPolicy.reactive();
+    }
+
+    /**
+     * This method returns all the employees by calling mock service.
+     * If the data is found in cache, then no API call will be made.
+     * Stale data is still returned from cache while it is refreshed in the background, if the rate limit budget allows.
+     * Concurrent cache misses are coalesced onto a single call to the mock service.
+     *
+     * @return Mono<List<EmployeeResponse>>
+     */
+    @Override
+    public Mono<List<EmployeeResponse>> getAllEmployees(){
+        return Mono.defer(() -> {
+            List<EmployeeResponse> cachedEmployees = cacheManager.getEmployees();
+            if(cachedEmployees != null && !cachedEmployees.isEmpty()){
+                log.info("Cache hit: returning employees from cache");
+                if(cacheManager.isStale() && rateLimiter.hasSpareCapacity()){
+                    log.info("Stale cache: refreshing employees from external service in background");
+                    // the load is already running, errors are only logged and the stale roster keeps being served
+                    loadAllEmployees().exceptionally(ex -> {
+                        log.warn("Background refresh of employees failed, serving stale cache | message={}", ex.getMessage());
+                        return null;
+                    });
+                }
+                return Mono.just(cachedEmployees);
+            }
+            // a single subscriber cancelling must not cancel the load shared with the others
+            return Mono.fromFuture(loadAllEmployees(), true);
+        });
+    }
+
+    /**
+     * Joins the in-flight roster load, or starts one and stores its result in cache
+     *
+     * @return CompletableFuture<List<EmployeeResponse>>
+     */
+    private CompletableFuture<List<EmployeeResponse>> loadAllEmployees(){
+        CompletableFuture<List<EmployeeResponse>> load = new CompletableFuture<>();
+        CompletableFuture<List<EmployeeResponse>> existingLoad = inFlightLoad.compareAndExchange(null, load);
+        if(existingLoad != null){
+            log.info("Cache miss: waiting for in-flight fetch of employees from external service");
+            return existingLoad;
+        }
+
+        fetchAllEmployees()
+                .doFinally(signal -> inFlightLoad.compareAndSet(load, null))
+                .subscribe(load::complete, load::completeExceptionally);
+        return load;
+    }
+
+    /**
+     * Calls mock service for the complete list of employees and caches it.
+     * If a roster was cached before, its ETag is sent as If-None-Match. When the mock service answers 304, the cached roster
+     * is renewed instead of being downloaded and indexed again. Transient failures are retried with backoff.
+     *
+     * @return Mono<List<EmployeeResponse>>
+     */
+    private Mono<List<EmployeeResponse>> fetchAllEmployees(){
+        return Mono.defer(() -> {
+            log.info("Cache miss: fetching employees from external service");
+            // creates and deletes cached while the roster is fetched must not be undone by storing it
+            long revision = cacheManager.getRevision();
+            String etag = cacheManager.getEtag();
+            return fetchRoster(etag)
+                    // storing the roster rebuilds every index under the cache lock, never on the event loop
+                    .publishOn(Schedulers.boundedElastic())
+                    .flatMap(fetched -> {
+                        if(!fetched.notModified()){
+                            return Mono.just(cacheRoster(fetched, revision));
+                        }
+                        List<EmployeeResponse> renewed = cacheManager.renewEmployees(etag);
+                        if(renewed != null){
+                            log.info("Employees unchanged on external service, cached roster renewed");
+                            return Mono.just(renewed);
+                        }
+                        // the cached roster was invalidated while the request was in flight
+                        return fetchRoster(null)
+                                .publishOn(Schedulers.boundedElastic())
+                                .map(refetched -> cacheRoster(refetched, revision));
+                    })
+                    .onErrorMap(ex -> mapError(ex, "Error while fetching employees from external service"));
+        });
+    }
+
+    /**
+     * Roster as read from the mock service, employees is null when it answered 304
+     */
+    private record FetchedRoster(List<EmployeeResponse> employees, String etag, boolean notModified) {}
+
+    private Mono<FetchedRoster> fetchRoster(String etag){
+        return webClient.get()
+                .headers(headers -> {
+                    if(etag != null){
+                        headers.setIfNoneMatch(etag);
+                    }
+                })
+                .<FetchedRoster>exchangeToMono(response -> {
+                    if(response.statusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)){
+                        return response.releaseBody().thenReturn(new FetchedRoster(null, null, true));
+                    }
+                    if(response.statusCode().isError()){
+                        return response.createError();
+                    }
+                    String fetchedEtag = response.headers().asHttpHeaders().getETag();
+                    return response.bodyToMono(EMPLOYEES_TYPE)
+                            .filter(body -> body.getData() != null)
+                            .switchIfEmpty(Mono.error(() -> new NoDataFoundException("No Data Found.")))
+                            .map(body -> new FetchedRoster(body.getData().stream().map(this::mapToEmployee).toList(), fetchedEtag, false));
+                })
+                .retryWhen(readRetry);
+    }
+
+    /**
+     * Caches the fetched roster with its ETag, unless the cached employees changed since the revision was read
+     *
+     * @return roster to answer with, the cached one if the fetched roster was discarded
+     */
+    private List<EmployeeResponse> cacheRoster(FetchedRoster fetched, long revision){
+        if(!cacheManager.setEmployees(fetched.employees(), fetched.etag(), revision)){
+            log.info("Employees changed in cache while the roster was fetched, fetched roster discarded");
+            List<EmployeeResponse> cached = cacheManager.getEmployees();
+            if(cached != null){
+                return cached;
+            }
+        }
+        return fetched.employees();
+    }
+
+    /**
+     * This method returns the employee by employee_id.
+     * If the roster is cached, the employee is served from the cached id index and no API call will be made.
+     *
+     * @return Mono<EmployeeResponse>
+     */
+    @Override
+    public Mono<EmployeeResponse> getEmployeeById(String id){
+        return Mono.defer(() -> {
+            EmployeeResponse cachedEmployee = cacheManager.getEmployeeById(id);
+            if(cachedEmployee != null){
+                log.info("Cache hit: returning employee {} from cache", id);
+                return Mono.just(cachedEmployee);
+            }
+
+            log.info("Cache miss: fetching employee {} from external service", id);
+            return webClient.get()
+                    .uri("/{id}", id)
+                    .retrieve()
+                    .bodyToMono(EMPLOYEE_TYPE)
+                    .filter(response -> response.getData() != null)
+                    .switchIfEmpty(Mono.error(() -> new NoDataFoundException("No Data Found for employee id :" + id)))
+                    .map(response -> mapToEmployee(response.getData()))
+                    .retryWhen(readRetry)
+                    .onErrorMap(WebClientResponseException.NotFound.class, ex -> new BadRequestException("No Data Found for employee id : " + id))
+                    .onErrorMap(ex -> mapError(ex, "Error while fetching employee from external service"));
+        });
+    }
+
+    /**
+     * This method creates a new user based on input request
+     * Once user is created, it is appended to the in memory cache
+     *
+     * @param employeeInput
+     * @return Mono<EmployeeResponse>
+     */
+    @Override
+    public Mono<EmployeeResponse> createEmployee(EmployeeRequest employeeInput){
+        return webClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employeeInput)
+                .retrieve()
+                .bodyToMono(EMPLOYEE_TYPE)
+                .filter(response -> response.getData() != null)
+                .switchIfEmpty(Mono.error(() -> new BadRequestException("Error Creating Entity")))
+                .map(response -> mapToEmployee(response.getData()))
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(cacheManager::addEmployee)
+                .onErrorMap(ex -> !(ex instanceof WebClientResponseException.TooManyRequests || ex instanceof TooManyRequestsException || ex instanceof BadRequestException),
+                        ex -> {
+                            log.error("Error creating employee from external service", ex);
+                            return new BadRequestException(ex.getMessage());
+                        })
+                .onErrorMap(WebClientResponseException.TooManyRequests.class, ex -> new TooManyRequestsException("Too Many Requests. Please try again"));
+    }
+
+    /**
+     * This method deletes and employee by its name
+     * Once user is deleted, only that employee is removed from the in memory cache
+     *
+     * @param name
+     * @return Mono<Void>
+     */
+    @Override
+    public Mono<Void> deleteEmployee(String name){
+        return webClient.method(HttpMethod.DELETE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ExternalDeleteEmployeeDTO(name))
+                .retrieve()
+                .bodyToMono(DELETE_TYPE)
+                .filter(response -> Boolean.TRUE.equals(response.getData()))
+                .switchIfEmpty(Mono.error(() -> new BadRequestException("Invalid Data. Please use correct data.")))
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(response -> cacheManager.removeEmployeeByName(name))
+                .onErrorMap(ex -> !(ex instanceof WebClientResponseException.TooManyRequests || ex instanceof TooManyRequestsException || ex instanceof BadRequestException),
+                        ex -> {
+                            log.error("Error deleting employee from external service", ex);
+                            return new BadRequestException("Invalid Data. Please use correct data.");
+                        })
+                .onErrorMap(WebClientResponseException.TooManyRequests.class, ex -> new TooManyRequestsException("Too Many Requests. Please try again"))
+                .then();
+    }
+
+    /**
+     * Maps client failures to the same exceptions the blocking implementation throws
+     *
+     * @param ex
+     * @param message logged for unexpected failures
+     * @return Throwable
+     */
+    private Throwable mapError(Throwable ex, String message){
+        if(ex instanceof WebClientResponseException.TooManyRequests){
+            return new TooManyRequestsException("Too Many Requests. Please try again");
+        }
+        if(ex instanceof BadRequestException || ex instanceof TooManyRequestsException){
+            return ex;
+        }
+        log.error(message, ex);
+        return new RuntimeException("Problem Connecting External System. Please try again.");
+    }
+
+    /**
+     * Helper method for DTO conversion
+     * @param dto
+     * @return
+     */
+    private EmployeeResponse mapToEmployee(ExternalEmployeeResponseDTO dto) {
+        return EmployeeResponse.builder()
+                .id(dto.getId())
+                .employeeAge(dto.getEmployeeAge())
+                .employeeEmail(dto.getEmployeeEmail())
+                .employeeName(dto.getEmployeeName())
+                .employeeSalary(dto.getEmployeeSalary())
+                .employeeTitle(dto.getEmployeeTitle())
+                .build();
+    }
+}
@@ -0,0 +1,274 @@
+package com.reliaquest.api.external.ratelimit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Client side mirror of the mock service rate limit, so calls over budget are held back or shed before they are sent.
+ * The mock service lets a number of requests through and then rejects everything for a backoff window.
+ * Both the limit and the backoff are learned from observed 429s:
+ * a 429 sets the limit to the calls that succeeded in the current window, a 429 right after a backoff grows the backoff,
+ * and a window used up without a 429 raises the limit by one. Retry-After is used as the backoff when present.
+ */
+@Slf4j
+public class AdaptiveRateLimiter implements MeterBinder {
+
+    private final int maxLimit;
+
+    private final Duration maxBackoff;
+
+    /**
+     * How long a request thread may wait for the next window before its call is shed, zero by default
+     */
+    private final Duration maxWait;
+
+    /**
+     * How long background refreshes and batch items may wait for the next window, see {@link #waitingForPermit(Supplier)}
+     */
+    private final Duration backgroundMaxWait;
+
+    /**
+     * Set while the current thread runs a call that may wait up to the background max wait
+     */
+    private final ThreadLocal<Boolean> waitingForPermit = new ThreadLocal<>();
+
+    /**
+     * Permits kept for callers that cannot be served from cache, optional calls such as background refreshes leave them alone
+     */
+    private final int reservedPermits;
+
+    private final Clock clock;
+
+    private int limit;
+
+    private Duration backoff;
+
+    /**
+     * Permits handed out and calls that succeeded in the current window
+     */
+    private int granted;
+
+    private int succeeded;
+
+    /**
+     * No permits are handed out before this instant, set when a window is used up or a 429 is observed
+     */
+    private Instant lockedUntil;
+
+    private boolean locked;
+
+    /**
+     * Whether the current lock was caused by a 429 rather than by using up the window
+     */
+    private boolean rejected;
+
+    private final AtomicLong shedCalls = new AtomicLong();
+
+    private final AtomicLong rejectedCalls = new AtomicLong();
+
+    public AdaptiveRateLimiter(int initialLimit, int maxLimit, Duration initialBackoff, Duration maxBackoff,
+                               Duration maxWait, Duration backgroundMaxWait, int reservedPermits, Clock clock) {
+        if(initialLimit < 1 || maxLimit < initialLimit){
+            throw new IllegalArgumentException("Rate limit should be between 1 and max limit");
+        }
+        this.limit = initialLimit;
+        this.maxLimit = maxLimit;
+        this.backoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.maxWait = maxWait;
+        this.backgroundMaxWait = backgroundMaxWait;
+        this.reservedPermits = reservedPermits;
+        this.clock = clock;
+        this.lockedUntil = Instant.MIN;
+    }
+
+    /**
+     * Takes a permit for one call if the current window has any left, without waiting
+     *
+     * @return true if the call may be sent
+     */
+    public synchronized boolean tryAcquire() {
+        Instant now = clock.instant();
+        if(locked){
+            if(now.isBefore(lockedUntil)){
+                return false;
+            }
+            openWindow();
+        }
+
+        granted++;
+        if(granted >= limit){
+            // the mock service rejects everything for a backoff window once its limit is reached
+            lock(now.plus(backoff), false);
+        }
+        return true;
+    }
+
+    /**
+     * Takes a permit for one call, waiting up to the max wait for the next window.
+     * Calls run through {@link #waitingForPermit(Supplier)} wait up to the background max wait instead.
+     *
+     * @return true if the call may be sent, false if it should be shed
+     */
+    public boolean acquire() {
+        Instant deadline = clock.instant().plus(Boolean.TRUE.equals(waitingForPermit.get()) ? backgroundMaxWait : maxWait);
+        while(!tryAcquire()){
+            Duration wait = timeUntilPermit();
+            if(clock.instant().plus(wait).isAfter(deadline)){
+                onShed();
+                return false;
+            }
+            try {
+                Thread.sleep(Math.max(1, wait.toMillis()));
+            } catch (InterruptedException ex){
+                Thread.currentThread().interrupt();
+                onShed();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return time until the next window opens, zero if a permit is available now
+     */
+    public synchronized Duration timeUntilPermit() {
+        if(!locked){
+            return Duration.ZERO;
+        }
+        Duration wait = Duration.between(clock.instant(), lockedUntil);
+        return wait.isNegative() ? Duration.ZERO : wait;
+    }
+
+    /**
+     * @return max time a request thread may wait for the next window
+     */
+    public Duration getMaxWait() {
+        return maxWait;
+    }
+
+    /**
+     * Runs a call that is off the request path, like a background refresh or a batch item, letting the permits it
+     * acquires on this thread wait up to the background max wait. Request threads are not held up by a wait.
+     *
+     * @param call
+     * @return result of the call
+     */
+    public <T> T waitingForPermit(Supplier<T> call) {
+        Boolean previous = waitingForPermit.get();
+        waitingForPermit.set(Boolean.TRUE);
+        try {
+            return call.get();
+        } finally {
+            if(previous == null){
+                waitingForPermit.remove();
+            } else {
+                waitingForPermit.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Whether optional calls, like refreshing a roster that can still be served from cache, should be made.
+     * They are skipped when the window is down to the reserved permits.
+     *
+     * @return true if there are permits to spare
+     */
+    public synchronized boolean hasSpareCapacity() {
+        if(locked){
+            return !clock.instant().isBefore(lockedUntil);
+        }
+        return limit - granted > reservedPermits;
+    }
+
+    /**
+     * Records a call that was not sent because no permit was available in time
+     */
+    public void onShed() {
+        shedCalls.incrementAndGet();
+    }
+
+    /**
+     * Records a call that the mock service accepted
+     */
+    public synchronized void onSuccess() {
+        succeeded++;
+    }
+
+    /**
+     * Records a 429 from the mock service and learns the limit and backoff from it
+     *
+     * @param retryAfter backoff advertised by the mock service, null if none
+     */
+    public synchronized void onTooManyRequests(Duration retryAfter) {
+        rejectedCalls.incrementAndGet();
+        Instant now = clock.instant();
+        if(locked && rejected && now.isBefore(lockedUntil)){
+            // another call that was already in flight when the first 429 came back
+            return;
+        }
+
+        if(retryAfter != null){
+            backoff = retryAfter;
+        } else if(succeeded == 0){
+            // rejected right after waiting out the backoff, so the backoff is too short
+            backoff = min(backoff.multipliedBy(2), maxBackoff);
+        }
+        if(succeeded > 0){
+            limit = Math.min(succeeded, maxLimit);
+        }
+        log.warn("External service rate limited | learnedLimit={} | backoff={}", limit, backoff);
+        lock(now.plus(backoff), true);
+    }
+
+    private void openWindow() {
+        if(!rejected && succeeded >= limit && limit < maxLimit){
+            // the whole window went through, probe for a higher limit
+            limit++;
+        }
+        locked = false;
+        rejected = false;
+        granted = 0;
+        succeeded = 0;
+    }
+
+    private void lock(Instant until, boolean rejected) {
+        this.locked = true;
+        this.rejected = rejected;
+        this.lockedUntil = until;
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    private synchronized int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Exposes the learned limit and the calls shed by the limiter or rejected by the mock service
+     * @param registry
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.external.ratelimit.limit", this, AdaptiveRateLimiter::getLimit)
+                .description("Requests per window the mock service is believed to accept")
+                .register(registry);
+        FunctionCounter.builder("employee.external.ratelimit.shed", shedCalls, AtomicLong::get)
+                .description("Calls not sent to the mock service because the rate limit budget was used up")
+                .register(registry);
+        FunctionCounter.builder("employee.external.ratelimit.rejected", rejectedCalls, AtomicLong::get)
+                .description("Calls rejected by the mock service with 429")
+                .register(registry);
+    }
+}
@@ -0,0 +1,58 @@
+package com.reliaquest.api.external.ratelimit;
+
+import com.reliaquest.api.exception.TooManyRequestsException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Routes every RestTemplate call to the mock service through the AdaptiveRateLimiter.
+ * Calls over budget are shed with TooManyRequestsException without reaching the mock service.
+ */
+public class RateLimitInterceptor implements ClientHttpRequestInterceptor {
+
+    private final AdaptiveRateLimiter rateLimiter;
+
+    public RateLimitInterceptor(AdaptiveRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        if(!rateLimiter.acquire()){
+            throw new TooManyRequestsException("Too Many Requests. Please try again");
+        }
+
+        ClientHttpResponse response = execution.execute(request, body);
+        if(response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()){
+            rateLimiter.onTooManyRequests(retryAfter(response.getHeaders()));
+        } else {
+            rateLimiter.onSuccess();
+        }
+        return response;
+    }
+
+    /**
+     * Parses a Retry-After header given in seconds
+     *
+     * @param headers
+     * @return Duration, or null if the header is missing or not in seconds
+     */
+    public static Duration retryAfter(HttpHeaders headers) {
+        String retryAfter = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if(retryAfter == null){
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(retryAfter.trim()));
+        } catch (NumberFormatException ex){
+            return null;
+        }
+    }
+}
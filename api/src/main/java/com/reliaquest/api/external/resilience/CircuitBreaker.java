@@ -0,0 +1,146 @@
+package com.reliaquest.api.external.resilience;
+
+import com.reliaquest.api.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Supplier;
+
+/**
+ * Stops calling the mock service once its failures persist, so callers fail fast or are served from cache instead.
+ * Opens after a number of consecutive server or I/O errors. Once the open duration has passed a single trial call is let
+ * through: success closes the breaker, failure opens it again. Client errors such as 404 or 429 mean the mock service is
+ * up, so they count as successes. Calls shed by the rate limiter never reached it and are not counted.
+ */
+@Slf4j
+public class CircuitBreaker implements MeterBinder {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+
+    private final int failureThreshold;
+
+    private final Duration openDuration;
+
+    private final Clock clock;
+
+    private State state = State.CLOSED;
+
+    private int consecutiveFailures;
+
+    private Instant openedAt;
+
+    public CircuitBreaker(String name, int failureThreshold, Duration openDuration, Clock clock) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    /**
+     * Runs the call unless the breaker is open
+     *
+     * @param call
+     * @return result of the call
+     * @throws CircuitBreakerOpenException if the call was not made
+     */
+    public <T> T execute(Supplier<T> call) {
+        if(!tryAcquire()){
+            throw new CircuitBreakerOpenException("Circuit breaker " + name + " is open");
+        }
+
+        T result;
+        try {
+            result = call.get();
+        } catch (TooManyRequestsException ex){
+            // shed before reaching the mock service, says nothing about its health
+            onNotCalled();
+            throw ex;
+        } catch (RuntimeException ex){
+            if(isFailure(ex)){
+                onFailure();
+            } else {
+                onSuccess();
+            }
+            throw ex;
+        } catch (Error ex){
+            // counted as a failure, otherwise a trial call ending this way would leave the breaker half open for good
+            onFailure();
+            throw ex;
+        }
+        onSuccess();
+        return result;
+    }
+
+    /**
+     * @return true while calls are refused, false once a trial call may be made
+     */
+    public synchronized boolean isOpen() {
+        return state == State.OPEN && clock.instant().isBefore(openedAt.plus(openDuration))
+                || state == State.HALF_OPEN;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private synchronized boolean tryAcquire() {
+        if(state == State.CLOSED){
+            return true;
+        }
+        if(state == State.OPEN && !clock.instant().isBefore(openedAt.plus(openDuration))){
+            // the trial call, everyone else keeps being refused until it completes
+            state = State.HALF_OPEN;
+            return true;
+        }
+        return false;
+    }
+
+    private synchronized void onSuccess() {
+        if(state != State.CLOSED){
+            log.info("Circuit breaker {} closed", name);
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    private synchronized void onNotCalled() {
+        if(state == State.HALF_OPEN){
+            // let the next caller make the trial call
+            state = State.OPEN;
+        }
+    }
+
+    private synchronized void onFailure() {
+        consecutiveFailures++;
+        if(state == State.HALF_OPEN || state == State.CLOSED && consecutiveFailures >= failureThreshold){
+            log.warn("Circuit breaker {} opened | consecutiveFailures={}", name, consecutiveFailures);
+            state = State.OPEN;
+            openedAt = clock.instant();
+        }
+    }
+
+    private static boolean isFailure(RuntimeException ex) {
+        return ex instanceof HttpServerErrorException || ex instanceof ResourceAccessException;
+    }
+
+    /**
+     * Exposes the breaker state, 0 closed, 1 open, 2 half open
+     * @param registry
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.external.circuitbreaker.state", this, breaker -> breaker.getState().ordinal())
+                .tag("name", name)
+                .description("State of the mock service circuit breaker, 0 closed, 1 open, 2 half open")
+                .register(registry);
+    }
+}
@@ -0,0 +1,8 @@
+package com.reliaquest.api.external.resilience;
+
+public class CircuitBreakerOpenException extends RuntimeException{
+
+    public CircuitBreakerOpenException(String message){
+        super(message);
+    }
+}
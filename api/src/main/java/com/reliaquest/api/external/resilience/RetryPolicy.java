@@ -0,0 +1,105 @@
+package com.reliaquest.api.external.resilience;
+
+import com.reliaquest.api.external.ratelimit.RateLimitInterceptor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Retries transient failures of idempotent calls to the mock service with exponential backoff and full jitter.
+ * Server errors and I/O errors are retried. A 429 is only retried when its Retry-After fits within the max backoff,
+ * the wait is then exactly the advertised Retry-After. Anything else fails on the first attempt.
+ * The same policy applies to WebClient calls through {@link #reactive()}, waiting on a timer instead of a thread.
+ */
+@Slf4j
+public class RetryPolicy {
+
+    private final int maxAttempts;
+
+    private final Duration initialBackoff;
+
+    private final Duration maxBackoff;
+
+    public RetryPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff) {
+        if(maxAttempts < 1){
+            throw new IllegalArgumentException("Max attempts should be at least 1");
+        }
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        for(int attempt = 1; ; attempt++){
+            try {
+                return call.get();
+            } catch (RuntimeException ex){
+                Duration backoff = attempt < maxAttempts ? backoff(ex, attempt) : null;
+                if(backoff == null){
+                    throw ex;
+                }
+                log.warn("External call failed, retrying | attempt={} | backoff={} | message={}", attempt, backoff, ex.getMessage());
+                sleep(backoff, ex);
+            }
+        }
+    }
+
+    /**
+     * @return this policy for retryWhen of a WebClient call, RestTemplate and WebClient failures are told apart alike
+     */
+    public Retry reactive() {
+        return Retry.from(signals -> signals.concatMap(signal -> {
+            Throwable failure = signal.failure();
+            int attempt = (int) signal.totalRetries() + 1;
+            Duration backoff = failure instanceof RuntimeException ex && attempt < maxAttempts ? backoff(ex, attempt) : null;
+            if(backoff == null){
+                return Mono.error(failure);
+            }
+            log.warn("External call failed, retrying | attempt={} | backoff={} | message={}", attempt, backoff, failure.getMessage());
+            return Mono.delay(backoff);
+        }));
+    }
+
+    /**
+     * @param ex failure of the last attempt
+     * @param attempt attempts made so far
+     * @return wait before the next attempt, null if the failure should not be retried
+     */
+    Duration backoff(RuntimeException ex, int attempt) {
+        if(ex instanceof HttpClientErrorException.TooManyRequests tooManyRequests){
+            Duration retryAfter = tooManyRequests.getResponseHeaders() == null ? null : RateLimitInterceptor.retryAfter(tooManyRequests.getResponseHeaders());
+            return retryAfter != null && retryAfter.compareTo(maxBackoff) <= 0 ? retryAfter : null;
+        }
+        if(ex instanceof WebClientResponseException.TooManyRequests tooManyRequests){
+            Duration retryAfter = RateLimitInterceptor.retryAfter(tooManyRequests.getHeaders());
+            return retryAfter != null && retryAfter.compareTo(maxBackoff) <= 0 ? retryAfter : null;
+        }
+        boolean serverError = ex instanceof HttpServerErrorException
+                || ex instanceof WebClientResponseException response && response.getStatusCode().is5xxServerError();
+        if(!(serverError || ex instanceof ResourceAccessException || ex instanceof WebClientRequestException)){
+            return null;
+        }
+
+        // full jitter: uniform between zero and the capped exponential backoff
+        long ceiling = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(attempt - 1, 30));
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    }
+
+    private void sleep(Duration backoff, RuntimeException failure) {
+        try {
+            Thread.sleep(backoff.toMillis());
+        } catch (InterruptedException ex){
+            Thread.currentThread().interrupt();
+            throw failure;
+        }
+    }
+}
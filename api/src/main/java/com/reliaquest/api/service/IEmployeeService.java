@@ -1,7 +1,10 @@
 package com.reliaquest.api.service;
 
+import com.reliaquest.api.dto.request.EmployeePageRequest;
 import com.reliaquest.api.dto.request.EmployeeRequest;
+import com.reliaquest.api.dto.response.BatchResponse;
 import com.reliaquest.api.dto.response.EmployeeResponse;
+import com.reliaquest.api.dto.response.PageResponse;
 
 import java.util.List;
 
@@ -9,8 +12,15 @@ public interface IEmployeeService {
 
     List<EmployeeResponse> getAllEmployees();
 
+    /**
+     * @return version of the cached roster, changes whenever any employee does, or null if the roster is not cached
+     */
+    String getEmployeesVersion();
+
     List<EmployeeResponse> getEmployeesByName(String searchString);
 
+    PageResponse<EmployeeResponse> getEmployeesPage(String searchString, EmployeePageRequest pageRequest);
+
     EmployeeResponse getEmployeeById(String id);
 
     Integer getHighestSalary();
@@ -19,5 +29,9 @@ public interface IEmployeeService {
 
     EmployeeResponse createEmployee(EmployeeRequest employeeInput);
 
+    BatchResponse<EmployeeResponse> createEmployees(List<EmployeeRequest> employeeInputs);
+
     String deleteEmployee(String id);
+
+    BatchResponse<String> deleteEmployees(List<String> ids);
 }
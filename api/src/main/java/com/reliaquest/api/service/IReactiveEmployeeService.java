@@ -0,0 +1,24 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.dto.request.EmployeeRequest;
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface IReactiveEmployeeService {
+
+    Mono<List<EmployeeResponse>> getAllEmployees();
+
+    Mono<List<EmployeeResponse>> getEmployeesByName(String searchString);
+
+    Mono<EmployeeResponse> getEmployeeById(String id);
+
+    Mono<Integer> getHighestSalary();
+
+    Mono<List<String>> getTopHighestEarningEmployeesNames(int size);
+
+    Mono<EmployeeResponse> createEmployee(EmployeeRequest employeeInput);
+
+    Mono<String> deleteEmployee(String id);
+}
@@ -1,10 +1,24 @@
 package com.reliaquest.api.service.impl;
 
+import com.reliaquest.api.cache.ICacheManager;
+import com.reliaquest.api.cache.index.NameSearchIndex;
+import com.reliaquest.api.cache.index.SalaryIndex;
+import com.reliaquest.api.dto.request.EmployeePageRequest;
 import com.reliaquest.api.dto.request.EmployeeRequest;
+import com.reliaquest.api.dto.response.BatchItemResult;
+import com.reliaquest.api.dto.response.BatchResponse;
+import com.reliaquest.api.dto.response.EmployeeField;
 import com.reliaquest.api.dto.response.EmployeeResponse;
+import com.reliaquest.api.dto.response.PageResponse;
+import com.reliaquest.api.exception.BadRequestException;
+import com.reliaquest.api.exception.InvalidPageRequestException;
+import com.reliaquest.api.exception.TooManyRequestsException;
 import com.reliaquest.api.external.IExternalService;
+import com.reliaquest.api.external.dto.ExternalEmployeeQuery;
 import com.reliaquest.api.service.IEmployeeService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -18,8 +32,22 @@ public class EmployeeServiceImpl implements IEmployeeService {
 
     IExternalService externalService;
 
-    public EmployeeServiceImpl(IExternalService externalService){
+    ICacheManager cacheManager;
+
+    /**
+     * Largest page requested from the external service while pushing a name search down.
+     */
+    private static final int PUSH_DOWN_PAGE_SIZE = 10000;
+
+    /**
+     * When the roster is not cached, filter on the external service instead of loading the whole roster first.
+     */
+    @Value("${mock.external.push-down-queries:false}")
+    boolean pushDownQueries;
+
+    public EmployeeServiceImpl(IExternalService externalService, ICacheManager cacheManager){
         this.externalService = externalService;
+        this.cacheManager = cacheManager;
     }
 
     /**
@@ -31,20 +59,120 @@ public class EmployeeServiceImpl implements IEmployeeService {
         return externalService.getAllEmployees();
     }
 
+    /**
+     * Returns the version of the cached roster, used as the ETag of the full employee list
+     * @return String
+     */
+    @Override
+    public String getEmployeesVersion() {
+        return cacheManager.getVersion();
+    }
+
     /**
      * Returns all employees by calling external service with searchString.
-     * It will return employees whose name contains the searchString in lowercase
+     * It will return employees whose name contains the searchString in lowercase.
+     * Served from the name search index of the cached roster, falls back to scanning the roster.
+     * Pushed down to the external service when enabled and the roster is not cached.
      *
      * @param searchString
      * @return List<EmployeeResponse>
      */
     @Override
     public List<EmployeeResponse> getEmployeesByName(String searchString) {
+        if(pushDown()){
+            List<EmployeeResponse> matches = new ArrayList<>();
+            PageResponse<EmployeeResponse> page;
+            do {
+                page = externalService.findEmployees(ExternalEmployeeQuery.builder()
+                        .page(matches.size() / PUSH_DOWN_PAGE_SIZE)
+                        .size(PUSH_DOWN_PAGE_SIZE)
+                        .nameContains(searchString)
+                        .build());
+                matches.addAll(page.getContent());
+            } while(!page.getContent().isEmpty() && matches.size() < page.getTotalElements());
+            return matches;
+        }
+
         List<EmployeeResponse> employeeResponses = externalService.getAllEmployees();
+
+        NameSearchIndex nameSearchIndex = cacheManager.getNameSearchIndex();
+        if(nameSearchIndex != null){
+            return nameSearchIndex.search(searchString);
+        }
+
         String searchStringLowerCase = searchString.toLowerCase();
         return employeeResponses.stream().filter(employee -> employee.getEmployeeName().toLowerCase().contains(searchStringLowerCase)).toList();
     }
 
+    /**
+     * Returns a single page of all employees, or of the employees whose name contains the searchString.
+     * Pages are views over the cached roster, the roster is only copied when sorting by something other than salary descending.
+     *
+     * @param searchString name fragment, all employees when null
+     * @param pageRequest
+     * Unsorted pages are pushed down to the external service when enabled and the roster is not cached.
+     *
+     * @return PageResponse<EmployeeResponse>
+     */
+    @Override
+    public PageResponse<EmployeeResponse> getEmployeesPage(String searchString, EmployeePageRequest pageRequest) {
+        if((pageRequest.getSort() == null || pageRequest.getSort().isBlank()) && pushDown()){
+            return externalService.findEmployees(ExternalEmployeeQuery.builder()
+                    .page(pageRequest.getPage())
+                    .size(pageRequest.getSize())
+                    .nameContains(searchString)
+                    .build());
+        }
+
+        List<EmployeeResponse> employeeResponses = searchString == null ? getAllEmployees() : getEmployeesByName(searchString);
+        List<EmployeeResponse> sortedEmployees = sort(employeeResponses, pageRequest.getSort(), searchString == null);
+
+        int size = pageRequest.getSize();
+        int total = sortedEmployees.size();
+        int from = (int) Math.min((long) pageRequest.getPage() * size, total);
+        int to = Math.min(from + size, total);
+
+        return PageResponse.<EmployeeResponse>builder()
+                .content(sortedEmployees.subList(from, to))
+                .page(pageRequest.getPage())
+                .size(size)
+                .totalElements(total)
+                .totalPages((total + size - 1) / size)
+                .build();
+    }
+
+    /**
+     * Sorts employees by "field[,asc|desc]".
+     * Salary descending over the whole roster is served from the salary index, without copying.
+     */
+    private List<EmployeeResponse> sort(List<EmployeeResponse> employeeResponses, String sort, boolean wholeRoster) {
+        if(sort == null || sort.isBlank()){
+            return employeeResponses;
+        }
+
+        String[] sortParts = sort.split(",");
+        EmployeeField field = EmployeeField.fromFieldName(sortParts[0].trim());
+        boolean descending = false;
+        if(sortParts.length > 1){
+            String direction = sortParts[1].trim();
+            if(!direction.equalsIgnoreCase("asc") && !direction.equalsIgnoreCase("desc")){
+                throw new InvalidPageRequestException("Sort direction should be asc or desc");
+            }
+            descending = direction.equalsIgnoreCase("desc");
+        }
+
+        if(wholeRoster && descending && field == EmployeeField.EMPLOYEE_SALARY){
+            SalaryIndex salaryIndex = cacheManager.getSalaryIndex();
+            if(salaryIndex != null && salaryIndex.size() == employeeResponses.size()){
+                return salaryIndex.getEmployeesBySalary();
+            }
+        }
+
+        List<EmployeeResponse> sortedEmployees = new ArrayList<>(employeeResponses);
+        sortedEmployees.sort(descending ? field.getComparator().reversed() : field.getComparator());
+        return sortedEmployees;
+    }
+
     /**
      * Returns single employee details by employee id
      *
@@ -57,14 +185,26 @@ public class EmployeeServiceImpl implements IEmployeeService {
     }
 
     /**
-     * Returns the highest salary available among all employees
+     * Returns the highest salary available among all employees.
+     * Served from the salary index of the cached roster, falls back to scanning the roster.
+     * Pushed down to the external service when enabled and the roster is not cached.
      * @return Integer
      */
     @Override
     public Integer getHighestSalary() {
-        int maxSalary = 0;
+        if(pushDown()){
+            List<EmployeeResponse> top = externalService.findEmployees(ExternalEmployeeQuery.builder().top(1).build()).getContent();
+            return top.isEmpty() ? 0 : top.get(0).getEmployeeSalary();
+        }
 
         List<EmployeeResponse> employeeResponses = externalService.getAllEmployees();
+
+        SalaryIndex salaryIndex = cacheManager.getSalaryIndex();
+        if(salaryIndex != null){
+            return salaryIndex.getHighestSalary();
+        }
+
+        int maxSalary = 0;
         for(EmployeeResponse employeeResponse: employeeResponses){
             if(employeeResponse.getEmployeeSalary() > maxSalary){
                 maxSalary = employeeResponse.getEmployeeSalary();
@@ -75,14 +215,27 @@ public class EmployeeServiceImpl implements IEmployeeService {
     }
 
     /**
-     * Returns top N highest earning employees
+     * Returns top N highest earning employees.
+     * Served from the salary index of the cached roster, falls back to a bounded heap over the roster.
+     * Pushed down to the external service when enabled and the roster is not cached.
      * @param size
      * @return List<String>
      */
     @Override
     public List<String> getTopHighestEarningEmployeesNames(int size) {
+        if(pushDown()){
+            return externalService.findEmployees(ExternalEmployeeQuery.builder().top(size).build()).getContent().stream()
+                    .map(EmployeeResponse::getEmployeeName)
+                    .toList();
+        }
+
         List<EmployeeResponse> employeeResponses = externalService.getAllEmployees();
 
+        SalaryIndex salaryIndex = cacheManager.getSalaryIndex();
+        if(salaryIndex != null){
+            return salaryIndex.getTopEarningEmployeeNames(size);
+        }
+
         Queue<EmployeeResponse> priorityHeap = new PriorityQueue<>((e1, e2) -> e1.getEmployeeSalary() - e2.getEmployeeSalary());
 
         for(EmployeeResponse employeeResponse: employeeResponses){
@@ -110,7 +263,18 @@ public class EmployeeServiceImpl implements IEmployeeService {
     }
 
     /**
-     * Deletes the employee by employee id
+     * Creates all the employees, each one succeeds or fails on its own.
+     * @param employeeInputs
+     * @return BatchResponse<EmployeeResponse>
+     */
+    @Override
+    public BatchResponse<EmployeeResponse> createEmployees(List<EmployeeRequest> employeeInputs) {
+        return toBatchResponse(externalService.createEmployees(employeeInputs));
+    }
+
+    /**
+     * Deletes the employee by employee id.
+     * Employee name is resolved from the cached roster when available, so only the delete goes to the external service.
      * @param id
      * @return
      */
@@ -120,4 +284,76 @@ public class EmployeeServiceImpl implements IEmployeeService {
         externalService.deleteEmployee(response.getEmployeeName());
         return response.getEmployeeName();
     }
+
+    /**
+     * Deletes all the employees by employee id, each one succeeds or fails on its own, and returns their names.
+     * Names are resolved from the cached roster, which is loaded once up front, so only the deletes go to the external service.
+     * @param ids
+     * @return BatchResponse<String>
+     */
+    @Override
+    public BatchResponse<String> deleteEmployees(List<String> ids) {
+        try {
+            externalService.getAllEmployees();
+        } catch (RuntimeException ex){
+            log.warn("Batch delete could not load employees, resolving ids one by one | message={}", ex.getMessage());
+        }
+
+        List<BatchItemResult<String>> results = new ArrayList<>(Collections.nCopies(ids.size(), null));
+        List<String> names = new ArrayList<>();
+        List<Integer> nameIndexes = new ArrayList<>();
+        Set<String> seenIds = new HashSet<>();
+        for(int i = 0; i < ids.size(); i++){
+            String id = ids.get(i);
+            if(!seenIds.add(id)){
+                // deleting by name twice would remove another employee with the same name
+                results.set(i, failedItem(i, HttpStatus.BAD_REQUEST, "Duplicate employee id : " + id));
+                continue;
+            }
+            try {
+                names.add(externalService.getEmployeeById(id).getEmployeeName());
+                nameIndexes.add(i);
+            } catch (TooManyRequestsException ex){
+                results.set(i, failedItem(i, HttpStatus.TOO_MANY_REQUESTS, ex.getMessage()));
+            } catch (BadRequestException ex){
+                results.set(i, failedItem(i, HttpStatus.BAD_REQUEST, ex.getMessage()));
+            } catch (RuntimeException ex){
+                results.set(i, failedItem(i, HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage()));
+            }
+        }
+
+        List<BatchItemResult<String>> deleteResults = names.isEmpty() ? List.of() : externalService.deleteEmployees(names);
+        for(int i = 0; i < deleteResults.size(); i++){
+            BatchItemResult<String> deleteResult = deleteResults.get(i);
+            int index = nameIndexes.get(i);
+            deleteResult.setIndex(index);
+            results.set(index, deleteResult);
+        }
+        return toBatchResponse(results);
+    }
+
+    /**
+     * A warm roster answers from its indexes, only a cold one is worth filtering on the external service
+     */
+    private boolean pushDown() {
+        return pushDownQueries && cacheManager.getEmployees() == null;
+    }
+
+    private static <T> BatchItemResult<T> failedItem(int index, HttpStatus status, String errorMessage) {
+        return BatchItemResult.<T>builder().index(index).status(status.value()).errorMessage(errorMessage).build();
+    }
+
+    private static <T> BatchResponse<T> toBatchResponse(List<BatchItemResult<T>> results) {
+        int succeeded = 0;
+        for(BatchItemResult<T> result : results){
+            if(result.getErrorMessage() == null){
+                succeeded++;
+            }
+        }
+        return BatchResponse.<T>builder()
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .results(results)
+                .build();
+    }
 }
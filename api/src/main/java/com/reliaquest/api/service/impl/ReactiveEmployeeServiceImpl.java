@@ -0,0 +1,129 @@
+package com.reliaquest.api.service.impl;
+
+import com.reliaquest.api.cache.ICacheManager;
+import com.reliaquest.api.cache.index.NameSearchIndex;
+import com.reliaquest.api.cache.index.SalaryIndex;
+import com.reliaquest.api.dto.request.EmployeeRequest;
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import com.reliaquest.api.external.IReactiveExternalService;
+import com.reliaquest.api.service.IReactiveEmployeeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking implementation of IReactiveEmployeeService, enabled with mock.external.client=reactive.
+ * Queries are served from the same cached indexes as EmployeeServiceImpl once the roster is loaded.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "mock.external.client", havingValue = "reactive")
+public class ReactiveEmployeeServiceImpl implements IReactiveEmployeeService {
+
+    IReactiveExternalService externalService;
+
+    ICacheManager cacheManager;
+
+    public ReactiveEmployeeServiceImpl(IReactiveExternalService externalService, ICacheManager cacheManager){
+        this.externalService = externalService;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Returns all employees by calling external service
+     * @return Mono<List<EmployeeResponse>>
+     */
+    @Override
+    public Mono<List<EmployeeResponse>> getAllEmployees() {
+        return externalService.getAllEmployees();
+    }
+
+    /**
+     * Returns all employees whose name contains the searchString ignoring case.
+     * Served from the name search index of the cached roster, falls back to scanning the roster.
+     *
+     * @param searchString
+     * @return Mono<List<EmployeeResponse>>
+     */
+    @Override
+    public Mono<List<EmployeeResponse>> getEmployeesByName(String searchString) {
+        return externalService.getAllEmployees().map(employeeResponses -> {
+            NameSearchIndex nameSearchIndex = cacheManager.getNameSearchIndex();
+            if(nameSearchIndex != null){
+                return nameSearchIndex.search(searchString);
+            }
+
+            String searchStringLowerCase = searchString.toLowerCase();
+            return employeeResponses.stream().filter(employee -> employee.getEmployeeName().toLowerCase().contains(searchStringLowerCase)).toList();
+        });
+    }
+
+    /**
+     * Returns single employee details by employee id
+     *
+     * @param id
+     * @return Mono<EmployeeResponse>
+     */
+    @Override
+    public Mono<EmployeeResponse> getEmployeeById(String id) {
+        return externalService.getEmployeeById(id);
+    }
+
+    /**
+     * Returns the highest salary available among all employees.
+     * Served from the salary index of the cached roster, falls back to indexing the loaded roster.
+     * @return Mono<Integer>
+     */
+    @Override
+    public Mono<Integer> getHighestSalary() {
+        return getSalaryIndex().map(SalaryIndex::getHighestSalary);
+    }
+
+    /**
+     * Returns top N highest earning employees.
+     * Served from the salary index of the cached roster, falls back to indexing the loaded roster.
+     * @param size
+     * @return Mono<List<String>>
+     */
+    @Override
+    public Mono<List<String>> getTopHighestEarningEmployeesNames(int size) {
+        return getSalaryIndex().map(salaryIndex -> salaryIndex.getTopEarningEmployeeNames(size));
+    }
+
+    /**
+     * Creates a new employee and returns the created entity back to user
+     * @param employeeInput
+     * @return Mono<EmployeeResponse>
+     */
+    @Override
+    public Mono<EmployeeResponse> createEmployee(EmployeeRequest employeeInput) {
+        return externalService.createEmployee(employeeInput);
+    }
+
+    /**
+     * Deletes the employee by employee id and returns its name.
+     * Employee name is resolved from the cached roster when available, so only the delete goes to the external service.
+     * @param id
+     * @return Mono<String>
+     */
+    @Override
+    public Mono<String> deleteEmployee(String id) {
+        return externalService.getEmployeeById(id)
+                .flatMap(response -> externalService.deleteEmployee(response.getEmployeeName())
+                        .thenReturn(response.getEmployeeName()));
+    }
+
+    /**
+     * Loads the roster and returns its salary index
+     * @return Mono<SalaryIndex>
+     */
+    private Mono<SalaryIndex> getSalaryIndex() {
+        return externalService.getAllEmployees().map(employeeResponses -> {
+            SalaryIndex salaryIndex = cacheManager.getSalaryIndex();
+            return salaryIndex != null ? salaryIndex : SalaryIndex.of(employeeResponses);
+        });
+    }
+}
@@ -0,0 +1,60 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import org.ehcache.spi.serialization.SerializerException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachedRosterSerializerTest {
+
+    private final CachedRosterSerializer serializer = new CachedRosterSerializer(getClass().getClassLoader());
+
+    @Test
+    void read_returnsSerializedRosterAsColumns() {
+        CachedRoster roster = new CachedRoster(getMockData(), Instant.ofEpochSecond(1_700_000_000L, 42), "\"e-7\"", 3);
+
+        CachedRoster read = serializer.read(serializer.serialize(roster));
+
+        assertEquals(roster, read);
+        assertInstanceOf(ColumnarEmployeeList.class, read.employees());
+        assertNull(read.employees().get(1).getEmployeeAge());
+        assertTrue(serializer.equals(roster, serializer.serialize(roster)));
+    }
+
+    @Test
+    void read_withoutEtagOrEmployees_roundTrips() {
+        CachedRoster roster = new CachedRoster(List.of(), Instant.ofEpochSecond(1_700_000_000L), null, 0);
+
+        assertEquals(roster, serializer.read(serializer.serialize(roster)));
+    }
+
+    @Test
+    void read_truncatedEntry_throws() {
+        ByteBuffer binary = serializer.serialize(new CachedRoster(getMockData(), Instant.now(), "\"e-7\"", 3));
+
+        assertThrows(SerializerException.class, () -> serializer.read(binary.limit(binary.limit() - 4)));
+    }
+
+    private List<EmployeeResponse> getMockData() {
+        return List.of(
+                EmployeeResponse.builder()
+                        .id("1")
+                        .employeeName("Sanket")
+                        .employeeSalary(500000)
+                        .employeeAge(26)
+                        .employeeTitle("Software Developer")
+                        .employeeEmail("sanket@company.com")
+                        .build(),
+                EmployeeResponse.builder()
+                        .id("2")
+                        .employeeName("Shubham")
+                        .employeeSalary(10000)
+                        .employeeTitle("Software Developer")
+                        .build());
+    }
+}
@@ -0,0 +1,125 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarEmployeeListTest {
+
+    @Test
+    void of_presentsSameEmployeesInOrder() {
+        List<EmployeeResponse> employees = getMockData();
+        ColumnarEmployeeList columns = ColumnarEmployeeList.of(employees);
+
+        assertEquals(employees, columns);
+        assertEquals(employees.hashCode(), columns.hashCode());
+        assertEquals(employees.get(1).toString(), columns.get(1).toString());
+    }
+
+    @Test
+    void of_keepsNullFields() {
+        ColumnarEmployeeList columns = ColumnarEmployeeList.of(List.of(EmployeeResponse.builder().id("1").build()));
+
+        EmployeeResponse employee = columns.get(0);
+        assertEquals("1", employee.getId());
+        assertNull(employee.getEmployeeName());
+        assertNull(employee.getEmployeeSalary());
+        assertNull(employee.getEmployeeAge());
+        assertNull(employee.getEmployeeEmail());
+        assertEquals(ColumnarEmployeeList.NO_VALUE, columns.salaryAt(0));
+    }
+
+    @Test
+    void of_poolsRepeatedStrings() {
+        ColumnarEmployeeList columns = ColumnarEmployeeList.of(getMockData());
+
+        // three names and emails, one shared title
+        assertEquals(7, columns.distinctStrings());
+        assertSame(columns.get(0).getEmployeeTitle(), columns.get(2).getEmployeeTitle());
+        assertEquals(100000, columns.salaryAt(2));
+        assertEquals(26, columns.ageAt(2));
+    }
+
+    @Test
+    void of_columnarList_returnsSameList() {
+        ColumnarEmployeeList columns = ColumnarEmployeeList.of(getMockData());
+
+        assertSame(columns, ColumnarEmployeeList.of(columns));
+        assertTrue(ColumnarEmployeeList.of(List.of()).isEmpty());
+    }
+
+    @Test
+    void views_areReadOnly() {
+        ColumnarEmployeeList columns = ColumnarEmployeeList.of(getMockData());
+
+        assertThrows(UnsupportedOperationException.class, () -> columns.get(0).setEmployeeSalary(1));
+        assertThrows(UnsupportedOperationException.class, () -> columns.set(0, columns.get(1)));
+        assertThrows(IndexOutOfBoundsException.class, () -> columns.get(3));
+    }
+
+    @Test
+    void withAppended_addsEmployeeInNextRow() {
+        ColumnarEmployeeList columns = ColumnarEmployeeList.of(getMockData());
+
+        ColumnarEmployeeList updated = columns.withAppended(employee("4", "Amit", 250000));
+
+        assertEquals(3, columns.size());
+        assertEquals(4, updated.size());
+        assertEquals(3, updated.rowAt(3));
+        assertEquals(employee("4", "Amit", 250000), updated.get(3));
+        assertEquals(250000, updated.salaryAt(3));
+        assertEquals(getMockData(), updated.subList(0, 3));
+    }
+
+    @Test
+    void without_keepsRowsOfOtherEmployees() {
+        ColumnarEmployeeList columns = ColumnarEmployeeList.of(getMockData());
+
+        EmployeeRowList updated = columns.without(1).withAppended(employee("4", "Amit", 250000));
+
+        assertEquals(List.of("1", "3", "4"), updated.stream().map(EmployeeResponse::getId).toList());
+        assertEquals(2, updated.rowAt(1));
+        assertEquals(3, updated.rowAt(2));
+        assertEquals(1, updated.removedRows());
+        // the removed row can still be looked up, for the indexes to find it
+        assertEquals("Shubham", updated.nameOfRow(1));
+    }
+
+    @Test
+    void of_patchedColumnarList_dropsRemovedRowsAndPoolsStringsAgain() {
+        EmployeeRowList patched = ColumnarEmployeeList.of(getMockData())
+                .withAppended(employee("4", "Amit", 250000))
+                .without(0);
+
+        ColumnarEmployeeList updated = ColumnarEmployeeList.of(patched);
+
+        assertEquals(patched, updated);
+        assertEquals(0, updated.removedRows());
+        assertEquals(2, updated.rowAt(2));
+        // three names and emails, one shared title
+        assertEquals(7, updated.distinctStrings());
+        assertSame(updated, updated.compacted());
+        assertSame(updated, ColumnarEmployeeList.of(updated));
+    }
+
+    private List<EmployeeResponse> getMockData() {
+        return List.of(
+                employee("1", "Sanket", 500000),
+                employee("2", "Shubham", 10000),
+                employee("3", "Dnyanesh", 100000));
+    }
+
+    private EmployeeResponse employee(String id, String name, int salary) {
+        return EmployeeResponse.builder()
+                .id(id)
+                .employeeName(name)
+                .employeeSalary(salary)
+                .employeeAge(26)
+                .employeeTitle("Software Developer")
+                .employeeEmail(name.toLowerCase() + "@company.com")
+                .build();
+    }
+}
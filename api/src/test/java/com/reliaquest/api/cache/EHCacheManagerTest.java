@@ -0,0 +1,422 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.cache.impl.EHCacheManager;
+import com.reliaquest.api.configuration.AppConfiguration;
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import org.ehcache.Cache;
+import org.ehcache.CacheManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EHCacheManagerTest {
+
+    private CacheManager ehCacheManager;
+
+    private EHCacheManager cacheManager;
+
+    @BeforeEach
+    void setup() {
+        ehCacheManager = new AppConfiguration().ehCacheManager(Duration.ofMinutes(10), Duration.ofHours(1),
+                DataSize.ofBytes(0), DataSize.ofBytes(0), null);
+        cacheManager = new EHCacheManager(ehCacheManager, Duration.ofMinutes(10), Duration.ofMinutes(1), "objects", Duration.ofSeconds(30));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ehCacheManager.close();
+    }
+
+    @Test
+    void getEmployeeById_whenRosterCached_returnsFromIndex() {
+        cacheManager.setEmployees(getMockData());
+
+        assertEquals("Shubham", cacheManager.getEmployeeById("2").getEmployeeName());
+        assertNull(cacheManager.getEmployeeById("99"));
+    }
+
+    @Test
+    void getEmployeeById_afterInvalidation_returnsNull() {
+        cacheManager.setEmployees(getMockData());
+        cacheManager.invalidateCache();
+
+        assertNull(cacheManager.getEmployeeById("1"));
+    }
+
+    @Test
+    void isStale_whenOlderThanSoftTtl_returnsTrueAndKeepsServing() {
+        EHCacheManager staleCacheManager = new EHCacheManager(ehCacheManager, Duration.ofMinutes(10), Duration.ZERO, "objects", Duration.ofSeconds(30));
+        staleCacheManager.setEmployees(getMockData());
+
+        assertTrue(staleCacheManager.isStale());
+        assertEquals(2, staleCacheManager.getEmployees().size());
+        assertFalse(cacheManager.isStale());
+    }
+
+    @Test
+    void getEmployees_whenOlderThanTtl_returnsNull() {
+        EHCacheManager expiredCacheManager = new EHCacheManager(ehCacheManager, Duration.ZERO, Duration.ZERO, "objects", Duration.ofSeconds(30));
+        expiredCacheManager.setEmployees(getMockData());
+
+        assertNull(expiredCacheManager.getEmployees());
+        assertNull(expiredCacheManager.getEmployeeById("1"));
+        assertFalse(expiredCacheManager.isStale());
+    }
+
+    @Test
+    void getEmployeesSnapshot_whenOlderThanTtl_returnsLastRoster() {
+        EHCacheManager expiredCacheManager = new EHCacheManager(ehCacheManager, Duration.ZERO, Duration.ZERO, "objects", Duration.ofSeconds(30));
+        expiredCacheManager.setEmployees(getMockData());
+
+        assertEquals(2, expiredCacheManager.getEmployeesSnapshot().size());
+
+        expiredCacheManager.invalidateCache();
+        assertNull(expiredCacheManager.getEmployeesSnapshot());
+    }
+
+    @Test
+    void getSnapshotEmployeeById_whenOlderThanTtl_returnsFromIndex() {
+        EHCacheManager expiredCacheManager = new EHCacheManager(ehCacheManager, Duration.ZERO, Duration.ZERO, "objects", Duration.ofSeconds(30));
+        expiredCacheManager.setEmployees(getMockData());
+
+        assertNull(expiredCacheManager.getEmployeeById("2"));
+        assertEquals("Shubham", expiredCacheManager.getSnapshotEmployeeById("2").getEmployeeName());
+        assertNull(expiredCacheManager.getSnapshotEmployeeById("99"));
+        assertNull(expiredCacheManager.getSnapshotEmployeeById(null));
+
+        expiredCacheManager.invalidateCache();
+        assertNull(expiredCacheManager.getSnapshotEmployeeById("2"));
+    }
+
+    @Test
+    void addEmployee_appendsToRosterAndIndex() {
+        List<EmployeeResponse> original = getMockData();
+        cacheManager.setEmployees(original);
+
+        cacheManager.addEmployee(employee("3", "Dnyanesh", 100000));
+
+        assertEquals(3, cacheManager.getEmployees().size());
+        assertEquals("Dnyanesh", cacheManager.getEmployeeById("3").getEmployeeName());
+        assertEquals(2, original.size());
+    }
+
+    @Test
+    void addEmployee_whenRosterNotCached_doesNothing() {
+        cacheManager.addEmployee(employee("3", "Dnyanesh", 100000));
+
+        assertNull(cacheManager.getEmployees());
+        assertNull(cacheManager.getEmployeeById("3"));
+    }
+
+    @Test
+    void removeEmployeeByName_removesFirstMatchIgnoringCase() {
+        cacheManager.setEmployees(getMockData());
+
+        EmployeeResponse removed = cacheManager.removeEmployeeByName("sanket");
+
+        assertEquals("1", removed.getId());
+        assertEquals(1, cacheManager.getEmployees().size());
+        assertNull(cacheManager.getEmployeeById("1"));
+        assertNotNull(cacheManager.getEmployeeById("2"));
+    }
+
+    @Test
+    void removeEmployeeByName_whenNotFound_keepsRoster() {
+        cacheManager.setEmployees(getMockData());
+
+        assertNull(cacheManager.removeEmployeeByName("incorrect"));
+        assertEquals(2, cacheManager.getEmployees().size());
+    }
+
+    @Test
+    void addEmployees_appendsNewEmployeesOnce() {
+        cacheManager.setEmployees(getMockData());
+
+        cacheManager.addEmployees(List.of(employee("3", "Dnyanesh", 900000), employee("1", "Sanket", 500000)));
+
+        assertEquals(3, cacheManager.getEmployees().size());
+        assertEquals(900000, cacheManager.getSalaryIndex().getHighestSalary());
+        assertEquals("Dnyanesh", cacheManager.getEmployeeById("3").getEmployeeName());
+    }
+
+    @Test
+    void removeEmployeesByName_removesFirstMatchPerName() {
+        List<EmployeeResponse> employees = getMockData();
+        employees.add(employee("3", "Sanket", 20000));
+        employees.add(employee("4", "sanket", 30000));
+        cacheManager.setEmployees(employees);
+
+        cacheManager.removeEmployeesByName(List.of("SANKET", "sanket", "Unknown"));
+
+        List<EmployeeResponse> remaining = cacheManager.getEmployees();
+        assertEquals(List.of("2", "4"), remaining.stream().map(EmployeeResponse::getId).toList());
+        assertNull(cacheManager.getEmployeeById("1"));
+        assertEquals(1, cacheManager.getNameSearchIndex().search("sank").size());
+    }
+
+    @Test
+    void getVersion_changesWithEveryRosterUpdate() {
+        assertNull(cacheManager.getVersion());
+
+        cacheManager.setEmployees(getMockData(), "\"v1\"");
+        String loaded = cacheManager.getVersion();
+        cacheManager.addEmployee(employee("3", "Dnyanesh", 100000));
+        String patched = cacheManager.getVersion();
+
+        assertNotNull(loaded);
+        assertNotEquals(loaded, patched);
+        assertEquals("\"v1\"", cacheManager.getEtag());
+    }
+
+    @Test
+    void renewEmployees_whenEtagMatches_restartsTtlAndKeepsVersion() throws InterruptedException {
+        EHCacheManager shortLivedCacheManager = new EHCacheManager(ehCacheManager, Duration.ofMillis(200), Duration.ZERO, "objects", Duration.ofSeconds(30));
+        shortLivedCacheManager.setEmployees(getMockData(), "\"v1\"");
+        String version = shortLivedCacheManager.getVersion();
+        Thread.sleep(250);
+        assertNull(shortLivedCacheManager.getEmployees());
+
+        assertNull(shortLivedCacheManager.renewEmployees("\"v0\""));
+        assertEquals(2, shortLivedCacheManager.renewEmployees("\"v1\"").size());
+
+        assertEquals(2, shortLivedCacheManager.getEmployees().size());
+        assertEquals(version, shortLivedCacheManager.getVersion());
+        assertEquals("Shubham", shortLivedCacheManager.getEmployeeById("2").getEmployeeName());
+    }
+
+    @Test
+    void setEmployees_afterWriteSinceRevision_keepsCachedRoster() {
+        cacheManager.setEmployees(getMockData(), "\"e-1\"");
+        long revision = cacheManager.getRevision();
+        cacheManager.addEmployee(employee("3", "Dnyanesh", 100000));
+
+        assertFalse(cacheManager.setEmployees(getMockData(), "\"e-2\"", revision));
+        assertEquals(3, cacheManager.getEmployees().size());
+        assertEquals("\"e-1\"", cacheManager.getEtag());
+
+        assertTrue(cacheManager.setEmployees(getMockData(), "\"e-2\"", cacheManager.getRevision()));
+        assertEquals(2, cacheManager.getEmployees().size());
+    }
+
+    @Test
+    void applyChanges_appliesCreatesAndDeletesOnce() {
+        cacheManager.setEmployees(getMockData(), "\"e-1\"");
+        cacheManager.addEmployee(employee("3", "Dnyanesh", 100000));
+        String version = cacheManager.getVersion();
+
+        // the create of 3 was already applied locally when it was made
+        boolean applied = cacheManager.applyChanges("\"e-1\"", List.of(
+                RosterChange.created(employee("3", "Dnyanesh", 100000)),
+                RosterChange.deleted(employee("1", "Sanket", 500000)),
+                RosterChange.created(employee("4", "Amit", 900000))), "\"e-4\"");
+
+        assertTrue(applied);
+        assertEquals(List.of("2", "3", "4"), cacheManager.getEmployees().stream().map(EmployeeResponse::getId).toList());
+        assertEquals(900000, cacheManager.getSalaryIndex().getHighestSalary());
+        assertEquals("\"e-4\"", cacheManager.getEtag());
+        assertNotEquals(version, cacheManager.getVersion());
+    }
+
+    @Test
+    void applyChanges_fewChanges_patchesIndexes() {
+        cacheManager.setEmployees(getMockData(), "\"e-1\"");
+
+        cacheManager.applyChanges("\"e-1\"", List.of(
+                RosterChange.deleted(employee("1", "Sanket", 500000)),
+                RosterChange.created(employee("3", "Dnyanesh", 100000))), "\"e-3\"");
+
+        // a rebuild would have compacted the rows, a patch leaves the deleted employee's row behind
+        EmployeeRowList patched = (EmployeeRowList) cacheManager.getEmployees();
+        assertEquals(1, patched.removedRows());
+        assertEquals(List.of("2", "3"), patched.stream().map(EmployeeResponse::getId).toList());
+        assertNull(cacheManager.getEmployeeById("1"));
+        assertEquals("Dnyanesh", cacheManager.getEmployeeById("3").getEmployeeName());
+        assertEquals(List.of("Dnyanesh", "Shubham"), cacheManager.getSalaryIndex().getTopEarningEmployeeNames(10));
+        assertTrue(cacheManager.getNameSearchIndex().search("sanket").isEmpty());
+        assertEquals(1, cacheManager.getNameSearchIndex().search("dnyan").size());
+    }
+
+    @Test
+    void applyChanges_manyChanges_rebuildsIndexesOnce() {
+        cacheManager.setEmployees(getMockData(), "\"e-1\"");
+        List<RosterChange> changes = new ArrayList<>();
+        changes.add(RosterChange.deleted(employee("1", "Sanket", 500000)));
+        for(int i = 3; i < 303; i++){
+            changes.add(RosterChange.created(employee(String.valueOf(i), "Employee " + i, i)));
+        }
+
+        assertTrue(cacheManager.applyChanges("\"e-1\"", changes, "\"e-302\""));
+
+        EmployeeRowList rebuilt = (EmployeeRowList) cacheManager.getEmployees();
+        assertEquals(0, rebuilt.removedRows());
+        assertEquals(301, rebuilt.size());
+        assertEquals(10000, cacheManager.getSalaryIndex().getHighestSalary());
+        assertEquals("Employee 302", cacheManager.getEmployeeById("302").getEmployeeName());
+        assertNull(cacheManager.getEmployeeById("1"));
+    }
+
+    @Test
+    void applyChanges_whenEtagDiffers_appliesNothing() {
+        cacheManager.setEmployees(getMockData(), "\"e-2\"");
+
+        assertFalse(cacheManager.applyChanges("\"e-1\"", List.of(RosterChange.deleted(employee("1", "Sanket", 500000))), "\"e-3\""));
+        assertEquals(2, cacheManager.getEmployees().size());
+    }
+
+    @Test
+    void applyChanges_withoutChanges_keepsVersion() {
+        cacheManager.setEmployees(getMockData(), "\"e-1\"");
+        String version = cacheManager.getVersion();
+
+        assertTrue(cacheManager.applyChanges("\"e-1\"", List.of(), "\"e-1\""));
+        assertEquals(version, cacheManager.getVersion());
+    }
+
+    @Test
+    void columnarLayout_keepsIndexesInStepWithRoster() {
+        EHCacheManager columnarCacheManager = new EHCacheManager(ehCacheManager, Duration.ofMinutes(10), Duration.ofMinutes(1), "columnar", Duration.ofSeconds(30));
+        columnarCacheManager.setEmployees(getMockData());
+
+        assertInstanceOf(ColumnarEmployeeList.class, columnarCacheManager.getEmployees());
+        assertEquals(getMockData(), columnarCacheManager.getEmployees());
+
+        columnarCacheManager.addEmployee(employee("3", "Dnyanesh", 900000));
+        EmployeeResponse removed = columnarCacheManager.removeEmployeeByName("sanket");
+
+        assertEquals("1", removed.getId());
+        assertEquals(List.of("2", "3"), columnarCacheManager.getEmployees().stream().map(EmployeeResponse::getId).toList());
+        assertEquals(900000, columnarCacheManager.getSalaryIndex().getHighestSalary());
+        assertEquals(2, columnarCacheManager.getSalaryIndex().size());
+        assertEquals("Dnyanesh", columnarCacheManager.getEmployeeById("3").getEmployeeName());
+        assertNull(columnarCacheManager.getEmployeeById("1"));
+        assertTrue(columnarCacheManager.getNameSearchIndex().search("sanket").isEmpty());
+    }
+
+    @Test
+    void columnarLayout_afterManyRemovals_compactsRows() {
+        EHCacheManager columnarCacheManager = new EHCacheManager(ehCacheManager, Duration.ofMinutes(10), Duration.ofMinutes(1), "columnar", Duration.ofSeconds(30));
+        columnarCacheManager.setEmployees(getMockData());
+        for(int i = 3; i <= 10; i++){
+            columnarCacheManager.addEmployee(employee(String.valueOf(i), "Employee " + i, i * 100000));
+        }
+
+        for(int i = 3; i <= 7; i++){
+            columnarCacheManager.removeEmployeeByName("Employee " + i);
+        }
+        ColumnarEmployeeList patched = (ColumnarEmployeeList) columnarCacheManager.getEmployees();
+        assertEquals(5, patched.size());
+        assertEquals(5, patched.removedRows());
+
+        columnarCacheManager.removeEmployeeByName("Sanket");
+        ColumnarEmployeeList compacted = (ColumnarEmployeeList) columnarCacheManager.getEmployees();
+
+        assertEquals(List.of("2", "8", "9", "10"), compacted.stream().map(EmployeeResponse::getId).toList());
+        assertEquals(0, compacted.removedRows());
+        assertEquals(List.of("Employee 10", "Employee 9", "Employee 8", "Shubham"),
+                columnarCacheManager.getSalaryIndex().getTopEarningEmployeeNames(10));
+        assertEquals("Employee 9", columnarCacheManager.getEmployeeById("9").getEmployeeName());
+        assertNull(columnarCacheManager.getEmployeeById("7"));
+        assertEquals(3, columnarCacheManager.getNameSearchIndex().search("employee").size());
+    }
+
+    @Test
+    void unknownLayout_isRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new EHCacheManager(ehCacheManager, Duration.ofMinutes(10), Duration.ofMinutes(1), "rows", Duration.ofSeconds(30)));
+    }
+
+    @Test
+    void diskTier_restoresRosterAndIndexesAfterRestart(@TempDir Path diskPath) throws InterruptedException {
+        CacheManager tieredCacheManager = tieredCacheManager(diskPath);
+        EHCacheManager persistingCacheManager = new EHCacheManager(tieredCacheManager, Duration.ofMinutes(10), Duration.ofMinutes(1), "objects", Duration.ofHours(1));
+        persistingCacheManager.setEmployees(getMockData(), "\"e-1\"");
+        // the roster still waits for the persist delay, shutdown writes it
+        persistingCacheManager.close();
+        tieredCacheManager.close();
+
+        CacheManager restartedCacheManager = tieredCacheManager(diskPath);
+        try {
+            EHCacheManager restored = new EHCacheManager(restartedCacheManager, Duration.ofMinutes(10), Duration.ofMinutes(1), "objects", Duration.ofHours(1));
+
+            assertEquals(getMockData(), restored.getEmployees());
+            assertEquals("\"e-1\"", restored.getEtag());
+            assertEquals(500000, restored.getSalaryIndex().getHighestSalary());
+            assertEquals("Shubham", restored.getEmployeeById("2").getEmployeeName());
+
+            // the cached employees are copies read back from the tiers, not the indexed objects
+            restored.removeEmployeeByName("Sanket");
+            assertEquals(10000, restored.getSalaryIndex().getHighestSalary());
+            assertTrue(restored.getNameSearchIndex().search("sanket").isEmpty());
+            restored.close();
+        } finally {
+            restartedCacheManager.close();
+        }
+    }
+
+    @Test
+    void diskTier_writesRosterAfterPersistDelayButNotRenewals(@TempDir Path diskPath) throws InterruptedException {
+        CacheManager tieredCacheManager = tieredCacheManager(diskPath);
+        try {
+            EHCacheManager persistingCacheManager = new EHCacheManager(tieredCacheManager, Duration.ofMinutes(10), Duration.ofMinutes(1), "objects", Duration.ofMillis(100));
+            Cache<String, CachedRoster> persisted = tieredCacheManager.getCache("employees_persisted", String.class, CachedRoster.class);
+
+            persistingCacheManager.setEmployees(getMockData(), "\"e-1\"");
+            assertNull(persisted.get("employees"));
+            CachedRoster written = awaitPersisted(persisted);
+            assertEquals(getMockData(), written.employees());
+
+            // a renewal only restarts the TTL, the tiers keep the roster written before
+            persistingCacheManager.renewEmployees("\"e-1\"");
+            Thread.sleep(300);
+            assertEquals(written.loadedAt(), persisted.get("employees").loadedAt());
+
+            persistingCacheManager.addEmployee(employee("3", "Dnyanesh", 100000));
+            persistingCacheManager.close();
+            assertEquals(3, persisted.get("employees").employees().size());
+        } finally {
+            tieredCacheManager.close();
+        }
+    }
+
+    private CachedRoster awaitPersisted(Cache<String, CachedRoster> persisted) throws InterruptedException {
+        for(int i = 0; i < 100; i++){
+            CachedRoster roster = persisted.get("employees");
+            if(roster != null){
+                return roster;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Roster was not persisted");
+    }
+
+    private CacheManager tieredCacheManager(Path diskPath) {
+        return new AppConfiguration().ehCacheManager(Duration.ofMinutes(10), Duration.ofHours(1),
+                DataSize.ofMegabytes(1), DataSize.ofMegabytes(8), diskPath.toString());
+    }
+
+    private List<EmployeeResponse> getMockData() {
+        List<EmployeeResponse> employees = new ArrayList<>();
+        employees.add(employee("1", "Sanket", 500000));
+        employees.add(employee("2", "Shubham", 10000));
+        return employees;
+    }
+
+    private EmployeeResponse employee(String id, String name, int salary) {
+        return EmployeeResponse.builder()
+                .id(id)
+                .employeeName(name)
+                .employeeSalary(salary)
+                .employeeAge(26)
+                .employeeTitle("Software Developer")
+                .build();
+    }
+}
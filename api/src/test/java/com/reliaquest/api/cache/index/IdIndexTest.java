@@ -0,0 +1,77 @@
+package com.reliaquest.api.cache.index;
+
+import com.reliaquest.api.cache.EmployeeRowList;
+import com.reliaquest.api.cache.ObjectEmployeeList;
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdIndexTest {
+
+    @Test
+    void get_returnsEmployeeWithId() {
+        IdIndex idIndex = IdIndex.of(List.of(employee("1", "Sanket"), employee("2", "Shubham")));
+
+        assertEquals("Shubham", idIndex.get("2").getEmployeeName());
+        assertTrue(idIndex.contains("1"));
+        assertNull(idIndex.get("3"));
+        assertNull(idIndex.get(null));
+        assertEquals(1, idIndex.rowOf("2"));
+        assertEquals(-1, idIndex.rowOf("3"));
+        assertEquals(2, idIndex.size());
+    }
+
+    @Test
+    void of_repeatedId_findsLastEmployee() {
+        IdIndex idIndex = IdIndex.of(List.of(employee("1", "Sanket"), employee("1", "Shubham"), employee(null, "Amit")));
+
+        assertEquals("Shubham", idIndex.get("1").getEmployeeName());
+        assertEquals(1, idIndex.size());
+    }
+
+    @Test
+    void with_manyEmployees_growsAndFindsEveryOne() {
+        EmployeeRowList employees = ObjectEmployeeList.of(List.of());
+        IdIndex idIndex = IdIndex.of(employees);
+        for(int i = 0; i < 1000; i++){
+            employees = employees.withAppended(employee(String.valueOf(i), "Employee " + i));
+            idIndex = idIndex.with(employees, employees.rowAt(i));
+        }
+
+        assertEquals(1000, idIndex.size());
+        for(int i = 0; i < 1000; i++){
+            assertEquals("Employee " + i, idIndex.get(String.valueOf(i)).getEmployeeName());
+        }
+    }
+
+    @Test
+    void without_keepsOtherEmployeesReachable() {
+        EmployeeRowList employees = ObjectEmployeeList.of(List.of());
+        for(int i = 0; i < 1000; i++){
+            employees = employees.withAppended(employee(String.valueOf(i), "Employee " + i));
+        }
+        IdIndex idIndex = IdIndex.of(employees);
+
+        // every third employee, so the freed slots sit between entries that probed past them
+        for(int i = 999; i >= 0; i -= 3){
+            int row = employees.rowAt(i);
+            employees = employees.without(i);
+            idIndex = idIndex.without(employees, row);
+        }
+
+        assertEquals(employees.size(), idIndex.size());
+        for(int i = 0; i < 1000; i++){
+            assertEquals((999 - i) % 3 != 0, idIndex.contains(String.valueOf(i)), "id " + i);
+        }
+    }
+
+    private EmployeeResponse employee(String id, String name) {
+        return EmployeeResponse.builder()
+                .id(id)
+                .employeeName(name)
+                .build();
+    }
+}
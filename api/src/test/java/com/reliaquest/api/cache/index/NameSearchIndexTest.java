@@ -0,0 +1,91 @@
+package com.reliaquest.api.cache.index;
+
+import com.reliaquest.api.cache.ColumnarEmployeeList;
+import com.reliaquest.api.cache.EmployeeRowList;
+import com.reliaquest.api.cache.ObjectEmployeeList;
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameSearchIndexTest {
+
+    @Test
+    void search_matchesSubstringIgnoringCase_inRosterOrder() {
+        NameSearchIndex nameSearchIndex = NameSearchIndex.of(getMockData());
+
+        assertEquals(List.of("Sanket", "Shubham", "Dnyanesh"), names(nameSearchIndex.search("s")));
+        assertEquals(List.of("Dnyanesh"), names(nameSearchIndex.search("YANE")));
+        assertEquals(List.of("Shubham"), names(nameSearchIndex.search("ubha")));
+        assertTrue(nameSearchIndex.search("incorrect").isEmpty());
+    }
+
+    @Test
+    void with_makesNewEmployeeSearchable() {
+        EmployeeRowList employees = ObjectEmployeeList.of(getMockData());
+        EmployeeRowList updated = employees.withAppended(employee("4", "Shubhangi"));
+
+        NameSearchIndex nameSearchIndex = NameSearchIndex.of(employees).with(updated, updated.rowAt(3));
+
+        assertEquals(List.of("Shubham", "Shubhangi"), names(nameSearchIndex.search("shubh")));
+        assertEquals(List.of("Shubhangi"), names(nameSearchIndex.search("angi")));
+    }
+
+    @Test
+    void without_removesOnlyThatEmployee() {
+        EmployeeRowList employees = ObjectEmployeeList.of(getMockData());
+        NameSearchIndex nameSearchIndex = NameSearchIndex.of(employees).without(employees.without(1), employees.rowAt(1));
+
+        assertTrue(nameSearchIndex.search("shubham").isEmpty());
+        assertEquals(List.of("Sanket", "Dnyanesh"), names(nameSearchIndex.search("n")));
+        assertEquals(2, nameSearchIndex.size());
+    }
+
+    @Test
+    void search_columnarRosterAfterRemoval_keepsRosterOrder() {
+        EmployeeRowList columns = ColumnarEmployeeList.of(getMockData());
+        EmployeeRowList updated = columns.without(0).withAppended(employee("4", "Sanjay"));
+
+        NameSearchIndex nameSearchIndex = NameSearchIndex.of(columns)
+                .without(columns.without(0), columns.rowAt(0))
+                .with(updated, updated.rowAt(2));
+
+        assertEquals(List.of("Shubham", "Dnyanesh", "Sanjay"), names(nameSearchIndex.search("s")));
+        assertEquals(List.of("Sanjay"), names(nameSearchIndex.search("SAN")));
+    }
+
+    @Test
+    void withAndWithout_leavePreviousIndexUnchanged() {
+        EmployeeRowList employees = ObjectEmployeeList.of(getMockData());
+        EmployeeRowList updated = employees.withAppended(employee("4", "Shubhangi"));
+        NameSearchIndex original = NameSearchIndex.of(employees);
+
+        NameSearchIndex added = original.with(updated, updated.rowAt(3));
+        NameSearchIndex removed = added.without(updated.without(1), updated.rowAt(1));
+
+        assertEquals(List.of("Shubham"), names(original.search("shubh")));
+        assertEquals(List.of("Shubham", "Shubhangi"), names(added.search("shubh")));
+        assertEquals(List.of("Shubhangi"), names(removed.search("shubh")));
+    }
+
+    private List<String> names(List<EmployeeResponse> employees) {
+        return employees.stream().map(EmployeeResponse::getEmployeeName).toList();
+    }
+
+    private List<EmployeeResponse> getMockData() {
+        return List.of(
+                employee("1", "Sanket"),
+                employee("2", "Shubham"),
+                employee("3", "Dnyanesh")
+        );
+    }
+
+    private EmployeeResponse employee(String id, String name) {
+        return EmployeeResponse.builder()
+                .id(id)
+                .employeeName(name)
+                .build();
+    }
+}
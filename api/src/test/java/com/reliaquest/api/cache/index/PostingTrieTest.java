@@ -0,0 +1,57 @@
+package com.reliaquest.api.cache.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostingTrieTest {
+
+    @Test
+    void withAndWithout_matchHashMapOverRandomWrites() {
+        Random random = new Random(42);
+        Map<Long, int[]> expected = new HashMap<>();
+        PostingTrie postings = PostingTrie.EMPTY;
+
+        for(int i = 0; i < 50_000; i++){
+            // a small key space, so keys are replaced and removed as often as they are added
+            long gram = random.nextInt(5_000);
+            if(random.nextInt(3) == 0){
+                expected.remove(gram);
+                postings = postings.without(gram);
+            } else {
+                int[] rows = {i};
+                expected.put(gram, rows);
+                postings = postings.with(gram, rows);
+            }
+        }
+
+        assertEquals(expected.size(), postings.size());
+        for(long gram = 0; gram < 5_000; gram++){
+            assertSame(expected.get(gram), postings.get(gram));
+        }
+    }
+
+    @Test
+    void with_leavesPreviousMapUnchanged() {
+        int[] first = {1};
+        int[] second = {2};
+        PostingTrie original = PostingTrie.EMPTY.with(7L, first);
+
+        PostingTrie updated = original.with(7L, second).with(8L, second);
+        PostingTrie removed = updated.without(7L);
+
+        assertSame(first, original.get(7L));
+        assertNull(original.get(8L));
+        assertSame(second, updated.get(7L));
+        assertNull(removed.get(7L));
+        assertSame(second, removed.get(8L));
+        assertEquals(1, original.size());
+        assertEquals(2, updated.size());
+        assertEquals(1, removed.size());
+        assertSame(removed, removed.without(7L));
+    }
+}
@@ -0,0 +1,98 @@
+package com.reliaquest.api.cache.index;
+
+import com.reliaquest.api.cache.ColumnarEmployeeList;
+import com.reliaquest.api.cache.EmployeeRowList;
+import com.reliaquest.api.cache.ObjectEmployeeList;
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalaryIndexTest {
+
+    @Test
+    void of_ordersBySalaryDescending() {
+        SalaryIndex salaryIndex = SalaryIndex.of(getMockData());
+
+        assertEquals(500000, salaryIndex.getHighestSalary());
+        assertEquals(List.of("Sanket", "Dnyanesh", "Shubham"), salaryIndex.getTopEarningEmployeeNames(10));
+        assertEquals(List.of("Sanket"), salaryIndex.getTopEarningEmployeeNames(1));
+    }
+
+    @Test
+    void of_emptyRoster_returnsZeroSalary() {
+        SalaryIndex salaryIndex = SalaryIndex.of(List.of());
+
+        assertEquals(0, salaryIndex.getHighestSalary());
+        assertEquals(0, salaryIndex.getSalaryPercentile(50));
+        assertTrue(salaryIndex.getTopEarningEmployeeNames(10).isEmpty());
+    }
+
+    @Test
+    void with_insertsInSalaryOrder() {
+        EmployeeRowList employees = ObjectEmployeeList.of(getMockData());
+        EmployeeRowList updated = employees.withAppended(employee("4", "Amit", 250000));
+
+        SalaryIndex salaryIndex = SalaryIndex.of(employees).with(updated, updated.rowAt(3));
+
+        assertEquals(List.of("Sanket", "Amit", "Dnyanesh", "Shubham"), salaryIndex.getTopEarningEmployeeNames(10));
+    }
+
+    @Test
+    void with_sameSalary_keepsRosterOrder() {
+        EmployeeRowList employees = ObjectEmployeeList.of(getMockData());
+        EmployeeRowList updated = employees.withAppended(employee("4", "Amit", 100000));
+
+        SalaryIndex salaryIndex = SalaryIndex.of(employees).with(updated, updated.rowAt(3));
+
+        assertEquals(List.of("Sanket", "Dnyanesh", "Amit", "Shubham"), salaryIndex.getTopEarningEmployeeNames(10));
+    }
+
+    @Test
+    void without_removesOnlyThatEmployee() {
+        EmployeeRowList employees = ObjectEmployeeList.of(getMockData());
+        SalaryIndex salaryIndex = SalaryIndex.of(employees).without(employees.without(0), employees.rowAt(0));
+
+        assertEquals(100000, salaryIndex.getHighestSalary());
+        assertEquals(2, salaryIndex.size());
+        assertEquals(List.of("Dnyanesh", "Shubham"), salaryIndex.getTopEarningEmployeeNames(10));
+    }
+
+    @Test
+    void of_columnarRoster_readsEmployeesFromColumns() {
+        ColumnarEmployeeList columns = ColumnarEmployeeList.of(getMockData());
+        SalaryIndex salaryIndex = SalaryIndex.of(columns);
+
+        assertEquals(List.of("1", "3", "2"), salaryIndex.getEmployeesBySalary().stream().map(EmployeeResponse::getId).toList());
+        assertEquals(columns.get(0), salaryIndex.getEmployeesBySalary().get(0));
+        assertThrows(UnsupportedOperationException.class, () -> salaryIndex.getEmployeesBySalary().remove(0));
+    }
+
+    @Test
+    void getSalaryPercentile_usesNearestRank() {
+        SalaryIndex salaryIndex = SalaryIndex.of(getMockData());
+
+        assertEquals(10000, salaryIndex.getSalaryPercentile(0));
+        assertEquals(100000, salaryIndex.getSalaryPercentile(50));
+        assertEquals(500000, salaryIndex.getSalaryPercentile(100));
+        assertThrows(IllegalArgumentException.class, () -> salaryIndex.getSalaryPercentile(101));
+    }
+
+    private List<EmployeeResponse> getMockData() {
+        return List.of(
+                employee("1", "Sanket", 500000),
+                employee("2", "Shubham", 10000),
+                employee("3", "Dnyanesh", 100000)
+        );
+    }
+
+    private EmployeeResponse employee(String id, String name, int salary) {
+        return EmployeeResponse.builder()
+                .id(id)
+                .employeeName(name)
+                .employeeSalary(salary)
+                .build();
+    }
+}
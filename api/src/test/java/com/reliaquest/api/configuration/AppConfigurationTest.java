@@ -0,0 +1,62 @@
+package com.reliaquest.api.configuration;
+
+import com.reliaquest.api.external.ratelimit.RateLimitInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "mock.external.http.max-connections=7",
+        "mock.external.http.max-connections-per-route=3"
+})
+class AppConfigurationTest {
+
+    private static final String POOL_NAME = "mock-external";
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private CloseableHttpClient externalHttpClient;
+
+    @Autowired
+    private PoolingHttpClientConnectionManager externalConnectionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void restTemplate_usesPooledHttpComponentsClient() {
+        // getRequestFactory() wraps the configured factory once interceptors are added
+        HttpComponentsClientHttpRequestFactory requestFactory = assertInstanceOf(HttpComponentsClientHttpRequestFactory.class,
+                ReflectionTestUtils.getField(restTemplate, "requestFactory"));
+
+        assertSame(externalHttpClient, requestFactory.getHttpClient());
+        assertTrue(restTemplate.getInterceptors().stream().anyMatch(RateLimitInterceptor.class::isInstance));
+    }
+
+    @Test
+    void connectionPool_usesConfiguredLimits() {
+        assertEquals(7, externalConnectionManager.getMaxTotal());
+        assertEquals(3, externalConnectionManager.getDefaultMaxPerRoute());
+    }
+
+    @Test
+    void connectionPoolGauges_areRegistered() {
+        assertEquals(7, meterRegistry.get("httpcomponents.httpclient.pool.total.max").tag("httpclient", POOL_NAME).gauge().value());
+        assertEquals(3, meterRegistry.get("httpcomponents.httpclient.pool.route.max.default").tag("httpclient", POOL_NAME).gauge().value());
+        assertNotNull(meterRegistry.get("httpcomponents.httpclient.pool.total.connections")
+                .tags("httpclient", POOL_NAME, "state", "leased").gauge());
+        assertNotNull(meterRegistry.get("httpcomponents.httpclient.pool.total.connections")
+                .tags("httpclient", POOL_NAME, "state", "available").gauge());
+        assertNotNull(meterRegistry.get("httpcomponents.httpclient.pool.total.pending").tag("httpclient", POOL_NAME).gauge());
+    }
+}
@@ -1,23 +1,48 @@
 package com.reliaquest.api.external;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.api.cache.ICacheManager;
 import com.reliaquest.api.dto.request.EmployeeRequest;
+import com.reliaquest.api.dto.response.BatchItemResult;
 import com.reliaquest.api.dto.response.EmployeeResponse;
+import com.reliaquest.api.dto.response.PageResponse;
 import com.reliaquest.api.exception.BadRequestException;
 import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.external.dto.ExternalEmployeeChangeDTO;
+import com.reliaquest.api.external.dto.ExternalEmployeeQuery;
 import com.reliaquest.api.external.dto.ExternalEmployeeResponseDTO;
 import com.reliaquest.api.external.dto.ExternalResponseDTO;
 import com.reliaquest.api.external.impl.MockExternalServiceImpl;
+import com.reliaquest.api.external.ratelimit.AdaptiveRateLimiter;
+import com.reliaquest.api.external.resilience.CircuitBreaker;
+import com.reliaquest.api.external.resilience.RetryPolicy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
+import org.mockito.invocation.InvocationOnMock;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -31,15 +56,14 @@ class MockExternalServiceImplTest {
     @Mock
     private ICacheManager cacheManager;
 
-    @InjectMocks
     private MockExternalServiceImpl externalService;
 
     private static final String BASE_URL = "http://mock/api/employees";
 
     @BeforeEach
     void setup() {
-        org.springframework.test.util.ReflectionTestUtils
-                .setField(externalService, "externalServiceBasePath", BASE_URL);
+        externalService = externalService(rateLimiter(10), circuitBreaker(5));
+        lenient().when(cacheManager.setEmployees(anyList(), any(), anyLong())).thenReturn(true);
     }
 
     @Test
@@ -50,46 +74,271 @@ class MockExternalServiceImplTest {
         List<EmployeeResponse> result = externalService.getAllEmployees();
 
         assertEquals(1, result.size());
-        verify(restTemplate, never()).exchange(anyString(), any(), any(), ArgumentMatchers.<ParameterizedTypeReference<?>>any());
+        verify(restTemplate, never()).execute(anyString(), any(), any(), any(ResponseExtractor.class));
     }
 
     @Test
-    void getAllEmployees_cacheMiss_fetchesFromExternal_andCaches() {
-        when(cacheManager.getEmployees()).thenReturn(null);
+    void getAllEmployees_staleCache_returnsCachedAndRefreshesInBackground() {
+        List<EmployeeResponse> cached = List.of(mockEmployeeResponse());
+        when(cacheManager.getEmployees()).thenReturn(cached);
+        when(cacheManager.isStale()).thenReturn(true);
 
-        ExternalEmployeeResponseDTO externalDto = mockExternalEmployee();
-        ExternalResponseDTO<List<ExternalEmployeeResponseDTO>> body =
-                new ExternalResponseDTO<>(List.of(externalDto));
+        when(restTemplate.execute(eq(BASE_URL), eq(HttpMethod.GET), isNull(), any(ResponseExtractor.class)))
+                .thenAnswer(invocation -> extractEmployees(invocation, employeesJson(2)));
 
-        ResponseEntity<ExternalResponseDTO<List<ExternalEmployeeResponseDTO>>> response =
-                new ResponseEntity<>(body, HttpStatus.OK);
+        List<EmployeeResponse> result = externalService.getAllEmployees();
+
+        assertSame(cached, result);
+        verify(cacheManager).setEmployees(argThat(employees -> employees.size() == 2), isNull(), anyLong());
+    }
+
+    @Test
+    void getAllEmployees_staleCacheUnchangedExternally_renewsCachedRoster() {
+        List<EmployeeResponse> cached = List.of(mockEmployeeResponse());
+        when(cacheManager.getEmployees()).thenReturn(cached);
+        when(cacheManager.isStale()).thenReturn(true);
+        when(cacheManager.getEtag()).thenReturn("\"v1\"");
+        when(cacheManager.renewEmployees("\"v1\"")).thenReturn(cached);
+
+        MockClientHttpRequest request = new MockClientHttpRequest();
+        when(restTemplate.execute(eq(BASE_URL), eq(HttpMethod.GET), notNull(), any(ResponseExtractor.class)))
+                .thenAnswer(invocation -> {
+                    RequestCallback callback = invocation.getArgument(2);
+                    callback.doWithRequest(request);
+                    ResponseExtractor<?> extractor = invocation.getArgument(3);
+                    return extractor.extractData(new MockClientHttpResponse(new byte[0], HttpStatus.NOT_MODIFIED));
+                });
+
+        assertSame(cached, externalService.getAllEmployees());
+
+        assertEquals("\"v1\"", request.getHeaders().getIfNoneMatch().get(0));
+        verify(cacheManager).renewEmployees("\"v1\"");
+        verify(cacheManager, never()).setEmployees(anyList(), any(), anyLong());
+    }
+
+    @Test
+    void getAllEmployees_cacheMiss_cachesRosterWithEtag() {
+        when(restTemplate.execute(eq(BASE_URL), eq(HttpMethod.GET), isNull(), any(ResponseExtractor.class)))
+                .thenAnswer(invocation -> {
+                    MockClientHttpResponse response = new MockClientHttpResponse(
+                            employeesJson(1).getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+                    response.getHeaders().setETag("\"v2\"");
+                    ResponseExtractor<?> extractor = invocation.getArgument(3);
+                    return extractor.extractData(response);
+                });
+
+        assertEquals(1, externalService.getAllEmployees().size());
+        verify(cacheManager).setEmployees(anyList(), eq("\"v2\""), anyLong());
+    }
+
+    @Test
+    void getAllEmployees_staleCache_writeDuringRefresh_keepsCachedRoster() {
+        List<EmployeeResponse> cached = List.of(mockEmployeeResponse());
+        when(cacheManager.getEmployees()).thenReturn(cached);
+        when(cacheManager.isStale()).thenReturn(true);
+        when(cacheManager.getRevision()).thenReturn(4L);
+        when(cacheManager.setEmployees(anyList(), any(), eq(4L))).thenReturn(false);
+        when(restTemplate.execute(eq(BASE_URL), eq(HttpMethod.GET), isNull(), any(ResponseExtractor.class)))
+                .thenAnswer(invocation -> extractEmployees(invocation, employeesJson(2)));
+
+        List<EmployeeResponse> result = externalService.getAllEmployees();
+
+        assertSame(cached, result);
+        verify(cacheManager).setEmployees(anyList(), isNull(), eq(4L));
+        verify(cacheManager, never()).setEmployees(anyList(), any());
+    }
+
+    @Test
+    void syncEmployees_appliesChangesFromFeed() {
+        when(cacheManager.getEtag()).thenReturn("\"e-1\"");
+        ExternalEmployeeChangeDTO created = new ExternalEmployeeChangeDTO();
+        created.setType(ExternalEmployeeChangeDTO.CREATED);
+        created.setEmployee(mockExternalEmployee());
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"e-2\"");
+        ResponseEntity<ExternalResponseDTO<List<ExternalEmployeeChangeDTO>>> response =
+                new ResponseEntity<>(new ExternalResponseDTO<>(List.of(created)), headers, HttpStatus.OK);
 
         when(restTemplate.exchange(
-                eq(BASE_URL),
+                eq(URI.create(BASE_URL + "/changes?since=%22e-1%22")),
                 eq(HttpMethod.GET),
                 isNull(),
                 ArgumentMatchers.<ParameterizedTypeReference<
-                        ExternalResponseDTO<List<ExternalEmployeeResponseDTO>>
+                        ExternalResponseDTO<List<ExternalEmployeeChangeDTO>>
                         >>any()
         )).thenReturn(response);
+        when(cacheManager.applyChanges(eq("\"e-1\""), anyList(), eq("\"e-2\""))).thenReturn(true);
+
+        externalService.syncEmployees();
+
+        verify(cacheManager).applyChanges(eq("\"e-1\""),
+                argThat(changes -> changes.size() == 1 && !changes.get(0).deleted()
+                        && "John".equals(changes.get(0).employee().getEmployeeName())),
+                eq("\"e-2\""));
+        verify(restTemplate, never()).execute(anyString(), any(), any(), any(ResponseExtractor.class));
+    }
+
+    @Test
+    void syncEmployees_changesGone_reloadsRoster() {
+        when(cacheManager.getEtag()).thenReturn("\"e-1\"");
+        when(restTemplate.exchange(
+                any(URI.class),
+                eq(HttpMethod.GET),
+                isNull(),
+                ArgumentMatchers.<ParameterizedTypeReference<
+                        ExternalResponseDTO<List<ExternalEmployeeChangeDTO>>
+                        >>any()
+        )).thenThrow(HttpClientErrorException.create(HttpStatus.GONE, "410", HttpHeaders.EMPTY, null, null));
+        when(restTemplate.execute(eq(BASE_URL), eq(HttpMethod.GET), notNull(), any(ResponseExtractor.class)))
+                .thenAnswer(invocation -> extractEmployees(invocation, employeesJson(2)));
+
+        externalService.syncEmployees();
+
+        verify(cacheManager).setEmployees(argThat(employees -> employees.size() == 2), isNull(), anyLong());
+        verify(cacheManager, never()).applyChanges(any(), any(), any());
+    }
+
+    @Test
+    void getAllEmployees_staleCache_rateLimitBudgetShort_skipsRefresh() {
+        externalService = externalService(rateLimiter(1), circuitBreaker(5));
+        List<EmployeeResponse> cached = List.of(mockEmployeeResponse());
+        when(cacheManager.getEmployees()).thenReturn(cached);
+        when(cacheManager.isStale()).thenReturn(true);
+
+        List<EmployeeResponse> result = externalService.getAllEmployees();
+
+        assertSame(cached, result);
+        verify(restTemplate, never()).execute(anyString(), any(), any(), any(ResponseExtractor.class));
+    }
+
+    @Test
+    void getAllEmployees_staleCache_refreshFails_keepsServingCached() {
+        List<EmployeeResponse> cached = List.of(mockEmployeeResponse());
+        when(cacheManager.getEmployees()).thenReturn(cached);
+        when(cacheManager.isStale()).thenReturn(true);
+
+        when(restTemplate.execute(anyString(), any(), any(), any(ResponseExtractor.class)))
+                .thenThrow(HttpClientErrorException.TooManyRequests.create(
+                        HttpStatus.TOO_MANY_REQUESTS, "429", HttpHeaders.EMPTY, null, null));
+
+        List<EmployeeResponse> result = externalService.getAllEmployees();
+
+        assertSame(cached, result);
+        verify(cacheManager, never()).setEmployees(anyList(), any(), anyLong());
+        verify(cacheManager, never()).invalidateCache();
+    }
+
+    @Test
+    void getAllEmployees_cacheMiss_fetchesFromExternal_andCaches() {
+        when(cacheManager.getEmployees()).thenReturn(null);
+
+        when(restTemplate.execute(eq(BASE_URL), eq(HttpMethod.GET), isNull(), any(ResponseExtractor.class)))
+                .thenAnswer(invocation -> extractEmployees(invocation, employeesJson(1)));
 
         List<EmployeeResponse> result = externalService.getAllEmployees();
 
         assertEquals(1, result.size());
-        verify(cacheManager).setEmployees(anyList());
+        assertEquals("John", result.get(0).getEmployeeName());
+        assertEquals(100000, result.get(0).getEmployeeSalary());
+        assertEquals("john@test.com", result.get(0).getEmployeeEmail());
+        verify(cacheManager).setEmployees(anyList(), any(), anyLong());
+    }
+
+    @Test
+    void getAllEmployees_serverErrorThenSuccess_retries() {
+        when(restTemplate.execute(eq(BASE_URL), eq(HttpMethod.GET), isNull(), any(ResponseExtractor.class)))
+                .thenThrow(serviceUnavailable())
+                .thenAnswer(invocation -> extractEmployees(invocation, employeesJson(1)));
+
+        List<EmployeeResponse> result = externalService.getAllEmployees();
+
+        assertEquals(1, result.size());
+        verify(restTemplate, times(2)).execute(eq(BASE_URL), eq(HttpMethod.GET), isNull(), any(ResponseExtractor.class));
+    }
+
+    @Test
+    void getAllEmployees_circuitOpen_returnsSnapshotWithoutCallingExternal() {
+        externalService = externalService(rateLimiter(10), circuitBreaker(1));
+        when(restTemplate.execute(eq(BASE_URL), eq(HttpMethod.GET), isNull(), any(ResponseExtractor.class)))
+                .thenThrow(serviceUnavailable());
+
+        assertThrows(RuntimeException.class, () -> externalService.getAllEmployees());
+        verify(restTemplate, times(3)).execute(eq(BASE_URL), eq(HttpMethod.GET), isNull(), any(ResponseExtractor.class));
+
+        List<EmployeeResponse> snapshot = List.of(mockEmployeeResponse());
+        when(cacheManager.getEmployeesSnapshot()).thenReturn(snapshot);
+
+        assertSame(snapshot, externalService.getAllEmployees());
+        verify(restTemplate, times(3)).execute(eq(BASE_URL), eq(HttpMethod.GET), isNull(), any(ResponseExtractor.class));
+    }
+
+    @Test
+    void getEmployeeById_circuitOpen_returnsSnapshotEmployeeWithoutCallingExternal() {
+        externalService = externalService(rateLimiter(10), circuitBreaker(1));
+        when(restTemplate.execute(eq(BASE_URL), eq(HttpMethod.GET), isNull(), any(ResponseExtractor.class)))
+                .thenThrow(serviceUnavailable());
+        assertThrows(RuntimeException.class, () -> externalService.getAllEmployees());
+
+        EmployeeResponse snapshotEmployee = mockEmployeeResponse();
+        when(cacheManager.getSnapshotEmployeeById("1")).thenReturn(snapshotEmployee);
+
+        assertSame(snapshotEmployee, externalService.getEmployeeById("1"));
+        verify(restTemplate, never()).exchange(anyString(), any(), any(), any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void getAllEmployees_responseWithoutData_throwsException() {
+        when(cacheManager.getEmployees()).thenReturn(null);
+
+        when(restTemplate.execute(eq(BASE_URL), eq(HttpMethod.GET), isNull(), any(ResponseExtractor.class)))
+                .thenAnswer(invocation -> extractEmployees(invocation, "{\"status\":\"Successfully processed request.\"}"));
+
+        assertThrows(RuntimeException.class, () -> externalService.getAllEmployees());
+        verify(cacheManager, never()).setEmployees(anyList(), any(), anyLong());
     }
 
     @Test
     void getAllEmployees_429_throwsTooManyRequestsException() {
         when(cacheManager.getEmployees()).thenReturn(null);
 
-        when(restTemplate.exchange(anyString(), any(), any(), ArgumentMatchers.<ParameterizedTypeReference<?>>any()))
+        when(restTemplate.execute(anyString(), any(), any(), any(ResponseExtractor.class)))
                 .thenThrow(HttpClientErrorException.TooManyRequests.create(
                         HttpStatus.TOO_MANY_REQUESTS, "429", HttpHeaders.EMPTY, null, null));
 
         assertThrows(TooManyRequestsException.class, () -> externalService.getAllEmployees());
     }
 
+    @Test
+    void getAllEmployees_concurrentCacheMisses_fetchFromExternalOnce() throws Exception {
+        when(cacheManager.getEmployees()).thenReturn(null);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        externalService.bindTo(registry);
+
+        CountDownLatch fetchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFetch = new CountDownLatch(1);
+
+        when(restTemplate.execute(eq(BASE_URL), eq(HttpMethod.GET), isNull(), any(ResponseExtractor.class)))
+                .thenAnswer(invocation -> {
+                    fetchStarted.countDown();
+                    releaseFetch.await(5, TimeUnit.SECONDS);
+                    return extractEmployees(invocation, employeesJson(1));
+                });
+
+        CompletableFuture<List<EmployeeResponse>> leader = CompletableFuture.supplyAsync(() -> externalService.getAllEmployees());
+        assertTrue(fetchStarted.await(5, TimeUnit.SECONDS));
+        CompletableFuture<List<EmployeeResponse>> follower = CompletableFuture.supplyAsync(() -> externalService.getAllEmployees());
+
+        while (registry.get("employee.external.loads.coalesced").functionCounter().count() < 1) {
+            Thread.onSpinWait();
+        }
+        releaseFetch.countDown();
+
+        assertEquals(1, leader.get(5, TimeUnit.SECONDS).size());
+        assertSame(leader.get(), follower.get(5, TimeUnit.SECONDS));
+        verify(restTemplate, times(1)).execute(anyString(), any(), any(), any(ResponseExtractor.class));
+        verify(cacheManager, times(1)).setEmployees(anyList(), any(), anyLong());
+    }
+
     @Test
     void getEmployeeById_success() {
         ExternalEmployeeResponseDTO dto = mockExternalEmployee();
@@ -114,6 +363,16 @@ class MockExternalServiceImplTest {
         assertEquals("John", result.getEmployeeName());
     }
 
+    @Test
+    void getEmployeeById_cacheHit_returnsFromCache() {
+        when(cacheManager.getEmployeeById("1")).thenReturn(mockEmployeeResponse());
+
+        EmployeeResponse result = externalService.getEmployeeById("1");
+
+        assertEquals("John", result.getEmployeeName());
+        verify(restTemplate, never()).exchange(anyString(), any(), any(), ArgumentMatchers.<ParameterizedTypeReference<?>>any());
+    }
+
     @Test
     void getEmployeeById_notFound_throwsBadRequestException() {
         when(restTemplate.exchange(anyString(), any(), any(), ArgumentMatchers.<ParameterizedTypeReference<?>>any()))
@@ -133,7 +392,63 @@ class MockExternalServiceImplTest {
     }
 
     @Test
-    void createEmployee_success_invalidatesCache() {
+    void createEmployee_serverError_notRetried() {
+        when(restTemplate.exchange(eq(BASE_URL), eq(HttpMethod.POST), any(HttpEntity.class),
+                ArgumentMatchers.<ParameterizedTypeReference<ExternalResponseDTO<ExternalEmployeeResponseDTO>>>any()))
+                .thenThrow(serviceUnavailable());
+
+        assertThrows(BadRequestException.class, () -> externalService.createEmployee(new EmployeeRequest()));
+        verify(restTemplate, times(1)).exchange(eq(BASE_URL), eq(HttpMethod.POST), any(HttpEntity.class),
+                ArgumentMatchers.<ParameterizedTypeReference<ExternalResponseDTO<ExternalEmployeeResponseDTO>>>any());
+        verify(cacheManager, never()).addEmployee(any());
+    }
+
+    @Test
+    void createEmployees_partialFailure_returnsResultPerItemAndPatchesCacheOnce() {
+        ExternalResponseDTO<ExternalEmployeeResponseDTO> body = new ExternalResponseDTO<>(mockExternalEmployee());
+        when(restTemplate.exchange(eq(BASE_URL), eq(HttpMethod.POST), any(HttpEntity.class),
+                ArgumentMatchers.<ParameterizedTypeReference<ExternalResponseDTO<ExternalEmployeeResponseDTO>>>any()))
+                .thenReturn(new ResponseEntity<>(body, HttpStatus.OK))
+                .thenThrow(HttpClientErrorException.TooManyRequests.create(
+                        HttpStatus.TOO_MANY_REQUESTS, "429", HttpHeaders.EMPTY, null, null));
+
+        List<BatchItemResult<EmployeeResponse>> results = externalService.createEmployees(List.of(new EmployeeRequest(), new EmployeeRequest()));
+
+        assertEquals(201, results.get(0).getStatus());
+        assertEquals("John", results.get(0).getData().getEmployeeName());
+        assertEquals(429, results.get(1).getStatus());
+        assertNull(results.get(1).getData());
+        verify(cacheManager).addEmployees(List.of(results.get(0).getData()));
+        verify(cacheManager, never()).addEmployee(any());
+    }
+
+    @Test
+    void findEmployees_sendsFiltersAndReadsTotalCount() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-Total-Count", "42");
+        ResponseEntity<ExternalResponseDTO<List<ExternalEmployeeResponseDTO>>> response =
+                new ResponseEntity<>(new ExternalResponseDTO<>(List.of(mockExternalEmployee())), headers, HttpStatus.OK);
+
+        when(restTemplate.exchange(
+                eq(URI.create(BASE_URL + "?page=2&size=10&nameContains=John%20D")),
+                eq(HttpMethod.GET),
+                isNull(),
+                ArgumentMatchers.<ParameterizedTypeReference<
+                        ExternalResponseDTO<List<ExternalEmployeeResponseDTO>>
+                        >>any()
+        )).thenReturn(response);
+
+        PageResponse<EmployeeResponse> page = externalService.findEmployees(
+                ExternalEmployeeQuery.builder().page(2).size(10).nameContains("John D").build());
+
+        assertEquals(1, page.getContent().size());
+        assertEquals(42, page.getTotalElements());
+        assertEquals(5, page.getTotalPages());
+        verifyNoInteractions(cacheManager);
+    }
+
+    @Test
+    void createEmployee_success_addsEmployeeToCache() {
         EmployeeRequest request = new EmployeeRequest();
         ExternalEmployeeResponseDTO dto = mockExternalEmployee();
 
@@ -156,11 +471,12 @@ class MockExternalServiceImplTest {
         EmployeeResponse result = externalService.createEmployee(request);
 
         assertNotNull(result);
-        verify(cacheManager).invalidateCache();
+        verify(cacheManager).addEmployee(result);
+        verify(cacheManager, never()).invalidateCache();
     }
 
     @Test
-    void deleteEmployee_success_invalidatesCache() {
+    void deleteEmployee_success_removesEmployeeFromCache() {
         ExternalResponseDTO<Boolean> body = new ExternalResponseDTO<>(true);
         ResponseEntity<ExternalResponseDTO<Boolean>> response =
                 new ResponseEntity<>(body, HttpStatus.OK);
@@ -176,7 +492,8 @@ class MockExternalServiceImplTest {
 
         externalService.deleteEmployee("John");
 
-        verify(cacheManager).invalidateCache();
+        verify(cacheManager).removeEmployeeByName("John");
+        verify(cacheManager, never()).invalidateCache();
     }
 
     @Test
@@ -197,6 +514,18 @@ class MockExternalServiceImplTest {
         assertThrows(BadRequestException.class, () -> externalService.deleteEmployee("John"));
     }
 
+    private Object extractEmployees(InvocationOnMock invocation, String json) throws IOException {
+        ResponseExtractor<?> extractor = invocation.getArgument(3);
+        return extractor.extractData(new MockClientHttpResponse(json.getBytes(StandardCharsets.UTF_8), HttpStatus.OK));
+    }
+
+    private String employeesJson(int count) {
+        String employee = "{\"id\":\"1\",\"employee_name\":\"John\",\"employee_salary\":100000,\"employee_age\":30,"
+                + "\"employee_title\":\"Engineer\",\"employee_email\":\"john@test.com\"}";
+        return "{\"data\":[" + String.join(",", Collections.nCopies(count, employee))
+                + "],\"status\":\"Successfully processed request.\"}";
+    }
+
     private ExternalEmployeeResponseDTO mockExternalEmployee() {
         ExternalEmployeeResponseDTO dto = new ExternalEmployeeResponseDTO();
         dto.setId("1");
@@ -208,6 +537,26 @@ class MockExternalServiceImplTest {
         return dto;
     }
 
+    private MockExternalServiceImpl externalService(AdaptiveRateLimiter rateLimiter, CircuitBreaker circuitBreaker) {
+        MockExternalServiceImpl service = new MockExternalServiceImpl(restTemplate, cacheManager, Runnable::run, new ObjectMapper(),
+                rateLimiter, new RetryPolicy(3, Duration.ZERO, Duration.ZERO), circuitBreaker);
+        org.springframework.test.util.ReflectionTestUtils
+                .setField(service, "externalServiceBasePath", BASE_URL);
+        return service;
+    }
+
+    private CircuitBreaker circuitBreaker(int failureThreshold) {
+        return new CircuitBreaker("mock-external", failureThreshold, Duration.ofSeconds(30), Clock.systemUTC());
+    }
+
+    private HttpServerErrorException serviceUnavailable() {
+        return HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, "503", HttpHeaders.EMPTY, null, null);
+    }
+
+    private AdaptiveRateLimiter rateLimiter(int limit) {
+        return new AdaptiveRateLimiter(limit, limit, Duration.ofSeconds(30), Duration.ofSeconds(120), Duration.ZERO, Duration.ZERO, 1, Clock.systemUTC());
+    }
+
     private EmployeeResponse mockEmployeeResponse() {
         return EmployeeResponse.builder()
                 .id("1")
@@ -0,0 +1,240 @@
+package com.reliaquest.api.external;
+
+import com.reliaquest.api.cache.ICacheManager;
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import com.reliaquest.api.exception.BadRequestException;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.external.impl.WebClientExternalServiceImpl;
+import com.reliaquest.api.external.ratelimit.AdaptiveRateLimiter;
+import com.reliaquest.api.external.resilience.RetryPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(org.mockito.junit.jupiter.MockitoExtension.class)
+class WebClientExternalServiceImplTest {
+
+    @Mock
+    private ICacheManager cacheManager;
+
+    private static final String BASE_URL = "http://mock/api/employees";
+
+    @BeforeEach
+    void setup() {
+        lenient().when(cacheManager.setEmployees(anyList(), isNull(), anyLong())).thenReturn(true);
+    }
+
+    @Test
+    void getAllEmployees_cacheHit_returnsFromCache() {
+        List<EmployeeResponse> cached = List.of(mockEmployeeResponse());
+        when(cacheManager.getEmployees()).thenReturn(cached);
+        AtomicInteger exchanges = new AtomicInteger();
+
+        List<EmployeeResponse> result = externalService(request -> {
+            exchanges.incrementAndGet();
+            return Mono.just(jsonResponse(employeesJson(1)));
+        }).getAllEmployees().block();
+
+        assertSame(cached, result);
+        assertEquals(0, exchanges.get());
+    }
+
+    @Test
+    void getAllEmployees_cacheMiss_fetchesFromExternal_andCaches() {
+        List<EmployeeResponse> result = externalService(request -> Mono.just(jsonResponse(employeesJson(2))))
+                .getAllEmployees().block();
+
+        assertEquals(2, result.size());
+        assertEquals("John", result.get(0).getEmployeeName());
+        verify(cacheManager).setEmployees(eq(result), isNull(), anyLong());
+    }
+
+    @Test
+    void getAllEmployees_cacheMiss_storesRosterOffTheCallingThread() {
+        AtomicReference<String> storingThread = new AtomicReference<>();
+        doAnswer(invocation -> {
+            storingThread.set(Thread.currentThread().getName());
+            return true;
+        }).when(cacheManager).setEmployees(anyList(), isNull(), anyLong());
+
+        externalService(request -> Mono.just(jsonResponse(employeesJson(1)))).getAllEmployees().block();
+
+        assertTrue(storingThread.get().startsWith("boundedElastic"), storingThread.get());
+    }
+
+    @Test
+    void getAllEmployees_concurrentCacheMisses_fetchFromExternalOnce() throws Exception {
+        CompletableFuture<ClientResponse> pendingResponse = new CompletableFuture<>();
+        AtomicInteger exchanges = new AtomicInteger();
+        IReactiveExternalService externalService = externalService(request -> {
+            exchanges.incrementAndGet();
+            return Mono.fromFuture(pendingResponse);
+        });
+
+        CompletableFuture<List<EmployeeResponse>> first = externalService.getAllEmployees().toFuture();
+        CompletableFuture<List<EmployeeResponse>> second = externalService.getAllEmployees().toFuture();
+        pendingResponse.complete(jsonResponse(employeesJson(1)));
+
+        assertEquals(1, first.get(5, TimeUnit.SECONDS).size());
+        assertEquals(1, second.get(5, TimeUnit.SECONDS).size());
+        assertEquals(1, exchanges.get());
+        verify(cacheManager, times(1)).setEmployees(anyList(), isNull(), anyLong());
+    }
+
+    @Test
+    void getAllEmployees_cacheMiss_cachesRosterWithItsEtag() {
+        externalService(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.ETAG, "\"v1\"")
+                .body(employeesJson(1))
+                .build())).getAllEmployees().block();
+
+        verify(cacheManager).setEmployees(anyList(), eq("\"v1\""), anyLong());
+    }
+
+    @Test
+    void getAllEmployees_notModified_renewsCachedRoster() {
+        List<EmployeeResponse> renewed = List.of(mockEmployeeResponse());
+        when(cacheManager.getEtag()).thenReturn("\"v1\"");
+        when(cacheManager.renewEmployees("\"v1\"")).thenReturn(renewed);
+        AtomicReference<String> ifNoneMatch = new AtomicReference<>();
+
+        List<EmployeeResponse> result = externalService(request -> {
+            ifNoneMatch.set(request.headers().getFirst(HttpHeaders.IF_NONE_MATCH));
+            return Mono.just(ClientResponse.create(HttpStatus.NOT_MODIFIED).build());
+        }).getAllEmployees().block();
+
+        assertSame(renewed, result);
+        assertEquals("\"v1\"", ifNoneMatch.get());
+        verify(cacheManager, never()).setEmployees(anyList(), any(), anyLong());
+    }
+
+    @Test
+    void getAllEmployees_notModifiedAfterInvalidation_refetchesWithoutEtag() {
+        when(cacheManager.getEtag()).thenReturn("\"v1\"");
+        when(cacheManager.renewEmployees("\"v1\"")).thenReturn(null);
+        AtomicInteger exchanges = new AtomicInteger();
+
+        List<EmployeeResponse> result = externalService(request -> exchanges.incrementAndGet() == 1
+                ? Mono.just(ClientResponse.create(HttpStatus.NOT_MODIFIED).build())
+                : Mono.just(jsonResponse(employeesJson(2)))).getAllEmployees().block();
+
+        assertEquals(2, result.size());
+        assertEquals(2, exchanges.get());
+    }
+
+    @Test
+    void getAllEmployees_serverErrorThenSuccess_retries() {
+        AtomicInteger exchanges = new AtomicInteger();
+
+        List<EmployeeResponse> result = externalService(request -> exchanges.incrementAndGet() == 1
+                ? Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build())
+                : Mono.just(jsonResponse(employeesJson(1)))).getAllEmployees().block();
+
+        assertEquals(1, result.size());
+        assertEquals(2, exchanges.get());
+    }
+
+    @Test
+    void getAllEmployees_serverErrorOnEveryAttempt_throwsRuntimeException() {
+        AtomicInteger exchanges = new AtomicInteger();
+        IReactiveExternalService externalService = externalService(request -> {
+            exchanges.incrementAndGet();
+            return Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build());
+        });
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> externalService.getAllEmployees().block());
+        assertEquals("Problem Connecting External System. Please try again.", ex.getMessage());
+        assertEquals(3, exchanges.get());
+    }
+
+    @Test
+    void getAllEmployees_429_throwsTooManyRequestsException() {
+        IReactiveExternalService externalService = externalService(request -> Mono.just(ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS).build()));
+
+        assertThrows(TooManyRequestsException.class, () -> externalService.getAllEmployees().block());
+        verify(cacheManager, never()).setEmployees(anyList(), isNull(), anyLong());
+    }
+
+    @Test
+    void getEmployeeById_cacheHit_returnsFromCache() {
+        EmployeeResponse cached = mockEmployeeResponse();
+        when(cacheManager.getEmployeeById("1")).thenReturn(cached);
+        AtomicInteger exchanges = new AtomicInteger();
+
+        EmployeeResponse result = externalService(request -> {
+            exchanges.incrementAndGet();
+            return Mono.just(jsonResponse("{}"));
+        }).getEmployeeById("1").block();
+
+        assertSame(cached, result);
+        assertEquals(0, exchanges.get());
+    }
+
+    @Test
+    void getEmployeeById_notFound_throwsBadRequestException() {
+        IReactiveExternalService externalService = externalService(request -> Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build()));
+
+        assertThrows(BadRequestException.class, () -> externalService.getEmployeeById("1").block());
+    }
+
+    @Test
+    void deleteEmployee_success_removesEmployeeFromCache() {
+        IReactiveExternalService externalService = externalService(request -> Mono.just(jsonResponse("{\"data\":true}")));
+
+        externalService.deleteEmployee("John").block();
+
+        verify(cacheManager).removeEmployeeByName("John");
+    }
+
+    private IReactiveExternalService externalService(ExchangeFunction exchangeFunction) {
+        WebClient webClient = WebClient.builder().baseUrl(BASE_URL).exchangeFunction(exchangeFunction).build();
+        AdaptiveRateLimiter rateLimiter = new AdaptiveRateLimiter(10, 10, Duration.ofSeconds(30), Duration.ofSeconds(120), Duration.ZERO, Duration.ZERO, 1, Clock.systemUTC());
+        return new WebClientExternalServiceImpl(webClient, cacheManager, rateLimiter, new RetryPolicy(3, Duration.ZERO, Duration.ZERO));
+    }
+
+    private ClientResponse jsonResponse(String json) {
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(json)
+                .build();
+    }
+
+    private String employeesJson(int count) {
+        String employee = "{\"id\":\"1\",\"employee_name\":\"John\",\"employee_salary\":100000,\"employee_age\":30,"
+                + "\"employee_title\":\"Engineer\",\"employee_email\":\"john@test.com\"}";
+        return "{\"data\":[" + String.join(",", Collections.nCopies(count, employee))
+                + "],\"status\":\"Successfully processed request.\"}";
+    }
+
+    private EmployeeResponse mockEmployeeResponse() {
+        return EmployeeResponse.builder()
+                .id("1")
+                .employeeName("John")
+                .employeeSalary(100000)
+                .employeeAge(30)
+                .employeeTitle("Engineer")
+                .employeeEmail("john@test.com")
+                .build();
+    }
+}
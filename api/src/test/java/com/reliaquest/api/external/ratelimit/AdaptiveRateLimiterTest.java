@@ -0,0 +1,168 @@
+package com.reliaquest.api.external.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveRateLimiterTest {
+
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    void tryAcquire_windowUsedUp_locksForBackoff() {
+        AdaptiveRateLimiter rateLimiter = rateLimiter(3, 10);
+
+        for(int i = 0; i < 3; i++){
+            assertTrue(rateLimiter.tryAcquire());
+            rateLimiter.onSuccess();
+        }
+
+        assertFalse(rateLimiter.tryAcquire());
+        assertEquals(Duration.ofSeconds(30), rateLimiter.timeUntilPermit());
+
+        clock.advance(Duration.ofSeconds(30));
+        assertTrue(rateLimiter.tryAcquire());
+    }
+
+    @Test
+    void tryAcquire_windowUsedUpWithoutRejection_probesHigherLimit() {
+        AdaptiveRateLimiter rateLimiter = rateLimiter(2, 10);
+        useWindow(rateLimiter, 2);
+        clock.advance(Duration.ofSeconds(30));
+
+        assertEquals(3, useWindow(rateLimiter, 10));
+    }
+
+    @Test
+    void onTooManyRequests_learnsLimitFromSuccessfulCalls() {
+        AdaptiveRateLimiter rateLimiter = rateLimiter(5, 10);
+        for(int i = 0; i < 3; i++){
+            rateLimiter.tryAcquire();
+            rateLimiter.onSuccess();
+        }
+        rateLimiter.tryAcquire();
+        rateLimiter.onTooManyRequests(null);
+
+        assertFalse(rateLimiter.tryAcquire());
+        clock.advance(Duration.ofSeconds(30));
+
+        assertEquals(3, useWindow(rateLimiter, 10));
+    }
+
+    @Test
+    void onTooManyRequests_rightAfterBackoff_growsBackoff() {
+        AdaptiveRateLimiter rateLimiter = rateLimiter(5, 10);
+        rateLimiter.tryAcquire();
+        rateLimiter.onSuccess();
+        rateLimiter.tryAcquire();
+        rateLimiter.onTooManyRequests(null);
+
+        clock.advance(Duration.ofSeconds(30));
+        assertTrue(rateLimiter.tryAcquire());
+        rateLimiter.onTooManyRequests(null);
+
+        assertEquals(Duration.ofSeconds(60), rateLimiter.timeUntilPermit());
+    }
+
+    @Test
+    void onTooManyRequests_retryAfter_usedAsBackoff() {
+        AdaptiveRateLimiter rateLimiter = rateLimiter(5, 10);
+        rateLimiter.tryAcquire();
+        rateLimiter.onTooManyRequests(Duration.ofSeconds(45));
+
+        assertEquals(Duration.ofSeconds(45), rateLimiter.timeUntilPermit());
+    }
+
+    @Test
+    void onTooManyRequests_inFlightRejections_doNotExtendLock() {
+        AdaptiveRateLimiter rateLimiter = rateLimiter(5, 10);
+        rateLimiter.tryAcquire();
+        rateLimiter.onSuccess();
+        rateLimiter.tryAcquire();
+        rateLimiter.tryAcquire();
+        rateLimiter.onTooManyRequests(null);
+
+        clock.advance(Duration.ofSeconds(10));
+        rateLimiter.onTooManyRequests(null);
+
+        assertEquals(Duration.ofSeconds(20), rateLimiter.timeUntilPermit());
+    }
+
+    @Test
+    void hasSpareCapacity_keepsReservedPermits() {
+        AdaptiveRateLimiter rateLimiter = rateLimiter(3, 10);
+        assertTrue(rateLimiter.hasSpareCapacity());
+
+        rateLimiter.tryAcquire();
+        assertTrue(rateLimiter.hasSpareCapacity());
+
+        rateLimiter.tryAcquire();
+        assertFalse(rateLimiter.hasSpareCapacity());
+    }
+
+    @Test
+    void acquire_nextWindowBeyondMaxWait_shedsCall() {
+        AdaptiveRateLimiter rateLimiter = rateLimiter(1, 10);
+        assertTrue(rateLimiter.acquire());
+
+        assertFalse(rateLimiter.acquire());
+    }
+
+    @Test
+    void acquire_waitingForPermit_waitsForNextWindowOnlyWithinTheCall() {
+        AdaptiveRateLimiter rateLimiter = new AdaptiveRateLimiter(1, 10, Duration.ofMillis(50), Duration.ofMillis(50),
+                Duration.ZERO, Duration.ofSeconds(2), 1, Clock.systemUTC());
+        assertTrue(rateLimiter.acquire());
+        assertFalse(rateLimiter.acquire());
+
+        assertTrue(rateLimiter.waitingForPermit(rateLimiter::acquire));
+
+        assertFalse(rateLimiter.acquire());
+    }
+
+    private AdaptiveRateLimiter rateLimiter(int initialLimit, int maxLimit) {
+        return new AdaptiveRateLimiter(initialLimit, maxLimit, Duration.ofSeconds(30), Duration.ofSeconds(120), Duration.ZERO, Duration.ZERO, 1, clock);
+    }
+
+    /**
+     * Takes permits until the window is used up, every call succeeding
+     */
+    private int useWindow(AdaptiveRateLimiter rateLimiter, int max) {
+        int permits = 0;
+        while(permits < max && rateLimiter.tryAcquire()){
+            rateLimiter.onSuccess();
+            permits++;
+        }
+        return permits;
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
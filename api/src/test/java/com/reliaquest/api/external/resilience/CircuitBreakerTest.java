@@ -0,0 +1,127 @@
+package com.reliaquest.api.external.resilience;
+
+import com.reliaquest.api.exception.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Test
+    void execute_consecutiveServerErrors_opensBreaker() {
+        CircuitBreaker circuitBreaker = circuitBreaker(Clock.fixed(NOW, ZoneOffset.UTC));
+
+        fail(circuitBreaker);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        fail(circuitBreaker);
+
+        assertTrue(circuitBreaker.isOpen());
+        assertThrows(CircuitBreakerOpenException.class, () -> circuitBreaker.execute(() -> "ok"));
+    }
+
+    @Test
+    void execute_clientErrors_keepBreakerClosed() {
+        CircuitBreaker circuitBreaker = circuitBreaker(Clock.fixed(NOW, ZoneOffset.UTC));
+
+        for(int i = 0; i < 3; i++){
+            assertThrows(HttpClientErrorException.class, () -> circuitBreaker.execute(() -> {
+                throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, "404", HttpHeaders.EMPTY, null, null);
+            }));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void execute_afterOpenDuration_trialCallFailsReopensAndSuccessCloses() {
+        MutableClock clock = new MutableClock();
+        CircuitBreaker circuitBreaker = circuitBreaker(clock);
+        fail(circuitBreaker);
+        fail(circuitBreaker);
+
+        clock.now = NOW.plusSeconds(30);
+        assertFalse(circuitBreaker.isOpen());
+        fail(circuitBreaker);
+
+        assertTrue(circuitBreaker.isOpen());
+        clock.now = NOW.plusSeconds(60);
+        assertEquals("ok", circuitBreaker.execute(() -> "ok"));
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void execute_trialCallShedByRateLimiter_keepsBreakerOpenForNextTrial() {
+        MutableClock clock = new MutableClock();
+        CircuitBreaker circuitBreaker = circuitBreaker(clock);
+        fail(circuitBreaker);
+        fail(circuitBreaker);
+
+        clock.now = NOW.plusSeconds(30);
+        assertThrows(TooManyRequestsException.class, () -> circuitBreaker.execute(() -> {
+            throw new TooManyRequestsException("shed");
+        }));
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals("ok", circuitBreaker.execute(() -> "ok"));
+    }
+
+    @Test
+    void execute_trialCallThrowsError_reopensBreakerForNextTrial() {
+        MutableClock clock = new MutableClock();
+        CircuitBreaker circuitBreaker = circuitBreaker(clock);
+        fail(circuitBreaker);
+        fail(circuitBreaker);
+
+        clock.now = NOW.plusSeconds(30);
+        assertThrows(StackOverflowError.class, () -> circuitBreaker.execute(() -> {
+            throw new StackOverflowError();
+        }));
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        clock.now = NOW.plusSeconds(60);
+        assertEquals("ok", circuitBreaker.execute(() -> "ok"));
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    private CircuitBreaker circuitBreaker(Clock clock) {
+        return new CircuitBreaker("test", 2, Duration.ofSeconds(30), clock);
+    }
+
+    private void fail(CircuitBreaker circuitBreaker) {
+        assertThrows(HttpServerErrorException.class, () -> circuitBreaker.execute(() -> {
+            throw HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, "503", HttpHeaders.EMPTY, null, null);
+        }));
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = NOW;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
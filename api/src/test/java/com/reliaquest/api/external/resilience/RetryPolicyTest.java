@@ -0,0 +1,101 @@
+package com.reliaquest.api.external.resilience;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryPolicyTest {
+
+    private final RetryPolicy retryPolicy = new RetryPolicy(3, Duration.ofMillis(100), Duration.ofSeconds(2));
+
+    @Test
+    void execute_transientFailure_retriesUntilSuccess() {
+        AtomicInteger attempts = new AtomicInteger();
+        RetryPolicy noBackoff = new RetryPolicy(3, Duration.ZERO, Duration.ZERO);
+
+        String result = noBackoff.execute(() -> {
+            if(attempts.incrementAndGet() < 3){
+                throw new ResourceAccessException("connection reset");
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void execute_clientError_notRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(HttpClientErrorException.class, () -> retryPolicy.execute(() -> {
+            attempts.incrementAndGet();
+            throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, "404", HttpHeaders.EMPTY, null, null);
+        }));
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void backoff_serverError_isJitteredWithinExponentialCeiling() {
+        HttpServerErrorException ex = HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "502", HttpHeaders.EMPTY, null, null);
+
+        for(int i = 0; i < 100; i++){
+            assertTrue(retryPolicy.backoff(ex, 1).toMillis() <= 100);
+            assertTrue(retryPolicy.backoff(ex, 2).toMillis() <= 200);
+            assertTrue(retryPolicy.backoff(ex, 10).toMillis() <= 2000);
+        }
+    }
+
+    @Test
+    void backoff_tooManyRequests_honoursRetryAfterWithinMaxBackoff() {
+        HttpHeaders shortRetry = new HttpHeaders();
+        shortRetry.set(HttpHeaders.RETRY_AFTER, "1");
+        HttpHeaders longRetry = new HttpHeaders();
+        longRetry.set(HttpHeaders.RETRY_AFTER, "60");
+
+        assertEquals(Duration.ofSeconds(1), retryPolicy.backoff(tooManyRequests(shortRetry), 1));
+        assertNull(retryPolicy.backoff(tooManyRequests(longRetry), 1));
+        assertNull(retryPolicy.backoff(tooManyRequests(HttpHeaders.EMPTY), 1));
+    }
+
+    @Test
+    void reactive_webClientServerError_retriedUntilAttemptsRunOut() {
+        AtomicInteger attempts = new AtomicInteger();
+        RetryPolicy noBackoff = new RetryPolicy(3, Duration.ZERO, Duration.ZERO);
+
+        Mono<String> call = Mono.fromCallable(() -> {
+            attempts.incrementAndGet();
+            throw WebClientResponseException.create(HttpStatus.SERVICE_UNAVAILABLE.value(), "503", HttpHeaders.EMPTY, null, null);
+        });
+
+        assertThrows(WebClientResponseException.ServiceUnavailable.class, () -> call.retryWhen(noBackoff.reactive()).block());
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void reactive_webClientClientError_notRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        Mono<String> call = Mono.fromCallable(() -> {
+            attempts.incrementAndGet();
+            throw WebClientResponseException.create(HttpStatus.NOT_FOUND.value(), "404", HttpHeaders.EMPTY, null, null);
+        });
+
+        assertThrows(WebClientResponseException.NotFound.class, () -> call.retryWhen(retryPolicy.reactive()).block());
+        assertEquals(1, attempts.get());
+    }
+
+    private HttpClientErrorException tooManyRequests(HttpHeaders headers) {
+        return HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "429", headers, null, null);
+    }
+}
@@ -1,9 +1,18 @@
 package com.reliaquest.api.service;
 
 import com.reliaquest.api.cache.ICacheManager;
+import com.reliaquest.api.cache.index.NameSearchIndex;
+import com.reliaquest.api.cache.index.SalaryIndex;
+import com.reliaquest.api.dto.request.EmployeePageRequest;
 import com.reliaquest.api.dto.request.EmployeeRequest;
+import com.reliaquest.api.dto.response.BatchItemResult;
+import com.reliaquest.api.dto.response.BatchResponse;
 import com.reliaquest.api.dto.response.EmployeeResponse;
+import com.reliaquest.api.dto.response.PageResponse;
+import com.reliaquest.api.exception.BadRequestException;
+import com.reliaquest.api.exception.InvalidPageRequestException;
 import com.reliaquest.api.external.IExternalService;
+import com.reliaquest.api.external.dto.ExternalEmployeeQuery;
 import com.reliaquest.api.service.impl.EmployeeServiceImpl;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,6 +20,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.RestTemplate;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -18,6 +28,9 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -76,6 +89,56 @@ public class EmployeeServiceImplTest {
         assertEquals(0, response.size());
     }
 
+    @Test
+    public void getEmployeesByName_WhenNameIndexCached_ReturnListOfEmployeesFromIndex(){
+        when(externalService.getAllEmployees()).thenReturn(getMockData());
+        when(cacheManager.getNameSearchIndex()).thenReturn(NameSearchIndex.of(getMockData()));
+
+        List<EmployeeResponse> response = employeeService.getEmployeesByName("SHU");
+
+        assertEquals(1, response.size());
+        assertEquals("Shubham", response.get(0).getEmployeeName());
+    }
+
+    @Test
+    public void getEmployeesPage_WhenSortedBySalaryDesc_ReturnRequestedPage() {
+        when(externalService.getAllEmployees()).thenReturn(getMockDataForTop10());
+        when(cacheManager.getSalaryIndex()).thenReturn(SalaryIndex.of(getMockDataForTop10()));
+
+        PageResponse<EmployeeResponse> response = employeeService.getEmployeesPage(null, new EmployeePageRequest(0, 2, "employeeSalary,desc", null));
+
+        assertEquals(List.of("Sanket", "Arjun"), response.getContent().stream().map(EmployeeResponse::getEmployeeName).toList());
+        assertEquals(15, response.getTotalElements());
+        assertEquals(8, response.getTotalPages());
+    }
+
+    @Test
+    public void getEmployeesPage_WhenSortedByNameAsc_ReturnLastPage() {
+        when(externalService.getAllEmployees()).thenReturn(getMockData());
+
+        PageResponse<EmployeeResponse> response = employeeService.getEmployeesPage(null, new EmployeePageRequest(1, 2, "employeeName", null));
+
+        assertEquals(1, response.getContent().size());
+        assertEquals("Shubham", response.getContent().get(0).getEmployeeName());
+    }
+
+    @Test
+    public void getEmployeesPage_WhenPageOutOfRange_ReturnEmptyContent() {
+        when(externalService.getAllEmployees()).thenReturn(getMockData());
+
+        PageResponse<EmployeeResponse> response = employeeService.getEmployeesPage(null, new EmployeePageRequest(5, 20, null, null));
+
+        assertTrue(response.getContent().isEmpty());
+        assertEquals(3, response.getTotalElements());
+    }
+
+    @Test
+    public void getEmployeesPage_WhenSortFieldUnknown_ThrowInvalidPageRequestException() {
+        when(externalService.getAllEmployees()).thenReturn(getMockData());
+
+        assertThrows(InvalidPageRequestException.class, () -> employeeService.getEmployeesPage(null, new EmployeePageRequest(0, 20, "password", null)));
+    }
+
     @Test
     public void getHighestSalary_WhenEmployeesExists_ReturnHighestSalary() {
         when(externalService.getAllEmployees()).thenReturn(getMockData());
@@ -96,6 +159,53 @@ public class EmployeeServiceImplTest {
         assertEquals(10, response.size());
     }
 
+    @Test
+    public void getHighestSalary_WhenSalaryIndexCached_ReturnHighestSalaryFromIndex() {
+        when(externalService.getAllEmployees()).thenReturn(getMockData());
+        when(cacheManager.getSalaryIndex()).thenReturn(SalaryIndex.of(getMockData()));
+
+        Integer response = employeeService.getHighestSalary();
+
+        assertEquals(500000, response);
+    }
+
+    @Test
+    public void getHighestSalary_WhenPushDownEnabledAndRosterNotCached_QueryExternalService() {
+        ReflectionTestUtils.setField(employeeService, "pushDownQueries", true);
+        when(externalService.findEmployees(ExternalEmployeeQuery.builder().top(1).build()))
+                .thenReturn(PageResponse.<EmployeeResponse>builder().content(getMockData().subList(0, 1)).totalElements(3).build());
+
+        Integer response = employeeService.getHighestSalary();
+
+        assertEquals(500000, response);
+        verify(externalService, never()).getAllEmployees();
+    }
+
+    @Test
+    public void getHighestSalary_WhenPushDownEnabledAndRosterCached_ReturnHighestSalaryFromIndex() {
+        ReflectionTestUtils.setField(employeeService, "pushDownQueries", true);
+        when(cacheManager.getEmployees()).thenReturn(getMockData());
+        when(externalService.getAllEmployees()).thenReturn(getMockData());
+        when(cacheManager.getSalaryIndex()).thenReturn(SalaryIndex.of(getMockData()));
+
+        Integer response = employeeService.getHighestSalary();
+
+        assertEquals(500000, response);
+        verify(externalService, never()).findEmployees(any());
+    }
+
+    @Test
+    public void getTopHighestEarningEmployeesNames_WhenSalaryIndexCached_ValidateTop10FromIndex() {
+        when(externalService.getAllEmployees()).thenReturn(getMockDataForTop10());
+        when(cacheManager.getSalaryIndex()).thenReturn(SalaryIndex.of(getMockDataForTop10()));
+
+        List<String> response = employeeService.getTopHighestEarningEmployeesNames(10);
+
+        assertEquals("Sanket", response.get(0));
+        assertEquals("Arjun", response.get(1));
+        assertEquals(10, response.size());
+    }
+
     @Test
     public void createEmployee_WhenEmployeesExists_validateNewEmployee() {
         EmployeeRequest employeeRequest = new EmployeeRequest("Sanket", 20000, 26, "SDE 2");
@@ -131,6 +241,25 @@ public class EmployeeServiceImplTest {
         assertEquals("Sanket", response);
     }
 
+    @Test
+    public void deleteEmployees_WhenSomeIdsInvalid_ReturnResultPerId() {
+        when(externalService.getAllEmployees()).thenReturn(getMockData());
+        when(externalService.getEmployeeById("1")).thenReturn(getMockData().get(0));
+        when(externalService.getEmployeeById("9")).thenThrow(new BadRequestException("No Data Found for employee id : 9"));
+        when(externalService.deleteEmployees(List.of("Sanket"))).thenReturn(new ArrayList<>(List.of(
+                BatchItemResult.<String>builder().index(0).status(200).data("Sanket").build())));
+
+        BatchResponse<String> response = employeeService.deleteEmployees(List.of("1", "9", "1"));
+
+        assertEquals(1, response.getSucceeded());
+        assertEquals(2, response.getFailed());
+        assertEquals("Sanket", response.getResults().get(0).getData());
+        assertEquals(0, response.getResults().get(0).getIndex());
+        assertEquals(400, response.getResults().get(1).getStatus());
+        assertEquals(400, response.getResults().get(2).getStatus());
+        assertTrue(response.getResults().get(2).getErrorMessage().startsWith("Duplicate employee id"));
+    }
+
     private List<EmployeeResponse> getMockData(){
         return List.of(
                 EmployeeResponse.builder()
@@ -0,0 +1,111 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Decision throughput of ClientRateLimiter under contention: every thread as the same client, and a client per
+ * thread, against the global AtomicReference counter the request limit interceptor used before.
+ * A small limit rejects almost every request, a huge one accepts them all so every call goes through the
+ * compare-and-set. Add {@code -prof gc} to compare allocations per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+public class ClientRateLimiterBenchmark {
+
+    private static final Duration WINDOW = Duration.ofSeconds(60);
+
+    @Param({"10", "1000000000"})
+    private int limit;
+
+    private ClientRateLimiter rateLimiter;
+
+    private GlobalRequestLimit globalRequestLimit;
+
+    @State(Scope.Thread)
+    public static class Client {
+
+        private static final AtomicInteger NEXT = new AtomicInteger();
+
+        private String key;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            key = "client-" + NEXT.getAndIncrement();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        rateLimiter = new ClientRateLimiter(limit, WINDOW, 4096);
+        globalRequestLimit = new GlobalRequestLimit(limit, WINDOW);
+    }
+
+    @Benchmark
+    public long sharedClient() {
+        return rateLimiter.tryAcquire("shared");
+    }
+
+    @Benchmark
+    public long clientPerThread(Client client) {
+        return rateLimiter.tryAcquire(client.key);
+    }
+
+    @Benchmark
+    public boolean globalCounter() {
+        return globalRequestLimit.tryAcquire();
+    }
+
+    /**
+     * Logic of the former RandomRequestLimitInterceptor, with the limit and backoff passed in
+     */
+    static class GlobalRequestLimit {
+
+        private final int requestLimit;
+
+        private final Duration backoff;
+
+        private final AtomicReference<RequestLimit> requestLimitRef = new AtomicReference<>(RequestLimit.init());
+
+        GlobalRequestLimit(int requestLimit, Duration backoff) {
+            this.requestLimit = requestLimit;
+            this.backoff = backoff;
+        }
+
+        boolean tryAcquire() {
+            if (requestLimitRef.get().count() >= requestLimit) {
+                if (Instant.now().minus(backoff).isBefore(requestLimitRef.get().lastRequested())) {
+                    return false;
+                }
+                if (Instant.now().minus(backoff).isAfter(requestLimitRef.get().lastRequested())) {
+                    requestLimitRef.set(RequestLimit.init());
+                }
+            } else {
+                requestLimitRef.getAndUpdate(
+                        currentRequestLimit -> new RequestLimit(currentRequestLimit.count() + 1, Instant.now()));
+            }
+            return true;
+        }
+
+        private record RequestLimit(int count, Instant lastRequested) {
+            static RequestLimit init() {
+                return new RequestLimit(0, Instant.now());
+            }
+        }
+    }
+}
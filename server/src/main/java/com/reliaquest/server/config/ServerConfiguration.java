@@ -1,11 +1,20 @@
 package com.reliaquest.server.config;
 
+import com.reliaquest.server.generator.BulkEmployeeGenerator;
 import com.reliaquest.server.model.MockEmployee;
-import com.reliaquest.server.web.RandomRequestLimitInterceptor;
+import com.reliaquest.server.store.EmployeePersistence;
+import com.reliaquest.server.store.EmployeeStore;
+import com.reliaquest.server.web.ClientRateLimiter;
+import com.reliaquest.server.web.RequestLimitInterceptor;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import lombok.extern.slf4j.Slf4j;
@@ -13,9 +22,12 @@ import net.datafaker.Faker;
 import net.datafaker.transformations.Field;
 import net.datafaker.transformations.JavaObjectTransformer;
 import net.datafaker.transformations.Schema;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -23,18 +35,50 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @Configuration
 public class ServerConfiguration implements WebMvcConfigurer {
 
+    @Value("${mock.rate-limit.limit:0}")
+    private int rateLimit;
+
+    @Value("${mock.rate-limit.window:0s}")
+    private Duration rateLimitWindow;
+
+    @Value("${mock.rate-limit.buckets:4096}")
+    private int rateLimitBuckets;
+
+    @Value("${mock.rate-limit.client-header:#{null}}")
+    private String rateLimitClientHeader;
+
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
+    private static final String BULK_GENERATOR = "bulk";
+
     @Bean
     public Faker faker() {
         return new Faker(Locale.getDefault());
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * Initial employees, copied into the EmployeeStore which handles CRUD operations.
+     * The bulk generator is seeded and parallel, meant for large load-test rosters.
+     * Lazy, so nothing is generated when the store is restored from its files instead.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
+    @Lazy
+    public List<MockEmployee> mockEmployees(
+            Faker faker,
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.employees.generator:faker}") String generator,
+            @Value("${mock.employees.seed:42}") long seed) {
+        if (BULK_GENERATOR.equalsIgnoreCase(generator)) {
+            final long start = System.nanoTime();
+            final var employees = new BulkEmployeeGenerator(seed).generate(maxEmployees);
+            log.info(
+                    "Generated {} employees with seed {} in {} ms",
+                    employees.size(),
+                    seed,
+                    (System.nanoTime() - start) / 1_000_000);
+            return employees;
+        }
+
         final var transformer = new JavaObjectTransformer();
         final var schema = Schema.of(
                 Field.field("id", UUID::randomUUID),
@@ -52,8 +96,44 @@ public class ServerConfiguration implements WebMvcConfigurer {
                 .collect(Collectors.toCollection(ArrayList::new));
     }
 
+    /*
+     * Seeded with the mock employees, every create and delete goes through the store afterwards.
+     * With persistence enabled, the employees are restored from the previous run when there is one.
+     */
+    @Bean
+    public EmployeeStore employeeStore(
+            @Lazy List<MockEmployee> mockEmployees, ObjectProvider<EmployeePersistence> employeePersistence)
+            throws IOException {
+        final var persistence = employeePersistence.getIfAvailable();
+        if (Objects.isNull(persistence)) {
+            return new EmployeeStore(mockEmployees);
+        }
+        return persistence.open(() -> mockEmployees);
+    }
+
+    /*
+     * Snapshot file plus change log in the given directory, closed (and by default snapshotted) on shutdown.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "mock.employees.persistence.enabled", havingValue = "true")
+    public EmployeePersistence employeePersistence(
+            @Value("${mock.employees.persistence.directory:data}") Path directory,
+            @Value("${mock.employees.persistence.snapshot-on-shutdown:true}") boolean snapshotOnShutdown) {
+        return new EmployeePersistence(directory, snapshotOnShutdown);
+    }
+
+    /*
+     * Per-client request limit. Without a configured limit or window, a random limit between 5 and 9 requests and a
+     * random window between 30 and 89 seconds are picked at startup, the API module has to cope with either.
+     */
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        final var random = RandomGenerator.getDefault();
+        final var rateLimiter = new ClientRateLimiter(
+                rateLimit > 0 ? rateLimit : random.nextInt(5, 10),
+                rateLimitWindow.isZero() ? Duration.ofSeconds(random.nextInt(30, 90)) : rateLimitWindow,
+                rateLimitBuckets);
+        log.info("Rate limiting each client to {} requests per {}", rateLimiter.getLimit(), rateLimiter.getWindow());
+        registry.addInterceptor(new RequestLimitInterceptor(rateLimiter, rateLimitClientHeader));
     }
 }
@@ -2,10 +2,13 @@ package com.reliaquest.server.controller;
 
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeeChange;
+import com.reliaquest.server.model.EmployeeQuery;
 import com.reliaquest.server.model.MockEmployee;
 import com.reliaquest.server.model.Response;
 import com.reliaquest.server.service.MockEmployeeService;
 import jakarta.validation.Valid;
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +20,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -26,9 +30,42 @@ public class MockEmployeeController {
 
     private final MockEmployeeService mockEmployeeService;
 
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    /*
+     * Without query parameters every employee is returned, as before, with the store version as a weak ETag. A request
+     * whose If-None-Match holds the current ETag gets 304 without a body. Tomcat does not compress responses with a
+     * strong ETag, and the full list is the response that needs compressing most. With any query parameter, only the matching page
+     * or top earners are returned and X-Total-Count holds the number of matching employees.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<Response<List<MockEmployee>>> getEmployees(@Valid EmployeeQuery query) {
+        if (query.isEmpty()) {
+            final var snapshot = mockEmployeeService.getSnapshot();
+            // 304 is sent by Spring when the ETag matches If-None-Match
+            return ResponseEntity.ok()
+                    .eTag(weakETag(mockEmployeeService.cursor(snapshot)))
+                    .body(Response.handledWith(snapshot.employees()));
+        }
+        final var page = mockEmployeeService.query(query);
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(page.totalCount()))
+                .body(Response.handledWith(page.employees()));
+    }
+
+    /*
+     * Creates and deletes made after the cursor, which is the ETag of an employee list or change feed response.
+     * The ETag of the response is the cursor for the next call. 410 when the cursor is from a previous run of the
+     * server or older than the retained changes, the whole list has to be fetched again.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<Response<List<EmployeeChange>>> getChanges(@RequestParam("since") String since) {
+        return mockEmployeeService
+                .changesSince(since)
+                .map(changes -> ResponseEntity.ok()
+                        .eTag(weakETag(changes.cursor()))
+                        .body(Response.handledWith(changes.changes())))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.GONE).body(Response.handled()));
     }
 
     @GetMapping("/{id}")
@@ -44,8 +81,23 @@ public class MockEmployeeController {
         return Response.handledWith(mockEmployeeService.create(input));
     }
 
+    /*
+     * Writes the employees to the snapshot file on demand, 404 when persistence is not enabled.
+     */
+    @PostMapping("/snapshot")
+    public ResponseEntity<Response<Long>> snapshot() throws IOException {
+        return mockEmployeeService
+                .checkpoint()
+                .map(version -> ResponseEntity.ok(Response.handledWith(version)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
+    }
+
     @DeleteMapping()
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
     }
+
+    private static String weakETag(String cursor) {
+        return "W/\"" + cursor + "\"";
+    }
 }
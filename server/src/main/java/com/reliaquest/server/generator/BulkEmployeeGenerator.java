@@ -0,0 +1,112 @@
+package com.reliaquest.server.generator;
+
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import net.datafaker.Faker;
+
+/**
+ * Generates large employee lists in parallel. Every employee is derived only from the seed and its position,
+ * so the same seed and size give the same employees regardless of the number of cores.
+ * <p>
+ * Names and titles are drawn once from datafaker into small pools, and each employee then picks from the pools
+ * with a stateless hash instead of going through a datafaker {@code Schema}.
+ */
+public class BulkEmployeeGenerator {
+
+    private static final int NAME_POOL_SIZE = 1024;
+    private static final int TITLE_POOL_SIZE = 256;
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long seed;
+    private final String[] firstNames;
+    private final String[] lastNames;
+    private final String[] titles;
+
+    /*
+     * Email local parts of the name pools, lower case with anything but letters removed.
+     */
+    private final String[] firstNameEmails;
+    private final String[] lastNameEmails;
+
+    public BulkEmployeeGenerator(long seed) {
+        this.seed = seed;
+        // fixed locale, the pools must not depend on the machine the server runs on
+        final var faker = new Faker(Locale.US, new Random(seed));
+        this.firstNames = pool(NAME_POOL_SIZE, () -> faker.name().firstName());
+        this.lastNames = pool(NAME_POOL_SIZE, () -> faker.name().lastName());
+        this.titles = pool(TITLE_POOL_SIZE, () -> faker.job().title());
+        this.firstNameEmails = emailParts(firstNames);
+        this.lastNameEmails = emailParts(lastNames);
+    }
+
+    public List<MockEmployee> generate(int count) {
+        final var employees =
+                IntStream.range(0, count).parallel().mapToObj(this::employee).toArray(MockEmployee[]::new);
+        return new ArrayList<>(Arrays.asList(employees));
+    }
+
+    /**
+     * Employee at the given position, each field is a separate hash of the seed and the position.
+     */
+    private MockEmployee employee(int index) {
+        final long base = seed + (index + 1L) * GOLDEN_GAMMA;
+        final int first = bounded(mix(base + 1), NAME_POOL_SIZE);
+        final int last = bounded(mix(base + 2), NAME_POOL_SIZE);
+        return MockEmployee.builder()
+                .id(uuid(mix(base + 3), mix(base + 4)))
+                .name(firstNames[first] + ' ' + lastNames[last])
+                .salary(30000 + bounded(mix(base + 5), 470000))
+                .age(16 + bounded(mix(base + 6), 54))
+                .title(titles[bounded(mix(base + 7), TITLE_POOL_SIZE)])
+                // the position keeps emails unique however often a name repeats, as a decimal suffix it cannot
+                // run into the letters of the last name
+                .email(ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                        firstNameEmails[first] + '.' + lastNameEmails[last] + index))
+                .build();
+    }
+
+    private static String[] pool(int size, Supplier<String> supplier) {
+        final var pool = new String[size];
+        for (int i = 0; i < size; i++) {
+            pool[i] = supplier.get();
+        }
+        return pool;
+    }
+
+    private static String[] emailParts(String[] names) {
+        return Arrays.stream(names)
+                .map(name -> name.toLowerCase(Locale.ROOT).replaceAll("[^a-z]", ""))
+                .toArray(String[]::new);
+    }
+
+    /*
+     * Random (version 4) UUID built from the given bits.
+     */
+    private static UUID uuid(long mostSigBits, long leastSigBits) {
+        return new UUID(
+                (mostSigBits & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L,
+                (leastSigBits & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L);
+    }
+
+    private static int bounded(long hash, int bound) {
+        return (int) (((hash >>> 32) * bound) >>> 32);
+    }
+
+    /*
+     * SplitMix64 finalizer.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
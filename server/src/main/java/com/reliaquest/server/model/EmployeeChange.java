@@ -0,0 +1,15 @@
+package com.reliaquest.server.model;
+
+/**
+ * A create or delete made to the employee store.
+ *
+ * @param version store version right after the change
+ * @param employee created or deleted employee
+ */
+public record EmployeeChange(long version, Type type, MockEmployee employee) {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
@@ -0,0 +1,10 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/**
+ * Changes made after a cursor, oldest first.
+ *
+ * @param cursor position after the last of the changes, to ask for the next ones with
+ */
+public record EmployeeChanges(String cursor, List<EmployeeChange> changes) {}
@@ -0,0 +1,8 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/**
+ * Employees returned for a query, along with how many employees matched the filters in total.
+ */
+public record EmployeePage(List<MockEmployee> employees, int totalCount) {}
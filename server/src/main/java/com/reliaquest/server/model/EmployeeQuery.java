@@ -0,0 +1,30 @@
+package com.reliaquest.server.model;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.util.Objects;
+
+/**
+ * Optional filters of GET /api/v1/employee. Employees matching every given filter are returned,
+ * either the {@code top} highest earners or one page of them in creation order.
+ */
+public record EmployeeQuery(
+        @Min(0) Integer page,
+        @Min(1) @Max(10000) Integer size,
+        String nameContains,
+        @PositiveOrZero Integer minSalary,
+        @PositiveOrZero Integer maxSalary,
+        @Min(1) @Max(10000) Integer top) {
+
+    public static final int DEFAULT_SIZE = 100;
+
+    public boolean isEmpty() {
+        return Objects.isNull(page)
+                && Objects.isNull(size)
+                && Objects.isNull(nameContains)
+                && Objects.isNull(minSalary)
+                && Objects.isNull(maxSalary)
+                && Objects.isNull(top);
+    }
+}
@@ -3,12 +3,23 @@ package com.reliaquest.server.service;
 import com.reliaquest.server.config.ServerConfiguration;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeeChanges;
+import com.reliaquest.server.model.EmployeePage;
+import com.reliaquest.server.model.EmployeeQuery;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.store.EmployeePersistence;
+import com.reliaquest.server.store.EmployeeSnapshot;
+import com.reliaquest.server.store.EmployeeStore;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.UUID;
-import lombok.Getter;
+import java.util.function.Predicate;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,16 +31,133 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class MockEmployeeService {
 
+    private static final String CURSOR_SEPARATOR = "-";
+
     private final Faker faker;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    private final EmployeeStore employeeStore;
+
+    private final Optional<EmployeePersistence> employeePersistence;
+
+    /**
+     * @return consistent snapshot of every employee, unaffected by writes made while it is serialized
+     */
+    public List<MockEmployee> getMockEmployees() {
+        return getSnapshot().employees();
+    }
+
+    public EmployeeSnapshot getSnapshot() {
+        return employeeStore.snapshot();
+    }
+
+    /**
+     * Opaque position in the store's history, used both as ETag of the employee list and as change feed cursor
+     */
+    public String cursor(@NonNull EmployeeSnapshot snapshot) {
+        return employeeStore.epoch() + CURSOR_SEPARATOR + snapshot.version();
+    }
+
+    /**
+     * Changes made after the cursor, which may be given as an ETag, quoted and possibly weak
+     *
+     * @return changes, empty if the cursor is not from this run of the server or is older than the retained changes
+     */
+    public Optional<EmployeeChanges> changesSince(@NonNull String cursor) {
+        final var unquoted = cursor.replaceFirst("^W/", "").replace("\"", "");
+        final int separator = unquoted.lastIndexOf(CURSOR_SEPARATOR);
+        if (separator < 0 || !employeeStore.epoch().equals(unquoted.substring(0, separator))) {
+            return Optional.empty();
+        }
+        final long version;
+        try {
+            version = Long.parseLong(unquoted.substring(separator + 1));
+        } catch (NumberFormatException ex) {
+            return Optional.empty();
+        }
+        return employeeStore.changesSince(version).map(changes -> new EmployeeChanges(
+                employeeStore.epoch()
+                        + CURSOR_SEPARATOR
+                        + (changes.isEmpty() ? version : changes.get(changes.size() - 1).version()),
+                changes));
+    }
+
+    /**
+     * Filters a single snapshot, so the page and the total count agree even while employees are created or deleted.
+     */
+    public EmployeePage query(@NonNull EmployeeQuery query) {
+        final var name = Objects.isNull(query.nameContains()) ? null : query.nameContains().toLowerCase(Locale.ROOT);
+        final Predicate<MockEmployee> filter = employee -> (Objects.isNull(name)
+                        || Objects.nonNull(employee.getName())
+                                && employee.getName().toLowerCase(Locale.ROOT).contains(name))
+                && (Objects.isNull(query.minSalary()) || salaryOf(employee) >= query.minSalary())
+                && (Objects.isNull(query.maxSalary()) || salaryOf(employee) <= query.maxSalary());
+
+        final var employees = getSnapshot().employees();
+        if (Objects.nonNull(query.top())) {
+            return top(employees, filter, query.top());
+        }
+
+        final int size = Objects.isNull(query.size()) ? EmployeeQuery.DEFAULT_SIZE : query.size();
+        final long from = (long) (Objects.isNull(query.page()) ? 0 : query.page()) * size;
+        final var page = new ArrayList<MockEmployee>(size);
+        int totalCount = 0;
+        for (final var employee : employees) {
+            if (filter.test(employee)) {
+                if (totalCount >= from && page.size() < size) {
+                    page.add(employee);
+                }
+                totalCount++;
+            }
+        }
+        return new EmployeePage(page, totalCount);
+    }
+
+    /**
+     * Highest earners first, kept in a bounded heap so only {@code top} employees are held while scanning.
+     * Employees earning the same keep their creation order.
+     */
+    private static EmployeePage top(List<MockEmployee> employees, Predicate<MockEmployee> filter, int top) {
+        // lowest ranked at the head: lower salary first, then created later first
+        final Comparator<Ranked> lowestFirst = Comparator.<Ranked>comparingInt(ranked -> salaryOf(ranked.employee()))
+                .thenComparing(Ranked::position, Comparator.reverseOrder());
+        final var heap = new PriorityQueue<Ranked>(top + 1, lowestFirst);
+        int totalCount = 0;
+        int position = 0;
+        for (final var employee : employees) {
+            if (filter.test(employee)) {
+                totalCount++;
+                heap.offer(new Ranked(employee, position));
+                if (heap.size() > top) {
+                    heap.poll();
+                }
+            }
+            position++;
+        }
+        final var highestFirst = new ArrayList<>(heap);
+        highestFirst.sort(lowestFirst.reversed());
+        return new EmployeePage(highestFirst.stream().map(Ranked::employee).toList(), totalCount);
+    }
+
+    private record Ranked(MockEmployee employee, int position) {}
+
+    private static int salaryOf(MockEmployee employee) {
+        return Objects.isNull(employee.getSalary()) ? 0 : employee.getSalary();
+    }
+
+    /**
+     * Writes the store to its snapshot file, see {@link EmployeePersistence}
+     *
+     * @return store version written, empty if persistence is not enabled
+     */
+    public Optional<Long> checkpoint() throws IOException {
+        if (employeePersistence.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(employeePersistence.get().checkpoint());
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return employeeStore.findById(uuid);
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
@@ -37,22 +165,17 @@ public class MockEmployeeService {
                 ServerConfiguration.EMAIL_TEMPLATE.formatted(
                         faker.twitter().userName().toLowerCase()),
                 input);
-        mockEmployees.add(mockEmployee);
+        employeeStore.add(mockEmployee);
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
 
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
-        if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
-            log.debug("Removed employee: {}", mockEmployee.get());
-            return true;
+        if (Objects.isNull(input.getName())) {
+            return false;
         }
-
-        return false;
+        final var mockEmployee = employeeStore.removeFirstByName(input.getName());
+        mockEmployee.ifPresent(employee -> log.debug("Removed employee: {}", employee));
+        return mockEmployee.isPresent();
     }
 }
@@ -0,0 +1,206 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only log of the creates and deletes made since the last snapshot file was written.
+ * Every record is written before the store applies the change, and replaying the log over the snapshot in order
+ * rebuilds the store as it was. Each record moves the store one version on, so the version a record led to follows
+ * from the version in the header and its position, and records already part of the snapshot are skipped. A crash
+ * after a new snapshot was written but before the log was cleared does not apply them twice.
+ * <pre>
+ * header:  long store version the first record applies to
+ * created: byte 1, long id most and least significant bits, int salary, int age, string name, title, email
+ * deleted: byte 2, string name
+ * string:  int length in bytes, or -1 for null, followed by the UTF-8 bytes
+ * </pre>
+ * Records are handed to the operating system one by one, so they survive the process but not necessarily the machine.
+ */
+@Slf4j
+final class EmployeeChangeLog implements Closeable {
+
+    private static final byte CREATED = 1;
+    private static final byte DELETED = 2;
+    private static final int HEADER_BYTES = 8;
+
+    private final FileChannel channel;
+
+    private final ByteArrayOutputStream record = new ByteArrayOutputStream(256);
+
+    private final DataOutputStream out = new DataOutputStream(record);
+
+    private EmployeeChangeLog(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Opens the log for appending, a log without records starts at the given store version
+     */
+    static EmployeeChangeLog open(Path file, long version) throws IOException {
+        final var channel =
+                FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        try {
+            if (channel.size() < HEADER_BYTES) {
+                reset(channel, version);
+            }
+        } catch (IOException ex) {
+            channel.close();
+            throw ex;
+        }
+        return new EmployeeChangeLog(channel);
+    }
+
+    /**
+     * Applies every complete record made after the version of the store. A record cut short by a crash while it was
+     * written is dropped from the file, the change it describes was never applied.
+     *
+     * @return number of records applied
+     */
+    static int replay(Path file, EmployeeStore store) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        final long snapshotVersion = store.snapshot().version();
+        try (final var channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (channel.size() < HEADER_BYTES) {
+                // cleared, or cut short before its header was written
+                reset(channel, snapshotVersion);
+                return 0;
+            }
+            final var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            long version = buffer.getLong();
+            if (version > snapshotVersion) {
+                throw new IOException("Change log starts at version " + version + ", after the snapshot at "
+                        + snapshotVersion + ": " + file);
+            }
+            int applied = 0;
+            int complete = buffer.position();
+            try {
+                while (buffer.hasRemaining()) {
+                    final byte type = buffer.get();
+                    if (type == CREATED) {
+                        final var employee = readEmployee(buffer);
+                        if (++version > snapshotVersion) {
+                            store.add(employee);
+                            applied++;
+                        }
+                    } else if (type == DELETED) {
+                        final var name = Objects.requireNonNull(readString(buffer));
+                        if (++version > snapshotVersion) {
+                            store.removeFirstByName(name);
+                            applied++;
+                        }
+                    } else {
+                        throw new IOException("Unknown change log record " + type + " at " + complete + ": " + file);
+                    }
+                    complete = buffer.position();
+                }
+            } catch (BufferUnderflowException ex) {
+                log.warn("Dropping incomplete change log record at {}: {}", complete, file);
+                channel.truncate(complete);
+            }
+            if (version < snapshotVersion) {
+                // every record is part of the snapshot, new records have to follow its version
+                reset(channel, snapshotVersion);
+            }
+            return applied;
+        }
+    }
+
+    synchronized void appendCreated(MockEmployee employee) throws IOException {
+        record.reset();
+        out.writeByte(CREATED);
+        final var id = employee.getId();
+        out.writeLong(Objects.isNull(id) ? 0 : id.getMostSignificantBits());
+        out.writeLong(Objects.isNull(id) ? 0 : id.getLeastSignificantBits());
+        out.writeInt(Objects.isNull(employee.getSalary()) ? EmployeeSnapshotFile.NULL : employee.getSalary());
+        out.writeInt(Objects.isNull(employee.getAge()) ? EmployeeSnapshotFile.NULL : employee.getAge());
+        writeString(employee.getName());
+        writeString(employee.getTitle());
+        writeString(employee.getEmail());
+        flush();
+    }
+
+    synchronized void appendDeleted(String name) throws IOException {
+        record.reset();
+        out.writeByte(DELETED);
+        writeString(name);
+        flush();
+    }
+
+    /**
+     * Drops every record, called once the changes are part of the snapshot file written at the given store version
+     */
+    synchronized void clear(long version) throws IOException {
+        reset(channel, version);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private void writeString(String string) throws IOException {
+        if (Objects.isNull(string)) {
+            out.writeInt(EmployeeSnapshotFile.NULL);
+            return;
+        }
+        final var bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private void flush() throws IOException {
+        final var buffer = ByteBuffer.wrap(record.toByteArray());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void reset(FileChannel channel, long version) throws IOException {
+        channel.truncate(0);
+        final var header = ByteBuffer.allocate(HEADER_BYTES).putLong(0, version);
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+    }
+
+    private static MockEmployee readEmployee(ByteBuffer buffer) {
+        final long mostSigBits = buffer.getLong();
+        final long leastSigBits = buffer.getLong();
+        final int salary = buffer.getInt();
+        final int age = buffer.getInt();
+        return MockEmployee.builder()
+                .id(mostSigBits == 0 && leastSigBits == 0 ? null : new UUID(mostSigBits, leastSigBits))
+                .salary(salary == EmployeeSnapshotFile.NULL ? null : salary)
+                .age(age == EmployeeSnapshotFile.NULL ? null : age)
+                .name(readString(buffer))
+                .title(readString(buffer))
+                .email(readString(buffer))
+                .build();
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        final int length = buffer.getInt();
+        if (length == EmployeeSnapshotFile.NULL) {
+            return null;
+        }
+        final var bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,110 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the employee store in a directory, as a snapshot file plus the change log of the writes made since.
+ * A restart restores the same employees in the same order, at the same store version.
+ */
+@Slf4j
+public class EmployeePersistence implements Closeable {
+
+    private static final String SNAPSHOT_FILE = "employees.snapshot";
+    private static final String CHANGE_LOG_FILE = "employees.changelog";
+
+    private final Path directory;
+
+    private final Path snapshotFile;
+
+    private final Path changeLogFile;
+
+    private final boolean snapshotOnShutdown;
+
+    private EmployeeStore store;
+
+    private EmployeeChangeLog changeLog;
+
+    public EmployeePersistence(@NonNull Path directory, boolean snapshotOnShutdown) {
+        this.directory = directory;
+        this.snapshotFile = directory.resolve(SNAPSHOT_FILE);
+        this.changeLogFile = directory.resolve(CHANGE_LOG_FILE);
+        this.snapshotOnShutdown = snapshotOnShutdown;
+    }
+
+    /**
+     * Restores the store from the snapshot file and change log. Without a snapshot file, the store is created from
+     * the initial employees and written out right away, so the next start restores them.
+     */
+    public synchronized EmployeeStore open(@NonNull Supplier<List<MockEmployee>> initialEmployees) throws IOException {
+        if (Objects.nonNull(store)) {
+            throw new IllegalStateException("Employee store already opened from " + snapshotFile);
+        }
+        Files.createDirectories(directory);
+        final long start = System.nanoTime();
+        if (Files.exists(snapshotFile)) {
+            final var contents = EmployeeSnapshotFile.read(snapshotFile);
+            store = new EmployeeStore(contents.version(), contents.employees());
+            final int replayed = EmployeeChangeLog.replay(changeLogFile, store);
+            log.info(
+                    "Restored {} employees at version {} from {}, {} changes replayed, in {} ms",
+                    store.snapshot().size(),
+                    store.snapshot().version(),
+                    snapshotFile,
+                    replayed,
+                    (System.nanoTime() - start) / 1_000_000);
+            changeLog = EmployeeChangeLog.open(changeLogFile, store.snapshot().version());
+            store.recordChangesTo(changeLog);
+        } else {
+            store = new EmployeeStore(initialEmployees.get());
+            changeLog = EmployeeChangeLog.open(changeLogFile, store.snapshot().version());
+            store.recordChangesTo(changeLog);
+            // also clears any change log left without its snapshot, it cannot be replayed
+            store.checkpoint(snapshotFile);
+            log.info("Wrote {} initial employees to {}", store.snapshot().size(), snapshotFile);
+        }
+        return store;
+    }
+
+    /**
+     * Writes the store to the snapshot file and clears the change log
+     *
+     * @return store version written
+     */
+    public synchronized long checkpoint() throws IOException {
+        if (Objects.isNull(store)) {
+            throw new IllegalStateException("Employee store not opened");
+        }
+        final long start = System.nanoTime();
+        final long version = store.checkpoint(snapshotFile);
+        log.info(
+                "Wrote employees at version {} to {} in {} ms",
+                version,
+                snapshotFile,
+                (System.nanoTime() - start) / 1_000_000);
+        return version;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (Objects.isNull(store)) {
+            return;
+        }
+        try {
+            if (snapshotOnShutdown) {
+                checkpoint();
+            }
+        } finally {
+            store.recordChangesTo(null);
+            changeLog.close();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Immutable, versioned view of every employee in the store, in creation order.
+ * Employees live in fixed size segments chosen by their creation sequence, so a write only copies the segment it touches
+ * and the array of segment references.
+ */
+public final class EmployeeSnapshot {
+
+    static final int SEGMENT_SIZE = 1024;
+
+    private final long version;
+
+    /**
+     * Segment i holds the employees with sequence in [i * SEGMENT_SIZE, (i + 1) * SEGMENT_SIZE), null when it has none.
+     */
+    private final Segment[] segments;
+
+    /**
+     * Number of employees in all the segments before segment i
+     */
+    private final int[] offsets;
+
+    private final int size;
+
+    private final List<MockEmployee> employees;
+
+    private EmployeeSnapshot(long version, Segment[] segments) {
+        this.version = version;
+        this.segments = segments;
+        this.offsets = new int[segments.length];
+        int count = 0;
+        for (int i = 0; i < segments.length; i++) {
+            offsets[i] = count;
+            count += segments[i] == null ? 0 : segments[i].size();
+        }
+        this.size = count;
+        this.employees = new EmployeeList();
+    }
+
+    /**
+     * Builds a snapshot from employees in creation order, with sequences starting at 0
+     */
+    static EmployeeSnapshot of(long version, List<MockEmployee> employees) {
+        final var segments = new Segment[(employees.size() + SEGMENT_SIZE - 1) / SEGMENT_SIZE];
+        for (int i = 0; i < segments.length; i++) {
+            final int from = i * SEGMENT_SIZE;
+            final int to = Math.min(from + SEGMENT_SIZE, employees.size());
+            final var sequences = new long[to - from];
+            for (int j = 0; j < sequences.length; j++) {
+                sequences[j] = from + j;
+            }
+            segments[i] = new Segment(sequences, employees.subList(from, to).toArray(new MockEmployee[0]));
+        }
+        return new EmployeeSnapshot(version, segments);
+    }
+
+    /**
+     * @return version of the store this snapshot was taken at, incremented by every write
+     */
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return unmodifiable list of the employees, valid for as long as the snapshot is held
+     */
+    public List<MockEmployee> employees() {
+        return employees;
+    }
+
+    EmployeeSnapshot withAdded(long sequence, MockEmployee employee) {
+        final int index = segmentIndex(sequence);
+        final var updated = Arrays.copyOf(segments, Math.max(segments.length, index + 1));
+        updated[index] = updated[index] == null
+                ? new Segment(new long[] {sequence}, new MockEmployee[] {employee})
+                : updated[index].withAppended(sequence, employee);
+        return new EmployeeSnapshot(version + 1, updated);
+    }
+
+    EmployeeSnapshot withRemoved(long sequence) {
+        final int index = segmentIndex(sequence);
+        if (index >= segments.length || segments[index] == null) {
+            return this;
+        }
+        final var updated = segments.clone();
+        updated[index] = segments[index].without(sequence);
+        return new EmployeeSnapshot(version + 1, updated);
+    }
+
+    private static int segmentIndex(long sequence) {
+        return Math.toIntExact(sequence / SEGMENT_SIZE);
+    }
+
+    private final class EmployeeList extends AbstractList<MockEmployee> implements RandomAccess {
+
+        @Override
+        public MockEmployee get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            // last segment starting at or before the index, empty segments share the offset of the next one
+            int low = 0;
+            int high = segments.length - 1;
+            while (low < high) {
+                final int mid = (low + high + 1) >>> 1;
+                if (offsets[mid] <= index) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return segments[low].employees[index - offsets[low]];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Employees of one segment, ordered by sequence
+     */
+    private record Segment(long[] sequences, MockEmployee[] employees) {
+
+        int size() {
+            return employees.length;
+        }
+
+        Segment withAppended(long sequence, MockEmployee employee) {
+            final var updatedSequences = Arrays.copyOf(sequences, sequences.length + 1);
+            final var updatedEmployees = Arrays.copyOf(employees, employees.length + 1);
+            updatedSequences[sequences.length] = sequence;
+            updatedEmployees[employees.length] = employee;
+            return new Segment(updatedSequences, updatedEmployees);
+        }
+
+        Segment without(long sequence) {
+            final int index = Arrays.binarySearch(sequences, sequence);
+            if (index < 0) {
+                return this;
+            }
+            if (employees.length == 1) {
+                return null;
+            }
+            final var updatedSequences = new long[sequences.length - 1];
+            final var updatedEmployees = new MockEmployee[employees.length - 1];
+            System.arraycopy(sequences, 0, updatedSequences, 0, index);
+            System.arraycopy(sequences, index + 1, updatedSequences, index, sequences.length - index - 1);
+            System.arraycopy(employees, 0, updatedEmployees, 0, index);
+            System.arraycopy(employees, index + 1, updatedEmployees, index, employees.length - index - 1);
+            return new Segment(updatedSequences, updatedEmployees);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Binary file holding every employee of a snapshot, in creation order.
+ * <pre>
+ * int     magic, format version
+ * long    store version
+ * int     string count, employee count
+ * int[]   string offsets into the string bytes, string count + 1 of them
+ * byte[]  UTF-8 bytes of every distinct string
+ * record  per employee: long id most and least significant bits, int salary, int age, int name, title and email
+ *         string numbers
+ * </pre>
+ * Strings are stored once however many employees share them. Records have a fixed size, so both strings and records
+ * are decoded in parallel straight from a memory-mapped file.
+ */
+final class EmployeeSnapshotFile {
+
+    private static final int MAGIC = 0x454D5053;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4 + 4;
+    private static final int RECORD_BYTES = 8 + 8 + 4 + 4 + 4 + 4 + 4;
+
+    /*
+     * Stands for a null salary or age, or a null string number.
+     */
+    static final int NULL = -1;
+
+    private EmployeeSnapshotFile() {}
+
+    record Contents(long version, List<MockEmployee> employees) {}
+
+    /**
+     * Writes to a temporary file first and moves it over the target, a crash never leaves a partial snapshot
+     */
+    static void write(Path file, EmployeeSnapshot snapshot) throws IOException {
+        final var employees = snapshot.employees();
+        final Map<String, Integer> stringNumbers = new HashMap<>();
+        final List<byte[]> strings = new ArrayList<>();
+        final var records = new int[employees.size() * 3];
+        for (int i = 0; i < employees.size(); i++) {
+            final var employee = employees.get(i);
+            records[i * 3] = stringNumber(employee.getName(), stringNumbers, strings);
+            records[i * 3 + 1] = stringNumber(employee.getTitle(), stringNumbers, strings);
+            records[i * 3 + 2] = stringNumber(employee.getEmail(), stringNumbers, strings);
+        }
+
+        final var temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (final var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(snapshot.version());
+            out.writeInt(strings.size());
+            out.writeInt(employees.size());
+            int offset = 0;
+            for (final var string : strings) {
+                out.writeInt(offset);
+                offset += string.length;
+            }
+            out.writeInt(offset);
+            for (final var string : strings) {
+                out.write(string);
+            }
+            for (int i = 0; i < employees.size(); i++) {
+                final var employee = employees.get(i);
+                final var id = employee.getId();
+                out.writeLong(Objects.isNull(id) ? 0 : id.getMostSignificantBits());
+                out.writeLong(Objects.isNull(id) ? 0 : id.getLeastSignificantBits());
+                out.writeInt(Objects.isNull(employee.getSalary()) ? NULL : employee.getSalary());
+                out.writeInt(Objects.isNull(employee.getAge()) ? NULL : employee.getAge());
+                out.writeInt(records[i * 3]);
+                out.writeInt(records[i * 3 + 1]);
+                out.writeInt(records[i * 3 + 2]);
+            }
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static Contents read(Path file) throws IOException {
+        try (final var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot larger than 2 GB: " + file);
+            }
+            final var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not an employee snapshot: " + file);
+            }
+            if (buffer.getInt(4) != FORMAT_VERSION) {
+                throw new IOException("Unsupported employee snapshot format " + buffer.getInt(4) + ": " + file);
+            }
+            final long version = buffer.getLong(8);
+            final int stringCount = buffer.getInt(16);
+            final int employeeCount = buffer.getInt(20);
+
+            final int offsetsStart = HEADER_BYTES;
+            final int bytesStart = offsetsStart + (stringCount + 1) * 4;
+            final int recordsStart = bytesStart + buffer.getInt(offsetsStart + stringCount * 4);
+            if ((long) recordsStart + (long) employeeCount * RECORD_BYTES != buffer.limit()) {
+                throw new IOException("Truncated employee snapshot: " + file);
+            }
+
+            // absolute reads only, the buffer position is never moved so threads can share it
+            final var strings = IntStream.range(0, stringCount)
+                    .parallel()
+                    .mapToObj(i -> string(
+                            buffer,
+                            bytesStart + buffer.getInt(offsetsStart + i * 4),
+                            bytesStart + buffer.getInt(offsetsStart + (i + 1) * 4)))
+                    .toArray(String[]::new);
+            final var employees = IntStream.range(0, employeeCount)
+                    .parallel()
+                    .mapToObj(i -> employee(buffer, recordsStart + i * RECORD_BYTES, strings))
+                    .toArray(MockEmployee[]::new);
+            return new Contents(version, Arrays.asList(employees));
+        }
+    }
+
+    private static int stringNumber(String string, Map<String, Integer> stringNumbers, List<byte[]> strings) {
+        if (Objects.isNull(string)) {
+            return NULL;
+        }
+        return stringNumbers.computeIfAbsent(string, ignored -> {
+            strings.add(string.getBytes(StandardCharsets.UTF_8));
+            return strings.size() - 1;
+        });
+    }
+
+    private static String string(ByteBuffer buffer, int from, int to) {
+        final var bytes = new byte[to - from];
+        buffer.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static MockEmployee employee(ByteBuffer buffer, int at, String[] strings) {
+        final long mostSigBits = buffer.getLong(at);
+        final long leastSigBits = buffer.getLong(at + 8);
+        final int salary = buffer.getInt(at + 16);
+        final int age = buffer.getInt(at + 20);
+        final int name = buffer.getInt(at + 24);
+        final int title = buffer.getInt(at + 28);
+        final int email = buffer.getInt(at + 32);
+        return MockEmployee.builder()
+                .id(mostSigBits == 0 && leastSigBits == 0 ? null : new UUID(mostSigBits, leastSigBits))
+                .salary(salary == NULL ? null : salary)
+                .age(age == NULL ? null : age)
+                .name(name == NULL ? null : strings[name])
+                .title(title == NULL ? null : strings[title])
+                .email(email == NULL ? null : strings[email])
+                .build();
+    }
+}
@@ -0,0 +1,200 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.EmployeeChange;
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.random.RandomGenerator;
+import lombok.NonNull;
+
+/**
+ * Thread-safe employee store. Readers never lock: they get an immutable snapshot, or look up the id and name indexes.
+ * Writers are serialized with each other, build the next snapshot by copying only the segment they touch and publish it
+ * atomically, so a reader always sees either all of a write or none of it.
+ * The indexes are updated right after the snapshot is published.
+ * <p>
+ * When a change log is attached, each write is appended to it before it is applied, see {@link EmployeePersistence}.
+ * The latest writes are also kept in memory, for clients catching up with {@link #changesSince(long)}.
+ */
+public class EmployeeStore {
+
+    public static final int RETAINED_CHANGES = 10_000;
+
+    /**
+     * Random per store instance, so versions of a previous run are never mistaken for versions of this one
+     */
+    private final String epoch = Long.toHexString(RandomGenerator.getDefault().nextLong());
+
+    private volatile EmployeeSnapshot snapshot;
+
+    private final Map<UUID, MockEmployee> employeesById = new ConcurrentHashMap<>();
+
+    /**
+     * Lower-cased name to the employees with that name, ordered by creation sequence
+     */
+    private final Map<String, ConcurrentSkipListMap<Long, MockEmployee>> employeesByName = new ConcurrentHashMap<>();
+
+    private long nextSequence;
+
+    private EmployeeChangeLog changeLog;
+
+    /**
+     * Latest changes by the store version they led to, at most RETAINED_CHANGES of them
+     */
+    private final ConcurrentSkipListMap<Long, EmployeeChange> changes = new ConcurrentSkipListMap<>();
+
+    /**
+     * Store version before the oldest retained change, changes after it are all retained
+     */
+    private volatile long changesFrom;
+
+    /*
+     * Size of changes, which a skip list does not keep track of.
+     */
+    private int retainedChanges;
+
+    public EmployeeStore(@NonNull List<MockEmployee> employees) {
+        this(0, employees);
+    }
+
+    EmployeeStore(long version, @NonNull List<MockEmployee> employees) {
+        this.snapshot = EmployeeSnapshot.of(version, employees);
+        this.changesFrom = version;
+        for (final var employee : employees) {
+            index(nextSequence++, employee);
+        }
+    }
+
+    public EmployeeSnapshot snapshot() {
+        return snapshot;
+    }
+
+    public Optional<MockEmployee> findById(@NonNull UUID uuid) {
+        return Optional.ofNullable(employeesById.get(uuid));
+    }
+
+    public synchronized void add(@NonNull MockEmployee employee) {
+        if (Objects.nonNull(changeLog)) {
+            append(() -> changeLog.appendCreated(employee));
+        }
+        final long sequence = nextSequence++;
+        snapshot = snapshot.withAdded(sequence, employee);
+        index(sequence, employee);
+        retain(new EmployeeChange(snapshot.version(), EmployeeChange.Type.CREATED, employee));
+    }
+
+    /**
+     * Removes the first employee, in creation order, whose name matches ignoring case
+     *
+     * @return removed employee, empty if none matched
+     */
+    public synchronized Optional<MockEmployee> removeFirstByName(@NonNull String name) {
+        final var sameName = employeesByName.get(nameKey(name));
+        final var first = Objects.isNull(sameName) ? null : sameName.firstEntry();
+        if (Objects.isNull(first)) {
+            return Optional.empty();
+        }
+
+        if (Objects.nonNull(changeLog)) {
+            append(() -> changeLog.appendDeleted(name));
+        }
+        final var employee = first.getValue();
+        snapshot = snapshot.withRemoved(first.getKey());
+        if (Objects.nonNull(employee.getId())) {
+            employeesById.remove(employee.getId());
+        }
+        sameName.remove(first.getKey());
+        if (sameName.isEmpty()) {
+            employeesByName.remove(nameKey(name));
+        }
+        retain(new EmployeeChange(snapshot.version(), EmployeeChange.Type.DELETED, employee));
+        return Optional.of(employee);
+    }
+
+    public String epoch() {
+        return epoch;
+    }
+
+    /**
+     * Changes made after the given store version, oldest first. Lock-free, a write racing with the call is either
+     * included in full or left for the next call.
+     *
+     * @return changes, empty if the version is ahead of the store or older than the retained changes
+     */
+    public Optional<List<EmployeeChange>> changesSince(long version) {
+        if (version < changesFrom || version > snapshot.version()) {
+            return Optional.empty();
+        }
+        final List<EmployeeChange> since = new ArrayList<>(changes.tailMap(version, false).values());
+        // changes may have been dropped while they were copied
+        if (version < changesFrom) {
+            return Optional.empty();
+        }
+        return Optional.of(since);
+    }
+
+    synchronized void recordChangesTo(EmployeeChangeLog changeLog) {
+        this.changeLog = changeLog;
+    }
+
+    /**
+     * Writes the current snapshot to the file and clears the change log. Writes wait until both are done, so no
+     * change is in neither of them. The cleared log starts at the version of the snapshot, if the process dies before
+     * it is cleared replay skips the records the snapshot already holds.
+     *
+     * @return version of the snapshot written
+     */
+    synchronized long checkpoint(Path snapshotFile) throws IOException {
+        EmployeeSnapshotFile.write(snapshotFile, snapshot);
+        if (Objects.nonNull(changeLog)) {
+            changeLog.clear(snapshot.version());
+        }
+        return snapshot.version();
+    }
+
+    private static void append(ChangeLogWrite write) {
+        try {
+            write.run();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to append to the employee change log", ex);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChangeLogWrite {
+        void run() throws IOException;
+    }
+
+    private void retain(EmployeeChange change) {
+        changes.put(change.version(), change);
+        if (++retainedChanges > RETAINED_CHANGES) {
+            changesFrom = changes.pollFirstEntry().getKey();
+            retainedChanges--;
+        }
+    }
+
+    private void index(long sequence, MockEmployee employee) {
+        if (Objects.nonNull(employee.getId())) {
+            employeesById.put(employee.getId(), employee);
+        }
+        if (Objects.nonNull(employee.getName())) {
+            employeesByName
+                    .computeIfAbsent(nameKey(employee.getName()), ignored -> new ConcurrentSkipListMap<>())
+                    .put(sequence, employee);
+        }
+    }
+
+    private static String nameKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,93 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Per-client rate limiter using the generic cell rate algorithm (GCRA), a token bucket that only stores when the
+ * bucket will next be full. Each client may burst {@code limit} requests, then gets one more every
+ * {@code window / limit}.
+ * <p>
+ * Clients hash into a fixed number of buckets, each a single {@code long} updated with compare-and-set, so deciding
+ * a request takes no lock and allocates nothing. Buckets sit on separate cache lines so that clients in different
+ * buckets do not contend. Clients sharing a bucket share its limit.
+ */
+public class ClientRateLimiter {
+
+    /*
+     * Longs per cache line, buckets are this far apart in the array.
+     */
+    private static final int STRIDE = 8;
+
+    @Getter
+    private final int limit;
+
+    @Getter
+    private final Duration window;
+
+    /**
+     * Time between two requests of a client once its burst is used up
+     */
+    private final long emissionIntervalNanos;
+
+    /**
+     * How far ahead of now the theoretical arrival time may run before requests are rejected
+     */
+    private final long burstToleranceNanos;
+
+    private final int bucketMask;
+
+    /**
+     * Theoretical arrival time of the next request per bucket, in nanos since {@link #origin}
+     */
+    private final AtomicLongArray arrivals;
+
+    private final long origin = System.nanoTime();
+
+    /**
+     * @param buckets number of client buckets, rounded up to a power of two
+     */
+    public ClientRateLimiter(int limit, @NonNull Duration window, int buckets) {
+        if (limit < 1 || window.isNegative() || window.isZero() || buckets < 1) {
+            throw new IllegalArgumentException("Rate limit needs a positive limit, window and number of buckets");
+        }
+        this.limit = limit;
+        this.window = window;
+        this.emissionIntervalNanos = Math.max(1, window.toNanos() / limit);
+        this.burstToleranceNanos = emissionIntervalNanos * (limit - 1);
+        final int size = buckets == 1 ? 1 : Integer.highestOneBit(buckets - 1) << 1;
+        this.bucketMask = size - 1;
+        this.arrivals = new AtomicLongArray(size * STRIDE);
+    }
+
+    /**
+     * Takes a permit for the client if it has one
+     *
+     * @param client client key, e.g. a header value or remote address
+     * @return 0 if the request is allowed, otherwise nanos until the client gets its next permit
+     */
+    public long tryAcquire(Object client) {
+        return tryAcquire(client.hashCode(), System.nanoTime() - origin);
+    }
+
+    long tryAcquire(int clientHash, long now) {
+        final int index = bucket(clientHash) * STRIDE;
+        while (true) {
+            final long arrival = arrivals.get(index);
+            final long theoreticalArrival = Math.max(arrival, now);
+            final long ahead = theoreticalArrival - now;
+            if (ahead > burstToleranceNanos) {
+                return ahead - burstToleranceNanos;
+            }
+            if (arrivals.compareAndSet(index, arrival, theoreticalArrival + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    private int bucket(int hash) {
+        return (hash ^ (hash >>> 16)) & bucketMask;
+    }
+}
@@ -0,0 +1,51 @@
+package com.reliaquest.server.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Rejects requests over the client's rate limit with 429 and a Retry-After header, in whole seconds.
+ * Clients are told apart by the configured header, or by remote address when the header is not configured or missing.
+ */
+@RequiredArgsConstructor
+public class RequestLimitInterceptor implements HandlerInterceptor {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @NonNull
+    private final ClientRateLimiter rateLimiter;
+
+    /**
+     * Request header identifying the client, null to use the remote address
+     */
+    private final String clientHeader;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        final long waitNanos = rateLimiter.tryAcquire(client(request));
+        if (waitNanos == 0) {
+            return true;
+        }
+        final long retryAfterSeconds = (waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND;
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        return false;
+    }
+
+    private String client(HttpServletRequest request) {
+        if (Objects.nonNull(clientHeader)) {
+            final var client = request.getHeader(clientHeader);
+            if (Objects.nonNull(client)) {
+                return client;
+            }
+        }
+        return request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,45 @@
+package com.reliaquest.server.generator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.HashSet;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class BulkEmployeeGeneratorTest {
+
+    private static final int COUNT = 200_000;
+
+    @Test
+    void generate_sameSeedAndCount_givesEqualEmployees() {
+        final var generator = new BulkEmployeeGenerator(42);
+
+        final var employees = generator.generate(COUNT);
+
+        assertEquals(COUNT, employees.size());
+        assertEquals(employees, generator.generate(COUNT));
+        assertEquals(employees, new BulkEmployeeGenerator(42).generate(COUNT));
+        assertNotEquals(employees, new BulkEmployeeGenerator(43).generate(COUNT));
+    }
+
+    @Test
+    void generate_largerCount_keepsEmployeesOfSmallerCount() {
+        final var generator = new BulkEmployeeGenerator(42);
+
+        assertEquals(generator.generate(1_000), generator.generate(COUNT).subList(0, 1_000));
+    }
+
+    @Test
+    void generate_emailsAndIdsAreUnique() {
+        final var employees = new BulkEmployeeGenerator(7).generate(COUNT);
+
+        final var emails = new HashSet<String>();
+        final var ids = new HashSet<UUID>();
+        for (final MockEmployee employee : employees) {
+            assertTrue(emails.add(employee.getEmail()), () -> "duplicate email " + employee.getEmail());
+            assertTrue(ids.add(employee.getId()), () -> "duplicate id " + employee.getId());
+            assertTrue(employee.getEmail().endsWith("@company.com"), employee.getEmail());
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeeQuery;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.store.EmployeeStore;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeServiceTest {
+
+    @Test
+    void delete_sameNameInAnyCase_removesEmployeesInCreationOrder() {
+        final var seeded = employee("Tiger Nixon", 320_800);
+        final var service = service(List.of(seeded, employee("Bill Bob", 89_750)));
+        final var created = service.create(input("TIGER NIXON", 100_000));
+        final var createdLater = service.create(input("tiger nixon", 90_000));
+
+        assertTrue(service.delete(deleteInput("tiger NIXON")));
+        assertTrue(service.findById(seeded.getId()).isEmpty());
+        assertTrue(service.findById(created.getId()).isPresent());
+
+        assertTrue(service.delete(deleteInput("Tiger Nixon")));
+        assertTrue(service.findById(created.getId()).isEmpty());
+        assertEquals(List.of("Bill Bob", "tiger nixon"), names(service.getMockEmployees()));
+
+        assertTrue(service.delete(deleteInput("TIGER nixon")));
+        assertTrue(service.findById(createdLater.getId()).isEmpty());
+        assertFalse(service.delete(deleteInput("Tiger Nixon")));
+        assertEquals(List.of("Bill Bob"), names(service.getMockEmployees()));
+    }
+
+    @Test
+    void delete_nullName_removesNothing() {
+        final var service = service(List.of(employee("Tiger Nixon", 320_800)));
+
+        assertFalse(service.delete(deleteInput(null)));
+        assertEquals(1, service.getMockEmployees().size());
+    }
+
+    @Test
+    void query_pages_splitMatchesAtPageBoundaries() {
+        final var service = service(List.of(
+                employee("Employee 0", 10), employee("Employee 1", 20), employee("Employee 2", 30),
+                employee("Employee 3", 40), employee("Employee 4", 50)));
+
+        final var first = service.query(new EmployeeQuery(0, 2, null, null, null, null));
+        final var last = service.query(new EmployeeQuery(2, 2, null, null, null, null));
+        final var beyond = service.query(new EmployeeQuery(3, 2, null, null, null, null));
+
+        assertEquals(List.of("Employee 0", "Employee 1"), names(first.employees()));
+        assertEquals(List.of("Employee 4"), names(last.employees()));
+        assertTrue(beyond.employees().isEmpty());
+        assertEquals(5, first.totalCount());
+        assertEquals(5, beyond.totalCount());
+    }
+
+    @Test
+    void query_salaryRange_includesBothBounds() {
+        final var service = service(List.of(
+                employee("Below", 99), employee("Min", 100), employee("Between", 150), employee("Max", 200),
+                employee("Above", 201)));
+
+        final var page = service.query(new EmployeeQuery(null, null, null, 100, 200, null));
+
+        assertEquals(List.of("Min", "Between", "Max"), names(page.employees()));
+        assertEquals(3, page.totalCount());
+        assertEquals(List.of("Max", "Above"), names(service.query(new EmployeeQuery(null, null, null, 200, null, null))
+                .employees()));
+        assertEquals(List.of("Below", "Min"), names(service.query(new EmployeeQuery(null, null, null, null, 100, null))
+                .employees()));
+    }
+
+    @Test
+    void query_nameContains_ignoresCase() {
+        final var service = service(List.of(
+                employee("Tiger Nixon", 320_800), employee("Bill Bob", 89_750), employee("NIXON Tiger", 100_000)));
+
+        final var page = service.query(new EmployeeQuery(null, null, "nIxOn", null, null, null));
+
+        assertEquals(List.of("Tiger Nixon", "NIXON Tiger"), names(page.employees()));
+        assertEquals(2, page.totalCount());
+    }
+
+    @Test
+    void query_top_returnsHighestEarnersFirstAndTiesInCreationOrder() {
+        final var service = service(List.of(
+                employee("Low", 10),
+                employee("First of tie", 50),
+                employee("High", 90),
+                employee("Second of tie", 50),
+                employee("Third of tie", 50)));
+
+        final var page = service.query(new EmployeeQuery(null, null, null, null, null, 3));
+
+        assertEquals(List.of("High", "First of tie", "Second of tie"), names(page.employees()));
+        assertEquals(5, page.totalCount());
+    }
+
+    @Test
+    void query_topWithFilters_countsOnlyMatches() {
+        final var service = service(List.of(
+                employee("Tiger Nixon", 320_800), employee("Bill Bob", 89_750), employee("Tiger Woods", 100_000)));
+
+        final var page = service.query(new EmployeeQuery(null, null, "tiger", null, 200_000, 5));
+
+        assertEquals(List.of("Tiger Woods"), names(page.employees()));
+        assertEquals(1, page.totalCount());
+    }
+
+    private static MockEmployeeService service(List<MockEmployee> employees) {
+        return new MockEmployeeService(new Faker(), new EmployeeStore(employees), Optional.empty());
+    }
+
+    private static List<String> names(List<MockEmployee> employees) {
+        return employees.stream().map(MockEmployee::getName).toList();
+    }
+
+    private static CreateMockEmployeeInput input(String name, int salary) {
+        final var input = new CreateMockEmployeeInput();
+        input.setName(name);
+        input.setSalary(salary);
+        input.setAge(35);
+        input.setTitle("Software Developer");
+        return input;
+    }
+
+    private static DeleteMockEmployeeInput deleteInput(String name) {
+        final var input = new DeleteMockEmployeeInput();
+        input.setName(name);
+        return input;
+    }
+
+    private static MockEmployee employee(String name, int salary) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(salary)
+                .age(35)
+                .title("Software Developer")
+                .email(UUID.randomUUID() + "@company.com")
+                .build();
+    }
+}
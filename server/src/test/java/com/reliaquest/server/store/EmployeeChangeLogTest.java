@@ -0,0 +1,122 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EmployeeChangeLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replay_appliesCreatesAndDeletesInOrder() throws IOException {
+        final var file = directory.resolve("employees.changelog");
+        final var tiger = employee("Tiger Nixon");
+        final var bill = employee("Bill Bob");
+        try (final var changeLog = EmployeeChangeLog.open(file, 0)) {
+            changeLog.appendCreated(tiger);
+            changeLog.appendCreated(bill);
+            changeLog.appendDeleted("TIGER NIXON");
+        }
+        final var store = new EmployeeStore(List.of());
+
+        assertEquals(3, EmployeeChangeLog.replay(file, store));
+        assertEquals(List.of(bill), store.snapshot().employees());
+        assertEquals(3, store.snapshot().version());
+    }
+
+    @Test
+    void replay_employeeWithNullFields_restoresNulls() throws IOException {
+        final var file = directory.resolve("employees.changelog");
+        final var nameOnly = MockEmployee.builder().name("Jill Jenkins").build();
+        try (final var changeLog = EmployeeChangeLog.open(file, 0)) {
+            changeLog.appendCreated(nameOnly);
+        }
+        final var store = new EmployeeStore(List.of());
+
+        EmployeeChangeLog.replay(file, store);
+
+        assertEquals(List.of(nameOnly), store.snapshot().employees());
+    }
+
+    @Test
+    void replay_tornTrailingRecord_dropsItFromTheFile() throws IOException {
+        final var file = directory.resolve("employees.changelog");
+        final var tiger = employee("Tiger Nixon");
+        final long complete;
+        try (final var changeLog = EmployeeChangeLog.open(file, 0)) {
+            changeLog.appendCreated(tiger);
+            complete = Files.size(file);
+            changeLog.appendCreated(employee("Bill Bob"));
+        }
+        try (final var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+        final var store = new EmployeeStore(List.of());
+
+        assertEquals(1, EmployeeChangeLog.replay(file, store));
+        assertEquals(List.of(tiger), store.snapshot().employees());
+        assertEquals(complete, Files.size(file));
+    }
+
+    @Test
+    void replay_recordsAlreadyInSnapshot_areSkipped() throws IOException {
+        final var file = directory.resolve("employees.changelog");
+        final var tiger = employee("Tiger Nixon");
+        final var bill = employee("Bill Bob");
+        try (final var changeLog = EmployeeChangeLog.open(file, 0)) {
+            changeLog.appendCreated(tiger);
+            changeLog.appendCreated(bill);
+        }
+        // snapshot taken after the first record, before the log was cleared
+        final var store = new EmployeeStore(1, List.of(tiger));
+
+        assertEquals(1, EmployeeChangeLog.replay(file, store));
+        assertEquals(List.of(tiger, bill), store.snapshot().employees());
+        assertEquals(2, store.snapshot().version());
+    }
+
+    @Test
+    void replay_afterClear_appliesOnlyNewRecords() throws IOException {
+        final var file = directory.resolve("employees.changelog");
+        final var bill = employee("Bill Bob");
+        try (final var changeLog = EmployeeChangeLog.open(file, 0)) {
+            changeLog.appendCreated(employee("Tiger Nixon"));
+            changeLog.clear(1);
+            changeLog.appendCreated(bill);
+        }
+        final var store = new EmployeeStore(1, List.of());
+
+        assertEquals(1, EmployeeChangeLog.replay(file, store));
+        assertEquals(List.of(bill), store.snapshot().employees());
+    }
+
+    @Test
+    void replay_logStartingAfterSnapshot_throws() throws IOException {
+        final var file = directory.resolve("employees.changelog");
+        EmployeeChangeLog.open(file, 5).close();
+
+        assertThrows(IOException.class, () -> EmployeeChangeLog.replay(file, new EmployeeStore(List.of())));
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(120_000)
+                .age(35)
+                .title("Software Developer")
+                .email(name.replace(' ', '.').toLowerCase() + "@company.com")
+                .build();
+    }
+}
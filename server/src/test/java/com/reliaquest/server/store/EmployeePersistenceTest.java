@@ -0,0 +1,114 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EmployeePersistenceTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void open_withoutSnapshot_storesInitialEmployees() throws IOException {
+        final var initial = List.of(employee("Tiger Nixon"), employee("Bill Bob"));
+        try (final var persistence = new EmployeePersistence(directory, false)) {
+            assertEquals(initial, persistence.open(() -> initial).snapshot().employees());
+        }
+
+        try (final var persistence = new EmployeePersistence(directory, false)) {
+            assertEquals(initial, persistence.open(List::of).snapshot().employees());
+        }
+    }
+
+    @Test
+    void open_afterWritesWithoutCheckpoint_replaysThem() throws IOException {
+        final var tiger = employee("Tiger Nixon");
+        final var jill = employee("Jill Jenkins");
+        try (final var persistence = new EmployeePersistence(directory, false)) {
+            final var store = persistence.open(() -> List.of(tiger, employee("Bill Bob")));
+            store.add(jill);
+            store.removeFirstByName("bill bob");
+        }
+
+        try (final var persistence = new EmployeePersistence(directory, false)) {
+            final var snapshot = persistence.open(List::of).snapshot();
+            assertEquals(List.of(tiger, jill), snapshot.employees());
+            assertEquals(2, snapshot.version());
+        }
+    }
+
+    @Test
+    void open_afterCheckpoint_restoresStoreAndLaterWrites() throws IOException {
+        final var tiger = employee("Tiger Nixon");
+        final var jill = employee("Jill Jenkins");
+        try (final var persistence = new EmployeePersistence(directory, false)) {
+            final var store = persistence.open(() -> List.of(tiger));
+            store.add(employee("Bill Bob"));
+            assertEquals(1, persistence.checkpoint());
+            store.removeFirstByName("Bill Bob");
+            store.add(jill);
+        }
+
+        try (final var persistence = new EmployeePersistence(directory, false)) {
+            final var snapshot = persistence.open(List::of).snapshot();
+            assertEquals(List.of(tiger, jill), snapshot.employees());
+            assertEquals(3, snapshot.version());
+        }
+    }
+
+    @Test
+    void open_afterCrashBetweenSnapshotAndClearingLog_appliesChangesOnce() throws IOException {
+        final var tiger = employee("Tiger Nixon");
+        final var jill = employee("Jill Jenkins");
+        final var kunal = employee("Kunal Patil");
+        try (final var persistence = new EmployeePersistence(directory, false)) {
+            final var store = persistence.open(() -> List.of(tiger, employee("Bill Bob")));
+            store.add(jill);
+            store.removeFirstByName("Bill Bob");
+            // the snapshot checkpoint writes, without the log being cleared after it
+            EmployeeSnapshotFile.write(directory.resolve("employees.snapshot"), store.snapshot());
+        }
+
+        try (final var persistence = new EmployeePersistence(directory, false)) {
+            final var store = persistence.open(List::of);
+            assertEquals(List.of(tiger, jill), store.snapshot().employees());
+            store.add(kunal);
+        }
+
+        try (final var persistence = new EmployeePersistence(directory, false)) {
+            final var snapshot = persistence.open(List::of).snapshot();
+            assertEquals(List.of(tiger, jill, kunal), snapshot.employees());
+            assertEquals(3, snapshot.version());
+        }
+    }
+
+    @Test
+    void close_withSnapshotOnShutdown_writesSnapshot() throws IOException {
+        final var tiger = employee("Tiger Nixon");
+        try (final var persistence = new EmployeePersistence(directory, true)) {
+            persistence.open(List::of).add(tiger);
+        }
+
+        final var contents = EmployeeSnapshotFile.read(directory.resolve("employees.snapshot"));
+        assertEquals(List.of(tiger), contents.employees());
+        assertEquals(1, contents.version());
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(120_000)
+                .age(35)
+                .title("Software Developer")
+                .email(name.replace(' ', '.').toLowerCase() + "@company.com")
+                .build();
+    }
+}
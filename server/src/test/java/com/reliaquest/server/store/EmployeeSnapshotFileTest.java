@@ -0,0 +1,83 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EmployeeSnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void read_returnsWrittenEmployeesAndVersion() throws IOException {
+        final var file = directory.resolve("employees.snapshot");
+        final var employees = List.of(
+                employee("Tiger Nixon", "Software Developer"),
+                MockEmployee.builder().name("Bill Bob").build(),
+                employee("Jill Jenkins", "Software Developer"));
+
+        EmployeeSnapshotFile.write(file, EmployeeSnapshot.of(7, employees));
+        final var contents = EmployeeSnapshotFile.read(file);
+
+        assertEquals(7, contents.version());
+        assertEquals(employees, contents.employees());
+        assertFalse(Files.exists(directory.resolve("employees.snapshot.tmp")));
+    }
+
+    @Test
+    void read_employeesSharingAString_shareOneInstance() throws IOException {
+        final var file = directory.resolve("employees.snapshot");
+        EmployeeSnapshotFile.write(
+                file,
+                EmployeeSnapshot.of(
+                        0,
+                        List.of(
+                                employee("Tiger Nixon", new String("Software Developer".toCharArray())),
+                                employee("Jill Jenkins", new String("Software Developer".toCharArray())))));
+
+        final var employees = EmployeeSnapshotFile.read(file).employees();
+
+        assertSame(employees.get(0).getTitle(), employees.get(1).getTitle());
+    }
+
+    @Test
+    void read_emptySnapshot_returnsNoEmployees() throws IOException {
+        final var file = directory.resolve("employees.snapshot");
+        EmployeeSnapshotFile.write(file, EmployeeSnapshot.of(3, List.of()));
+
+        final var contents = EmployeeSnapshotFile.read(file);
+
+        assertEquals(3, contents.version());
+        assertTrue(contents.employees().isEmpty());
+    }
+
+    @Test
+    void read_truncatedFile_throws() throws IOException {
+        final var file = directory.resolve("employees.snapshot");
+        EmployeeSnapshotFile.write(file, EmployeeSnapshot.of(0, List.of(employee("Tiger Nixon", "Architect"))));
+        final var bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+
+        assertThrows(IOException.class, () -> EmployeeSnapshotFile.read(file));
+    }
+
+    private static MockEmployee employee(String name, String title) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(120_000)
+                .age(35)
+                .title(title)
+                .email(name.replace(' ', '.').toLowerCase() + "@company.com")
+                .build();
+    }
+}
@@ -0,0 +1,123 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class EmployeeSnapshotTest {
+
+    private static final int SEGMENT_SIZE = EmployeeSnapshot.SEGMENT_SIZE;
+
+    @Test
+    void of_employeesOverSeveralSegments_keepsCreationOrder() {
+        final var employees = employees(2 * SEGMENT_SIZE + 10);
+
+        final var snapshot = EmployeeSnapshot.of(4, employees);
+
+        assertEquals(4, snapshot.version());
+        assertEquals(employees.size(), snapshot.size());
+        assertEquals(employees, snapshot.employees());
+        assertSame(employees.get(SEGMENT_SIZE - 1), snapshot.employees().get(SEGMENT_SIZE - 1));
+        assertSame(employees.get(SEGMENT_SIZE), snapshot.employees().get(SEGMENT_SIZE));
+        assertSame(employees.get(2 * SEGMENT_SIZE), snapshot.employees().get(2 * SEGMENT_SIZE));
+    }
+
+    @Test
+    void withRemoved_acrossSegments_shiftsLaterEmployees() {
+        final var employees = employees(3 * SEGMENT_SIZE);
+        final var expected = new ArrayList<>(employees);
+        expected.remove(2 * SEGMENT_SIZE + 7);
+        expected.remove(SEGMENT_SIZE);
+        expected.remove(3);
+
+        final var snapshot = EmployeeSnapshot.of(0, employees)
+                .withRemoved(3)
+                .withRemoved(SEGMENT_SIZE)
+                .withRemoved(2 * SEGMENT_SIZE + 7);
+
+        assertEquals(3, snapshot.version());
+        assertEquals(expected, snapshot.employees());
+        assertSame(employees.get(SEGMENT_SIZE + 1), snapshot.employees().get(SEGMENT_SIZE - 1));
+    }
+
+    @Test
+    void get_emptiedSegments_skipsThem() {
+        final var employees = employees(4 * SEGMENT_SIZE);
+        var snapshot = EmployeeSnapshot.of(0, employees);
+        for (int sequence = 0; sequence < SEGMENT_SIZE; sequence++) {
+            snapshot = snapshot.withRemoved(sequence);
+            snapshot = snapshot.withRemoved(2 * SEGMENT_SIZE + sequence);
+        }
+
+        assertEquals(2 * SEGMENT_SIZE, snapshot.size());
+        assertSame(employees.get(SEGMENT_SIZE), snapshot.employees().get(0));
+        assertSame(employees.get(2 * SEGMENT_SIZE - 1), snapshot.employees().get(SEGMENT_SIZE - 1));
+        assertSame(employees.get(3 * SEGMENT_SIZE), snapshot.employees().get(SEGMENT_SIZE));
+        assertSame(employees.get(4 * SEGMENT_SIZE - 1), snapshot.employees().get(2 * SEGMENT_SIZE - 1));
+    }
+
+    @Test
+    void withAdded_sequenceBeyondLastSegment_leavesEmptySegmentsBetween() {
+        final var employees = employees(10);
+        final var added = employee(99);
+
+        final var snapshot = EmployeeSnapshot.of(0, employees).withAdded(3L * SEGMENT_SIZE, added);
+
+        assertEquals(11, snapshot.size());
+        assertSame(employees.get(9), snapshot.employees().get(9));
+        assertSame(added, snapshot.employees().get(10));
+    }
+
+    @Test
+    void withAdded_leavesEarlierSnapshotUnchanged() {
+        final var employees = employees(SEGMENT_SIZE + 1);
+        final var before = EmployeeSnapshot.of(0, employees);
+
+        final var after = before.withAdded(SEGMENT_SIZE + 1, employee(99)).withRemoved(0);
+
+        assertEquals(employees, before.employees());
+        assertEquals(0, before.version());
+        assertEquals(2, after.version());
+        assertEquals(SEGMENT_SIZE + 1, after.size());
+    }
+
+    @Test
+    void withRemoved_unknownSequence_returnsSameSnapshot() {
+        final var snapshot = EmployeeSnapshot.of(0, employees(10));
+
+        assertSame(snapshot, snapshot.withRemoved(5L * SEGMENT_SIZE));
+        assertEquals(9, snapshot.withRemoved(2).withRemoved(2).size());
+    }
+
+    @Test
+    void employees_indexOutOfRange_throws() {
+        final var employees = EmployeeSnapshot.of(0, employees(3)).withRemoved(0).employees();
+
+        assertThrows(IndexOutOfBoundsException.class, () -> employees.get(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> employees.get(-1));
+        assertThrows(UnsupportedOperationException.class, () -> employees.add(employee(99)));
+    }
+
+    private static List<MockEmployee> employees(int count) {
+        final List<MockEmployee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(employee(i));
+        }
+        return employees;
+    }
+
+    private static MockEmployee employee(int number) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name("Employee " + number)
+                .salary(50_000 + number)
+                .age(30)
+                .title("Software Developer")
+                .email("employee" + number + "@company.com")
+                .build();
+    }
+}
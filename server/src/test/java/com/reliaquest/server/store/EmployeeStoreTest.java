@@ -0,0 +1,129 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.EmployeeChange;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class EmployeeStoreTest {
+
+    private static final int THREADS = 64;
+    private static final int OPERATIONS_PER_THREAD = 2_000;
+    private static final int NAMES = 100;
+
+    @Test
+    void removeFirstByName_sameNames_removesOldestIgnoringCase() {
+        final var first = employee("Tiger Nixon");
+        final var second = employee("tiger nixon");
+        final var store = new EmployeeStore(List.of(first, employee("Bill Bob"), second));
+
+        assertEquals(first, store.removeFirstByName("TIGER NIXON").orElseThrow());
+        assertEquals(second, store.removeFirstByName("Tiger Nixon").orElseThrow());
+        assertTrue(store.removeFirstByName("Tiger Nixon").isEmpty());
+        assertTrue(store.findById(first.getId()).isEmpty());
+        assertEquals(2, store.snapshot().version());
+    }
+
+    @Test
+    void changesSince_returnsWritesAfterVersion() {
+        final var tiger = employee("Tiger Nixon");
+        final var store = new EmployeeStore(List.of(tiger));
+        final var bill = employee("Bill Bob");
+        store.add(bill);
+        store.removeFirstByName("Tiger Nixon");
+
+        final var changes = store.changesSince(1).orElseThrow();
+
+        assertEquals(List.of(new EmployeeChange(2, EmployeeChange.Type.DELETED, tiger)), changes);
+        assertEquals(2, store.changesSince(0).orElseThrow().size());
+        assertTrue(store.changesSince(3).isEmpty());
+    }
+
+    @Test
+    void concurrentWritesAndReads_keepSnapshotsAndIndexesConsistent() throws Exception {
+        final var initial = new ArrayList<MockEmployee>();
+        for (int i = 0; i < 5_000; i++) {
+            initial.add(employee("Employee " + i % NAMES));
+        }
+        final var store = new EmployeeStore(initial);
+        final var added = new AtomicInteger();
+        final var removed = new AtomicInteger();
+        final var start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    final var random = ThreadLocalRandom.current();
+                    long lastVersion = -1;
+                    for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                        final int operation = random.nextInt(10);
+                        if (operation < 3) {
+                            store.add(employee("Employee " + random.nextInt(NAMES)));
+                            added.incrementAndGet();
+                        } else if (operation < 5) {
+                            if (store.removeFirstByName("employee " + random.nextInt(NAMES)).isPresent()) {
+                                removed.incrementAndGet();
+                            }
+                        } else {
+                            final var snapshot = store.snapshot();
+                            assertTrue(snapshot.version() >= lastVersion, "snapshot version went back");
+                            lastVersion = snapshot.version();
+                            int count = 0;
+                            for (final var employee : snapshot.employees()) {
+                                assertNotNull(employee);
+                                count++;
+                            }
+                            assertEquals(snapshot.size(), count);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final var result : results) {
+                result.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final var snapshot = store.snapshot();
+        assertEquals(initial.size() + added.get() - removed.get(), snapshot.size());
+        assertEquals(added.get() + removed.get(), snapshot.version());
+        final var ids = new HashSet<UUID>();
+        for (final var employee : snapshot.employees()) {
+            assertTrue(ids.add(employee.getId()), "employee listed twice");
+            assertSame(employee, store.findById(employee.getId()).orElseThrow());
+        }
+        // the name index holds exactly the employees of the snapshot
+        for (final var employee : List.copyOf(snapshot.employees())) {
+            assertTrue(store.removeFirstByName(employee.getName()).isPresent());
+        }
+        assertEquals(0, store.snapshot().size());
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(120_000)
+                .age(35)
+                .title("Software Developer")
+                .email(UUID.randomUUID() + "@company.com")
+                .build();
+    }
+}
@@ -0,0 +1,97 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class ClientRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /*
+     * 5 requests a second, one permit every 200 ms once the burst is used up.
+     */
+    private final ClientRateLimiter rateLimiter = new ClientRateLimiter(5, Duration.ofSeconds(1), 16);
+
+    @Test
+    void tryAcquire_withinBurst_allowsLimitRequestsAtOnce() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, rateLimiter.tryAcquire(1, SECOND));
+        }
+
+        assertEquals(SECOND / 5, rateLimiter.tryAcquire(1, SECOND));
+    }
+
+    @Test
+    void tryAcquire_burstUsedUp_waitShrinksUntilNextPermit() {
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.tryAcquire(1, SECOND);
+        }
+
+        assertEquals(SECOND / 5 - 50, rateLimiter.tryAcquire(1, SECOND + 50));
+        assertEquals(0, rateLimiter.tryAcquire(1, SECOND + SECOND / 5));
+        assertEquals(SECOND / 5, rateLimiter.tryAcquire(1, SECOND + SECOND / 5));
+    }
+
+    @Test
+    void tryAcquire_afterWindow_allowsFullBurstAgain() {
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.tryAcquire(1, SECOND);
+        }
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, rateLimiter.tryAcquire(1, 2 * SECOND));
+        }
+        assertTrue(rateLimiter.tryAcquire(1, 2 * SECOND) > 0);
+    }
+
+    @Test
+    void tryAcquire_longIdle_doesNotSaveUpMoreThanTheBurst() {
+        rateLimiter.tryAcquire(1, SECOND);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, rateLimiter.tryAcquire(1, 60 * SECOND));
+        }
+        assertTrue(rateLimiter.tryAcquire(1, 60 * SECOND) > 0);
+    }
+
+    @Test
+    void tryAcquire_clientsInDifferentBuckets_doNotShareLimit() {
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.tryAcquire(1, SECOND);
+        }
+
+        assertTrue(rateLimiter.tryAcquire(1, SECOND) > 0);
+        assertEquals(0, rateLimiter.tryAcquire(2, SECOND));
+    }
+
+    @Test
+    void tryAcquire_clientsInSameBucket_shareLimit() {
+        final var fewBuckets = new ClientRateLimiter(5, Duration.ofSeconds(1), 3);
+        for (int i = 0; i < 5; i++) {
+            fewBuckets.tryAcquire(1, SECOND);
+        }
+
+        // 3 buckets round up to 4, so hash 5 lands in the bucket of hash 1
+        assertTrue(fewBuckets.tryAcquire(5, SECOND) > 0);
+        assertEquals(0, fewBuckets.tryAcquire(2, SECOND));
+    }
+
+    @Test
+    void tryAcquire_byClientKey_allowsBurst() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("10.0.0.1"));
+        }
+
+        assertTrue(rateLimiter.tryAcquire("10.0.0.1") > 0);
+    }
+
+    @Test
+    void constructor_invalidLimitWindowOrBuckets_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new ClientRateLimiter(0, Duration.ofSeconds(1), 16));
+        assertThrows(IllegalArgumentException.class, () -> new ClientRateLimiter(5, Duration.ZERO, 16));
+        assertThrows(IllegalArgumentException.class, () -> new ClientRateLimiter(5, Duration.ofSeconds(1), 0));
+    }
+}
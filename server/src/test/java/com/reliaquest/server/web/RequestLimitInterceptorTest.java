@@ -0,0 +1,68 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RequestLimitInterceptorTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final ClientRateLimiter rateLimiter = mock(ClientRateLimiter.class);
+
+    private final RequestLimitInterceptor interceptor = new RequestLimitInterceptor(rateLimiter, "X-Client-Id");
+
+    @Test
+    void preHandle_permitAvailable_letsRequestThrough() {
+        when(rateLimiter.tryAcquire(any())).thenReturn(0L);
+        final var response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest(), response, new Object()));
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void preHandle_overLimit_rejectsWithRetryAfterRoundedUpToSeconds() {
+        assertEquals("1", retryAfter(1));
+        assertEquals("1", retryAfter(SECOND));
+        assertEquals("2", retryAfter(SECOND + 1));
+        assertEquals("3", retryAfter(3 * SECOND - 1));
+    }
+
+    @Test
+    void preHandle_clientHeaderPresent_limitsByHeader() {
+        final var request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+        request.addHeader("X-Client-Id", "client-a");
+
+        interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+
+        verify(rateLimiter).tryAcquire("client-a");
+    }
+
+    @Test
+    void preHandle_clientHeaderMissing_limitsByRemoteAddress() {
+        final var request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+
+        interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+
+        verify(rateLimiter).tryAcquire("10.0.0.1");
+    }
+
+    private String retryAfter(long waitNanos) {
+        when(rateLimiter.tryAcquire(any())).thenReturn(waitNanos);
+        final var response = new MockHttpServletResponse();
+
+        assertFalse(interceptor.preHandle(new MockHttpServletRequest(), response, new Object()));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus());
+        return response.getHeader(HttpHeaders.RETRY_AFTER);
+    }
+}